@@ -0,0 +1,67 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+package de.amr.games.pacman.benchmarks;
+
+import de.amr.games.pacman.controller.common.Steering;
+import de.amr.games.pacman.model.common.GameLevel;
+import de.amr.games.pacman.model.common.GameVariant;
+import de.amr.games.pacman.sim.Simulation;
+
+/**
+ * Creates and advances the games of the benchmarks using the headless {@link Simulation}.
+ * 
+ * @author Armin Reichert
+ */
+class BenchmarkLevels {
+
+	private BenchmarkLevels() {
+	}
+
+	/**
+	 * @param variant     game variant
+	 * @param seed        random seed
+	 * @param pacSteering Pac-Man steering
+	 * @return started simulation of a game with an immune Pac-Man, playing the first level in hunting state. Each
+	 *         {@link Simulation#step()} executes one tick.
+	 */
+	static Simulation startSimulation(GameVariant variant, long seed, Steering pacSteering) {
+		var simulation = new Simulation(variant, pacSteering);
+		simulation.setSeed(seed);
+		simulation.setImmune(true);
+		simulation.start();
+		return simulation;
+	}
+
+	/**
+	 * Runs the given number of ticks to reach a "typical" game situation.
+	 * 
+	 * @return the current level
+	 */
+	static GameLevel warmUp(Simulation simulation, int ticks) {
+		for (int i = 0; i < ticks; ++i) {
+			simulation.step();
+		}
+		return simulation.game().level().orElseThrow();
+	}
+}
@@ -0,0 +1,93 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+package de.amr.games.pacman.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.amr.games.pacman.lib.steering.RuleBasedSteering;
+import de.amr.games.pacman.model.common.GameLevel;
+import de.amr.games.pacman.model.common.GameVariant;
+import de.amr.games.pacman.model.common.actors.Ghost;
+import de.amr.games.pacman.model.common.actors.MoveResult;
+import de.amr.games.pacman.model.common.world.World;
+
+/**
+ * Measures the movement primitives of a creature: {@link Ghost#navigateTowardsTarget(GameLevel)} and
+ * {@link Ghost#tryMoving(GameLevel)}.
+ * 
+ * @author Armin Reichert
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CreatureBenchmark {
+
+	@Param({ "PACMAN", "MS_PACMAN" })
+	public GameVariant variant;
+
+	private GameLevel level;
+	private Ghost chasingGhost;
+	private Ghost navigatingGhost;
+
+	@Setup
+	public void setup() {
+		level = BenchmarkLevels.warmUp(BenchmarkLevels.startSimulation(variant, 42, new RuleBasedSteering()), 600);
+		// this ghost keeps chasing Blinky's scatter target around the block forever
+		chasingGhost = level.ghost(Ghost.ID_RED_GHOST);
+		chasingGhost.setTargetTile(level.world().ghostScatterTargetTile(Ghost.ID_RED_GHOST));
+		// this ghost never moves, so every navigation call really computes the direction
+		navigatingGhost = level.ghost(Ghost.ID_PINK_GHOST);
+		navigatingGhost.placeAtTile(World.tileAt(level.world().pacInitialPosition()));
+		navigatingGhost.setTargetTile(level.pac().tile());
+		navigatingGhost.moveResult.reset();
+	}
+
+	@Benchmark
+	public MoveResult tryMoving() {
+		chasingGhost.navigateTowardsTarget(level);
+		chasingGhost.tryMoving(level);
+		return chasingGhost.moveResult;
+	}
+
+	@Benchmark
+	public Object navigateTowardsTarget() {
+		navigatingGhost.navigateTowardsTarget(level);
+		return navigatingGhost.wishDir();
+	}
+}
@@ -0,0 +1,79 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+package de.amr.games.pacman.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.amr.games.pacman.lib.Diagnostics;
+import de.amr.games.pacman.lib.steering.RuleBasedSteering;
+import de.amr.games.pacman.model.common.GameVariant;
+import de.amr.games.pacman.sim.Simulation;
+
+/**
+ * Measures a game tick with the diagnostic code of the game model switched off (removed by the JIT compiler) and
+ * switched on (guarded by the log level only, trace output itself is disabled by the benchmark logging
+ * configuration). Each parameter value runs in its own JVM fork, so the switch is set before the game classes are
+ * loaded.
+ * 
+ * @author Armin Reichert
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DiagnosticsBenchmark {
+
+	@Param({ "false", "true" })
+	public boolean trace;
+
+	private Simulation simulation;
+
+	@Setup
+	public void setup() {
+		System.setProperty("pacman.trace", String.valueOf(trace));
+		if (Diagnostics.TRACE != trace) {
+			throw new IllegalStateException("Diagnostics switch has been initialized before benchmark setup");
+		}
+		simulation = BenchmarkLevels.startSimulation(GameVariant.PACMAN, 42, new RuleBasedSteering());
+	}
+
+	@Benchmark
+	public boolean tick() {
+		return simulation.step();
+	}
+}
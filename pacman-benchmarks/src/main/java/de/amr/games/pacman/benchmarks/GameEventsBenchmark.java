@@ -0,0 +1,98 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+package de.amr.games.pacman.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import de.amr.games.pacman.event.GameEvent;
+import de.amr.games.pacman.event.GameEventListener;
+import de.amr.games.pacman.event.GameEventType;
+import de.amr.games.pacman.event.GameEvents;
+import de.amr.games.pacman.lib.math.Vector2i;
+import de.amr.games.pacman.model.common.GameModel;
+import de.amr.games.pacman.model.pacman.PacManGame;
+
+/**
+ * Measures publishing the most frequent events (food found, with sound) when a number of listeners is subscribed
+ * either to all event types or only to an event type that is not published.
+ * 
+ * @author Armin Reichert
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameEventsBenchmark {
+
+	@Param({ "0", "1", "24" })
+	public int numListeners;
+
+	@Param({ "true", "false" })
+	public boolean subscribedToAll;
+
+	private GameModel game;
+	private GameEvents events;
+	private final Vector2i tile = new Vector2i(13, 23);
+
+	@Setup
+	public void setup(Blackhole blackhole) {
+		game = new PacManGame();
+		events = new GameEvents();
+		game.setEvents(events);
+		for (int i = 0; i < numListeners; ++i) {
+			var listener = new GameEventListener() {
+				@Override
+				public void onGameEvent(GameEvent event) {
+					blackhole.consume(event);
+				}
+			};
+			if (subscribedToAll) {
+				events.addListener(listener);
+			} else {
+				events.addListener(listener, GameEventType.BONUS_GETS_EATEN);
+			}
+		}
+	}
+
+	@Benchmark
+	public void publishFoodFound() {
+		game.publishGameEvent(GameEventType.PAC_FINDS_FOOD, tile);
+		game.publishSoundEvent(GameModel.SE_PACMAN_FOUND_FOOD);
+	}
+}
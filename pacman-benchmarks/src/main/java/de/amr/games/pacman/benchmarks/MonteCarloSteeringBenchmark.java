@@ -0,0 +1,90 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+package de.amr.games.pacman.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.amr.games.pacman.lib.steering.MonteCarloSteering;
+import de.amr.games.pacman.lib.steering.RuleBasedSteering;
+import de.amr.games.pacman.model.common.GameLevel;
+import de.amr.games.pacman.model.common.GameVariant;
+
+/**
+ * Measures one decision of the {@link MonteCarloSteering} with a fixed rollout budget and different numbers of
+ * threads. The time per decision has to stay well below the tick duration (16.6 millis).
+ * 
+ * @author Armin Reichert
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MonteCarloSteeringBenchmark {
+
+	@Param({ "PACMAN", "MS_PACMAN" })
+	public GameVariant variant;
+
+	@Param({ "1", "2", "4" })
+	public int numThreads;
+
+	@Param({ "64" })
+	public int rollouts;
+
+	private GameLevel level;
+	private MonteCarloSteering steering;
+
+	@Setup
+	public void setup() {
+		level = BenchmarkLevels.warmUp(BenchmarkLevels.startSimulation(variant, 42, new RuleBasedSteering()), 600);
+		steering = new MonteCarloSteering();
+		steering.setNumThreads(numThreads);
+		steering.setMaxRollouts(rollouts);
+		steering.setTimeBudgetMillis(0);
+	}
+
+	@TearDown
+	public void tearDown() {
+		steering.close();
+	}
+
+	@Benchmark
+	public Object decide() {
+		return steering.findBestDirection(level);
+	}
+}
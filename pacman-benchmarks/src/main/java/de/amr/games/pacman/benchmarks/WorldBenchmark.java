@@ -0,0 +1,133 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+package de.amr.games.pacman.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import de.amr.games.pacman.lib.math.Vector2i;
+import de.amr.games.pacman.lib.steering.RuleBasedSteering;
+import de.amr.games.pacman.model.common.GameModel;
+import de.amr.games.pacman.model.common.GameVariant;
+import de.amr.games.pacman.model.common.world.World;
+
+/**
+ * Measures tile queries of the world. One operation is a query for a single tile, the benchmark methods scan the
+ * complete maze and are normalized by the number of tiles. {@link #createWorld()} measures the world creation done
+ * for each new game level, the food enumeration benchmarks measure one complete enumeration as done by renderers each
+ * frame.
+ * 
+ * @author Armin Reichert
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WorldBenchmark {
+
+	/** Number of tiles of an Arcade maze (28x36). */
+	private static final int NUM_TILES = 28 * 36;
+
+	@Param({ "PACMAN", "MS_PACMAN" })
+	public GameVariant variant;
+
+	private GameModel game;
+	private World world;
+	private Vector2i[] tiles;
+
+	@Setup
+	public void setup() {
+		game = BenchmarkLevels.startSimulation(variant, 42, new RuleBasedSteering()).game();
+		world = game.level().orElseThrow().world();
+		tiles = world.tiles().toArray(Vector2i[]::new);
+		if (tiles.length != NUM_TILES) {
+			throw new IllegalStateException("Expected %d tiles but world has %d".formatted(NUM_TILES, tiles.length));
+		}
+	}
+
+	@Benchmark
+	public World createWorld() {
+		return game.createWorld(1);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(NUM_TILES)
+	public void containsFood(Blackhole bh) {
+		for (var tile : tiles) {
+			bh.consume(world.containsFood(tile));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(NUM_TILES)
+	public void containsFoodByIndex(Blackhole bh) {
+		for (int index = 0; index < NUM_TILES; ++index) {
+			bh.consume(world.containsFood(index));
+		}
+	}
+
+	@Benchmark
+	public void tilesContainingFood(Blackhole bh) {
+		world.tilesContainingFood().forEach(bh::consume);
+	}
+
+	@Benchmark
+	public void nextFoodIndex(Blackhole bh) {
+		for (int index = world.nextFoodIndex(0); index != -1; index = world.nextFoodIndex(index + 1)) {
+			bh.consume(index);
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(NUM_TILES)
+	public void pathDistance(Blackhole bh) {
+		int from = world.index(13, 26); // Pac-Man start tile
+		for (int index = 0; index < NUM_TILES; ++index) {
+			bh.consume(world.pathDistance(from, index));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(NUM_TILES)
+	public void isIntersection(Blackhole bh) {
+		for (var tile : tiles) {
+			bh.consume(world.isIntersection(tile));
+		}
+	}
+}
@@ -23,9 +23,6 @@ SOFTWARE.
 */
 package de.amr.games.pacman.controller.common;
 
-import static de.amr.games.pacman.event.GameEvents.publishGameEvent;
-import static de.amr.games.pacman.event.GameEvents.publishGameEventOfType;
-import static de.amr.games.pacman.event.GameEvents.publishSoundEvent;
 import static java.util.function.Predicate.not;
 
 import java.util.Objects;
@@ -47,6 +44,9 @@ import de.amr.games.pacman.model.pacman.PacManGame;
  * selected game, see {@link MsPacManGame} and {@link PacManGame}. Scene selection is not controlled by this class but
  * left to the specific user interface implementations.
  * <p>
+ * Each controller owns its own event bus (see {@link #events()}) and state timer, so several controllers can run
+ * independently in the same JVM.
+ * <p>
  * Missing functionality:
  * <ul>
  * <li><a href= "https://pacman.holenet.info/#CH2_Cornering"><em>Cornering</em></a>: I do not consider cornering as
@@ -63,16 +63,9 @@ import de.amr.games.pacman.model.pacman.PacManGame;
  *      behavior</a>
  * @see <a href="http://superpacman.com/mspacman/">Ms. Pac-Man</a>
  */
-public class GameController extends Fsm<GameState, GameModel> {
-
-	private static GameModel newGameModel(GameVariant variant) {
-		return switch (variant) {
-		case MS_PACMAN -> new MsPacManGame();
-		case PACMAN -> new PacManGame();
-		default -> throw new IllegalArgumentException("Illegal game variant: '%s'".formatted(variant));
-		};
-	}
+public class GameController extends Fsm<GameState, GameController> {
 
+	private final GameEvents events = new GameEvents();
 	private GameModel game;
 	private Steering autopilot = new RuleBasedSteering();
 	private Steering manualPacSteering = Steering.NONE;
@@ -81,25 +74,51 @@ public class GameController extends Fsm<GameState, GameModel> {
 	public GameController(GameVariant variant) {
 		Objects.requireNonNull(variant);
 		states = GameState.values();
-		for (var state : states) {
-			state.gc = this;
-		}
 		// map FSM state change events to "game state change" events
-		addStateChangeListener(
-				(oldState, newState) -> publishGameEvent(new GameStateChangeEvent(game, oldState, newState)));
+		addStateChangeListener((oldState, newState) -> {
+			if (events.hasListeners(GameEventType.GAME_STATE_CHANGED)) {
+				events.publishGameEvent(new GameStateChangeEvent(game, oldState, newState));
+			}
+		});
 		game = newGameModel(variant);
-		GameEvents.setGameController(this);
+	}
+
+	private GameModel newGameModel(GameVariant variant) {
+		GameModel model = switch (variant) {
+		case MS_PACMAN -> new MsPacManGame();
+		case PACMAN -> new PacManGame();
+		default -> throw new IllegalArgumentException("Illegal game variant: '%s'".formatted(variant));
+		};
+		model.setEvents(events);
+		return model;
 	}
 
 	@Override
-	public GameModel context() {
-		return game;
+	public GameController context() {
+		return this;
+	}
+
+	/**
+	 * Updates the current game state and dispatches the game events queued during this tick (if events are not
+	 * dispatched immediately).
+	 */
+	@Override
+	public void update() {
+		super.update();
+		events.dispatchQueuedEvents();
 	}
 
 	public GameModel game() {
 		return game;
 	}
 
+	/**
+	 * @return the event bus of this controller. Game models created by this controller publish their events here.
+	 */
+	public GameEvents events() {
+		return events;
+	}
+
 	public boolean isAutoControlled() {
 		return autoControlled;
 	}
@@ -149,7 +168,7 @@ public class GameController extends Fsm<GameState, GameModel> {
 		if (!game.isPlaying()) {
 			boolean added = game.changeCredit(1);
 			if (added) {
-				publishSoundEvent(GameModel.SE_CREDIT_ADDED);
+				game.publishSoundEvent(GameModel.SE_CREDIT_ADDED);
 			}
 			if (state() != GameState.CREDIT) {
 				changeState(GameState.CREDIT);
@@ -175,7 +194,7 @@ public class GameController extends Fsm<GameState, GameModel> {
 			game.level().ifPresent(level -> {
 				var world = level.world();
 				world.tiles().filter(not(world::isEnergizerTile)).forEach(world::removeFood);
-				publishGameEventOfType(GameEventType.PAC_FINDS_FOOD);
+				game.publishGameEventOfType(GameEventType.PAC_FINDS_FOOD);
 				if (world.uneatenFoodCount() == 0) {
 					changeState(GameState.LEVEL_COMPLETE);
 				}
@@ -23,15 +23,10 @@ SOFTWARE.
  */
 package de.amr.games.pacman.controller.common;
 
-import static de.amr.games.pacman.event.GameEvents.publishGameEventOfType;
-import static de.amr.games.pacman.event.GameEvents.publishSoundEvent;
-
 import de.amr.games.pacman.event.GameEventType;
-import de.amr.games.pacman.event.GameEvents;
 import de.amr.games.pacman.lib.anim.Animated;
 import de.amr.games.pacman.lib.anim.AnimationMap;
 import de.amr.games.pacman.lib.fsm.FsmState;
-import de.amr.games.pacman.lib.timer.TickTimer;
 import de.amr.games.pacman.model.common.GameLevel;
 import de.amr.games.pacman.model.common.GameModel;
 import de.amr.games.pacman.model.common.actors.Creature;
@@ -43,21 +38,22 @@ import de.amr.games.pacman.model.common.actors.GhostState;
  * 
  * @author Armin Reichert
  */
-public enum GameState implements FsmState<GameModel> {
+public enum GameState implements FsmState<GameController> {
 
 	BOOT() { // "Das muss das Boot abkönnen!"
 		@Override
-		public void onEnter(GameModel game) {
-			timer.restartIndefinitely();
+		public void onEnter(GameController gc) {
+			var game = gc.game();
+			gc.timer().restartIndefinitely();
 			game.clearLevelCounter();
 			game.newScore();
 			game.loadHighscore();
-			publishSoundEvent(GameModel.SE_STOP_ALL_SOUNDS);
+			game.publishSoundEvent(GameModel.SE_STOP_ALL_SOUNDS);
 		}
 
 		@Override
-		public void onUpdate(GameModel game) {
-			if (timer.hasExpired()) {
+		public void onUpdate(GameController gc) {
+			if (gc.timer().hasExpired()) {
 				gc.changeState(INTRO);
 			}
 		}
@@ -65,16 +61,17 @@ public enum GameState implements FsmState<GameModel> {
 
 	INTRO() {
 		@Override
-		public void onEnter(GameModel game) {
-			timer.restartIndefinitely();
+		public void onEnter(GameController gc) {
+			var game = gc.game();
+			gc.timer().restartIndefinitely();
 			game.setPlaying(false);
 			game.removeLevel();
-			publishSoundEvent(GameModel.SE_STOP_ALL_SOUNDS);
+			game.publishSoundEvent(GameModel.SE_STOP_ALL_SOUNDS);
 		}
 
 		@Override
-		public void onUpdate(GameModel game) {
-			if (timer.hasExpired()) {
+		public void onUpdate(GameController gc) {
+			if (gc.timer().hasExpired()) {
 				gc.changeState(READY);
 			}
 		}
@@ -82,20 +79,21 @@ public enum GameState implements FsmState<GameModel> {
 
 	CREDIT {
 		@Override
-		public void onUpdate(GameModel game) {
+		public void onUpdate(GameController gc) {
 			// nothing to do here
 		}
 	},
 
 	READY {
 		@Override
-		public void onEnter(GameModel game) {
+		public void onEnter(GameController gc) {
+			var game = gc.game();
 			gc.getManualPacSteering().setEnabled(false);
-			publishSoundEvent(GameModel.SE_STOP_ALL_SOUNDS);
+			game.publishSoundEvent(GameModel.SE_STOP_ALL_SOUNDS);
 			if (!game.hasCredit()) {
 				game.init();
 				game.enterDemoLevel();
-				publishGameEventOfType(GameEventType.LEVEL_STARTING);
+				game.publishGameEventOfType(GameEventType.LEVEL_STARTING);
 			} else if (game.isPlaying()) {
 				game.level().ifPresent(level -> level.letsGetReadyToRumbleAndShowGuys(true));
 			} else {
@@ -103,21 +101,22 @@ public enum GameState implements FsmState<GameModel> {
 				game.newScore();
 				game.clearLevelCounter();
 				game.enterLevel(1);
-				publishSoundEvent(GameModel.SE_READY_TO_PLAY);
-				publishGameEventOfType(GameEventType.LEVEL_STARTING);
+				game.publishSoundEvent(GameModel.SE_READY_TO_PLAY);
+				game.publishGameEventOfType(GameEventType.LEVEL_STARTING);
 			}
 		}
 
 		@Override
-		public void onUpdate(GameModel game) {
+		public void onUpdate(GameController gc) {
+			var game = gc.game();
 			final int showGuysTick = 120; // not sure
 			game.level().ifPresent(level -> {
 				if (game.hasCredit() && !game.isPlaying()) {
 					// start new game
-					if (timer.tick() == showGuysTick) {
+					if (gc.timer().tick() == showGuysTick) {
 						level.guys().forEach(Creature::show);
 						game.setOneLessLifeDisplayed(true);
-					} else if (timer.tick() == showGuysTick + 120) {
+					} else if (gc.timer().tick() == showGuysTick + 120) {
 						// start playing
 						game.setPlaying(true);
 						level.startHunting(0);
@@ -125,14 +124,14 @@ public enum GameState implements FsmState<GameModel> {
 					}
 				} else if (game.isPlaying()) {
 					// game already running
-					if (timer.tick() == 90) {
+					if (gc.timer().tick() == 90) {
 						level.guys().forEach(Creature::show);
 						level.startHunting(0);
 						gc.changeState(GameState.HUNTING);
 					}
 				} else {
 					// attract mode
-					if (timer.tick() == 130) {
+					if (gc.timer().tick() == 130) {
 						level.guys().forEach(Creature::show);
 						level.startHunting(0);
 						gc.changeState(GameState.HUNTING);
@@ -144,14 +143,15 @@ public enum GameState implements FsmState<GameModel> {
 
 	HUNTING {
 		@Override
-		public void onEnter(GameModel game) {
+		public void onEnter(GameController gc) {
+			var game = gc.game();
 			game.level().ifPresent(level -> {
 				gc.getManualPacSteering().setEnabled(true);
 				switch (level.huntingPhase()) {
-				case 0 -> publishSoundEvent(GameModel.SE_HUNTING_PHASE_STARTED_0);
-				case 2 -> publishSoundEvent(GameModel.SE_HUNTING_PHASE_STARTED_2);
-				case 4 -> publishSoundEvent(GameModel.SE_HUNTING_PHASE_STARTED_4);
-				case 6 -> publishSoundEvent(GameModel.SE_HUNTING_PHASE_STARTED_6);
+				case 0 -> game.publishSoundEvent(GameModel.SE_HUNTING_PHASE_STARTED_0);
+				case 2 -> game.publishSoundEvent(GameModel.SE_HUNTING_PHASE_STARTED_2);
+				case 4 -> game.publishSoundEvent(GameModel.SE_HUNTING_PHASE_STARTED_4);
+				case 6 -> game.publishSoundEvent(GameModel.SE_HUNTING_PHASE_STARTED_6);
 				default -> {
 					// no sound event
 				}
@@ -161,11 +161,10 @@ public enum GameState implements FsmState<GameModel> {
 		}
 
 		@Override
-		public void onUpdate(GameModel game) {
+		public void onUpdate(GameController gc) {
+			var game = gc.game();
 			game.level().ifPresent(level -> {
-				// TODO this looks ugly
-				var steering = level.pacSteering().orElse(gc.steering());
-				steering.steer(level, level.pac());
+				level.steerPac(gc.steering());
 
 				level.update();
 				if (level.completed()) {
@@ -182,17 +181,19 @@ public enum GameState implements FsmState<GameModel> {
 
 	LEVEL_COMPLETE {
 		@Override
-		public void onEnter(GameModel game) {
+		public void onEnter(GameController gc) {
+			var game = gc.game();
 			gc.getManualPacSteering().setEnabled(false);
-			timer.restartSeconds(4);
+			gc.timer().restartSeconds(4);
 			game.level().ifPresent(GameLevel::exit);
-			publishSoundEvent(GameModel.SE_STOP_ALL_SOUNDS);
+			game.publishSoundEvent(GameModel.SE_STOP_ALL_SOUNDS);
 		}
 
 		@Override
-		public void onUpdate(GameModel game) {
+		public void onUpdate(GameController gc) {
+			var game = gc.game();
 			game.level().ifPresent(level -> {
-				if (timer.hasExpired()) {
+				if (gc.timer().hasExpired()) {
 					if (!game.hasCredit()) {
 						gc.changeState(INTRO);
 						// attract mode -> back to intro scene
@@ -203,7 +204,7 @@ public enum GameState implements FsmState<GameModel> {
 					}
 				} else {
 					level.world().animation(GameModel.AK_MAZE_FLASHING).ifPresent(flashing -> {
-						if (timer.atSecond(1)) {
+						if (gc.timer().atSecond(1)) {
 							flashing.setRepetitions(level.numFlashes);
 							flashing.restart();
 						} else {
@@ -218,16 +219,17 @@ public enum GameState implements FsmState<GameModel> {
 
 	CHANGING_TO_NEXT_LEVEL {
 		@Override
-		public void onEnter(GameModel game) {
+		public void onEnter(GameController gc) {
+			var game = gc.game();
 			gc.getManualPacSteering().setEnabled(false);
-			timer.restartSeconds(1);
+			gc.timer().restartSeconds(1);
 			game.nextLevel();
-			publishGameEventOfType(GameEventType.LEVEL_STARTING);
+			game.publishGameEventOfType(GameEventType.LEVEL_STARTING);
 		}
 
 		@Override
-		public void onUpdate(GameModel game) {
-			if (timer.hasExpired()) {
+		public void onUpdate(GameController gc) {
+			if (gc.timer().hasExpired()) {
 				gc.changeState(READY);
 			}
 		}
@@ -235,32 +237,33 @@ public enum GameState implements FsmState<GameModel> {
 
 	GHOST_DYING {
 		@Override
-		public void onEnter(GameModel game) {
-			timer.restartSeconds(1);
+		public void onEnter(GameController gc) {
+			var game = gc.game();
+			gc.timer().restartSeconds(1);
 			game.level().ifPresent(level -> {
 				level.pac().hide();
 				level.ghosts().forEach(ghost -> ghost.stopFlashing(true));
-				publishSoundEvent(GameModel.SE_GHOST_EATEN);
+				game.publishSoundEvent(GameModel.SE_GHOST_EATEN);
 			});
 		}
 
 		@Override
-		public void onUpdate(GameModel game) {
-			if (timer.hasExpired()) {
+		public void onUpdate(GameController gc) {
+			var game = gc.game();
+			if (gc.timer().hasExpired()) {
 				gc.resumePreviousState();
 			} else {
 				game.level().ifPresent(level -> {
-					var steering = level.pacSteering().orElse(gc.steering());
-					steering.steer(level, level.pac());
-					level.ghosts(GhostState.EATEN, GhostState.RETURNING_TO_HOUSE, GhostState.ENTERING_HOUSE)
-							.forEach(ghost -> ghost.update(level));
+					level.steerPac(gc.steering());
+					level.forEachGhost(GHOSTS_MOVING_WHILE_GHOST_DYING, ghost -> ghost.update(level));
 					level.world().animation(GameModel.AK_MAZE_ENERGIZER_BLINKING).ifPresent(Animated::animate);
 				});
 			}
 		}
 
 		@Override
-		public void onExit(GameModel game) {
+		public void onExit(GameController gc) {
+			var game = gc.game();
 			game.level().ifPresent(level -> {
 				level.pac().show();
 				level.ghosts(GhostState.EATEN).forEach(ghost -> ghost.enterStateReturningToHouse(level));
@@ -271,35 +274,37 @@ public enum GameState implements FsmState<GameModel> {
 
 	PACMAN_DYING {
 		@Override
-		public void onEnter(GameModel game) {
+		public void onEnter(GameController gc) {
+			var game = gc.game();
 			game.level().ifPresent(level -> {
 				gc.getManualPacSteering().setEnabled(false);
-				timer.restartSeconds(4);
+				gc.timer().restartSeconds(4);
 				level.onPacKilled();
-				publishSoundEvent(GameModel.SE_STOP_ALL_SOUNDS);
+				game.publishSoundEvent(GameModel.SE_STOP_ALL_SOUNDS);
 			});
 		}
 
 		@Override
-		public void onUpdate(GameModel game) {
+		public void onUpdate(GameController gc) {
+			var game = gc.game();
 			game.level().ifPresent(level -> {
-				if (timer.atSecond(1)) {
+				if (gc.timer().atSecond(1)) {
 					level.pac().selectAndResetAnimation(GameModel.AK_PAC_DYING);
 					level.ghosts().forEach(Ghost::hide);
-				} else if (timer.atSecond(1.4)) {
+				} else if (gc.timer().atSecond(1.4)) {
 					level.pac().startAnimation();
-					publishSoundEvent(GameModel.SE_PACMAN_DEATH);
-				} else if (timer.atSecond(3.0)) {
+					game.publishSoundEvent(GameModel.SE_PACMAN_DEATH);
+				} else if (gc.timer().atSecond(3.0)) {
 					level.pac().hide();
 					game.setLives(game.lives() - 1);
 					if (game.lives() == 0) {
 						level.world().animation(GameModel.AK_MAZE_ENERGIZER_BLINKING).ifPresent(Animated::stop);
 						game.setOneLessLifeDisplayed(false);
 					}
-				} else if (timer.hasExpired()) {
+				} else if (gc.timer().hasExpired()) {
 					if (!game.hasCredit()) {
 						// end of demo level
-						GameEvents.setSoundEventsEnabled(true);
+						game.events().setSoundEventsEnabled(true);
 						gc.changeState(INTRO);
 					} else {
 						gc.changeState(game.lives() == 0 ? GAME_OVER : READY);
@@ -313,8 +318,8 @@ public enum GameState implements FsmState<GameModel> {
 		}
 
 		@Override
-		public void onExit(GameModel context) {
-			context.level().ifPresent(level -> {
+		public void onExit(GameController gc) {
+			gc.game().level().ifPresent(level -> {
 				level.bonus().setInactive();
 			});
 		}
@@ -322,23 +327,26 @@ public enum GameState implements FsmState<GameModel> {
 
 	GAME_OVER {
 		@Override
-		public void onEnter(GameModel game) {
+		public void onEnter(GameController gc) {
+			var game = gc.game();
 			gc.getManualPacSteering().setEnabled(false);
-			timer.restartSeconds(1.2);
+			gc.timer().restartSeconds(1.2);
 			game.changeCredit(-1);
 			game.saveNewHighscore();
-			publishSoundEvent(GameModel.SE_STOP_ALL_SOUNDS);
+			game.publishSoundEvent(GameModel.SE_STOP_ALL_SOUNDS);
 		}
 
 		@Override
-		public void onUpdate(GameModel game) {
-			if (timer.hasExpired()) {
+		public void onUpdate(GameController gc) {
+			var game = gc.game();
+			if (gc.timer().hasExpired()) {
 				gc.changeState(game.hasCredit() ? CREDIT : INTRO);
 			}
 		}
 
 		@Override
-		public void onExit(GameModel game) {
+		public void onExit(GameController gc) {
+			var game = gc.game();
 			game.setPlaying(false);
 			game.removeLevel();
 		}
@@ -346,54 +354,51 @@ public enum GameState implements FsmState<GameModel> {
 
 	INTERMISSION {
 		@Override
-		public void onEnter(GameModel game) {
-			timer.restartIndefinitely();
+		public void onEnter(GameController gc) {
+			gc.timer().restartIndefinitely();
 		}
 
 		@Override
-		public void onUpdate(GameModel game) {
-			if (timer.hasExpired()) {
+		public void onUpdate(GameController gc) {
+			var game = gc.game();
+			if (gc.timer().hasExpired()) {
 				gc.changeState(!game.hasCredit() || !game.isPlaying() ? INTRO : CHANGING_TO_NEXT_LEVEL);
 			}
 		}
 	},
 
 	LEVEL_TEST {
-		private int lastTestedLevel;
-
 		@Override
-		public void onEnter(GameModel game) {
-			lastTestedLevel = switch (game.variant()) {
-			case MS_PACMAN -> 8;
-			case PACMAN -> 20;
-			};
-			timer.restartIndefinitely();
+		public void onEnter(GameController gc) {
+			var game = gc.game();
+			gc.timer().restartIndefinitely();
 			game.init();
 			game.enterLevel(1);
-			publishGameEventOfType(GameEventType.LEVEL_STARTING);
+			game.publishGameEventOfType(GameEventType.LEVEL_STARTING);
 		}
 
 		@Override
-		public void onUpdate(GameModel game) {
+		public void onUpdate(GameController gc) {
+			var game = gc.game();
 			game.level().ifPresent(level -> {
-				if (level.number() <= lastTestedLevel) {
-					if (timer.atSecond(0.5)) {
+				if (level.number() <= lastTestedLevel(game)) {
+					if (gc.timer().atSecond(0.5)) {
 						level.guys().forEach(Creature::show);
-					} else if (timer.atSecond(1.5)) {
+					} else if (gc.timer().atSecond(1.5)) {
 						level.game().onBonusReached();
-					} else if (timer.atSecond(2.5)) {
-						level.bonus().eat();
+					} else if (gc.timer().atSecond(2.5)) {
+						level.bonus().eat(level);
 						level.guys().forEach(Creature::hide);
-					} else if (timer.atSecond(4.5)) {
+					} else if (gc.timer().atSecond(4.5)) {
 						level.world().animation(GameModel.AK_MAZE_FLASHING).ifPresent(flashing -> {
 							flashing.setRepetitions(level.numFlashes);
 							flashing.restart();
 						});
-					} else if (timer.atSecond(6.0)) {
+					} else if (gc.timer().atSecond(6.0)) {
 						level.exit();
 						game.nextLevel();
-						timer.restartIndefinitely();
-						publishGameEventOfType(GameEventType.LEVEL_STARTING);
+						gc.timer().restartIndefinitely();
+						game.publishGameEventOfType(GameEventType.LEVEL_STARTING);
 					}
 					level.world().animations().ifPresent(AnimationMap::animate);
 					level.ghosts().forEach(ghost -> ghost.update(level));
@@ -405,24 +410,32 @@ public enum GameState implements FsmState<GameModel> {
 		}
 
 		@Override
-		public void onExit(GameModel game) {
-			game.clearLevelCounter();
+		public void onExit(GameController gc) {
+			gc.game().clearLevelCounter();
+		}
+
+		private int lastTestedLevel(GameModel game) {
+			return switch (game.variant()) {
+			case MS_PACMAN -> 8;
+			case PACMAN -> 20;
+			};
 		}
 	},
 
 	INTERMISSION_TEST {
 		@Override
-		public void onEnter(GameModel game) {
-			timer.restartIndefinitely();
+		public void onEnter(GameController gc) {
+			gc.timer().restartIndefinitely();
 		}
 
 		@Override
-		public void onUpdate(GameModel game) {
-			if (timer.hasExpired()) {
+		public void onUpdate(GameController gc) {
+			var game = gc.game();
+			if (gc.timer().hasExpired()) {
 				if (game.intermissionTestNumber < game.numCutScenes()) {
 					++game.intermissionTestNumber;
-					timer.restartIndefinitely();
-					publishGameEventOfType(GameEventType.UNSPECIFIED_CHANGE);
+					gc.timer().restartIndefinitely();
+					game.publishGameEventOfType(GameEventType.UNSPECIFIED_CHANGE);
 				} else {
 					game.intermissionTestNumber = 1;
 					gc.changeState(INTRO);
@@ -431,14 +444,7 @@ public enum GameState implements FsmState<GameModel> {
 		}
 	};
 
-	/** The game controller hosting this state. */
-	GameController gc;
-
-	/** The timer of this state. */
-	final TickTimer timer = new TickTimer("Timer-" + name());
-
-	@Override
-	public TickTimer timer() {
-		return timer;
-	}
+	/** Only the ghosts in these states move while a killed ghost is displayed. */
+	private static final int GHOSTS_MOVING_WHILE_GHOST_DYING = GhostState.mask(GhostState.EATEN,
+			GhostState.RETURNING_TO_HOUSE, GhostState.ENTERING_HOUSE);
 }
\ No newline at end of file
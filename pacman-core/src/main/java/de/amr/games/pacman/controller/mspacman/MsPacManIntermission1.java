@@ -29,13 +29,11 @@ import static de.amr.games.pacman.model.common.world.World.t;
 import de.amr.games.pacman.controller.common.GameController;
 import de.amr.games.pacman.controller.mspacman.MsPacManIntermission1.IntermissionData;
 import de.amr.games.pacman.controller.mspacman.MsPacManIntermission1.IntermissionState;
-import de.amr.games.pacman.event.GameEvents;
 import de.amr.games.pacman.lib.anim.Animated;
 import de.amr.games.pacman.lib.fsm.Fsm;
 import de.amr.games.pacman.lib.fsm.FsmState;
 import de.amr.games.pacman.lib.math.Vector2f;
 import de.amr.games.pacman.lib.steering.Direction;
-import de.amr.games.pacman.lib.timer.TickTimer;
 import de.amr.games.pacman.model.common.GameModel;
 import de.amr.games.pacman.model.common.actors.Entity;
 import de.amr.games.pacman.model.common.actors.Ghost;
@@ -57,10 +55,7 @@ public class MsPacManIntermission1 extends Fsm<IntermissionState, IntermissionDa
 
 	public MsPacManIntermission1(GameController gameController) {
 		states = IntermissionState.values();
-		for (var state : states) {
-			state.intermission = this;
-		}
-		intermissionData = new IntermissionData(gameController);
+		intermissionData = new IntermissionData(this, gameController);
 	}
 
 	@Override
@@ -69,6 +64,7 @@ public class MsPacManIntermission1 extends Fsm<IntermissionState, IntermissionDa
 	}
 
 	public static class IntermissionData {
+		public final MsPacManIntermission1 intermission;
 		public final GameController gameController;
 		public final int upperY = t(12);
 		public final int middleY = t(18);
@@ -84,7 +80,8 @@ public class MsPacManIntermission1 extends Fsm<IntermissionState, IntermissionDa
 		public Ghost inky;
 		public Entity heart;
 
-		public IntermissionData(GameController gameController) {
+		public IntermissionData(MsPacManIntermission1 intermission, GameController gameController) {
+			this.intermission = intermission;
 			this.gameController = gameController;
 		}
 	}
@@ -94,8 +91,8 @@ public class MsPacManIntermission1 extends Fsm<IntermissionState, IntermissionDa
 		FLAP {
 			@Override
 			public void onEnter(IntermissionData ctx) {
-				timer.resetSeconds(2);
-				timer.start();
+				ctx.intermission.timer().resetSeconds(2);
+				ctx.intermission.timer().start();
 				ctx.clapperboard = new Clapperboard(1, "THEY MEET");
 				ctx.clapperboard.setPosition(t(3), t(10));
 				ctx.clapperboard.setVisible(true);
@@ -129,13 +126,13 @@ public class MsPacManIntermission1 extends Fsm<IntermissionState, IntermissionDa
 
 			@Override
 			public void onUpdate(IntermissionData ctx) {
-				if (timer.atSecond(1)) {
-					GameEvents.publishSoundEvent(GameModel.SE_START_INTERMISSION_1);
+				if (ctx.intermission.timer().atSecond(1)) {
+					ctx.gameController.game().publishSoundEvent(GameModel.SE_START_INTERMISSION_1);
 					ctx.clapperboard.animation().ifPresent(Animated::restart);
 				}
-				if (timer.hasExpired()) {
+				if (ctx.intermission.timer().hasExpired()) {
 					ctx.clapperboard.setVisible(false);
-					intermission.changeState(IntermissionState.CHASED_BY_GHOSTS);
+					ctx.intermission.changeState(IntermissionState.CHASED_BY_GHOSTS);
 				}
 			}
 		},
@@ -152,7 +149,7 @@ public class MsPacManIntermission1 extends Fsm<IntermissionState, IntermissionDa
 			@Override
 			public void onUpdate(IntermissionData ctx) {
 				if (ctx.inky.position().x() > t(30)) {
-					intermission.changeState(IntermissionState.COMING_TOGETHER);
+					ctx.intermission.changeState(IntermissionState.COMING_TOGETHER);
 					return;
 				}
 				ctx.inky.move();
@@ -186,7 +183,7 @@ public class MsPacManIntermission1 extends Fsm<IntermissionState, IntermissionDa
 			public void onUpdate(IntermissionData ctx) {
 				// Pac-Man and Ms. Pac-Man reach end position?
 				if (ctx.pacMan.moveDir() == Direction.UP && ctx.pacMan.position().y() < ctx.upperY) {
-					intermission.changeState(IntermissionState.IN_HEAVEN);
+					ctx.intermission.changeState(IntermissionState.IN_HEAVEN);
 				}
 				// Pac-Man and Ms. Pac-Man meet?
 				else if (ctx.pacMan.moveDir() == Direction.LEFT
@@ -231,8 +228,8 @@ public class MsPacManIntermission1 extends Fsm<IntermissionState, IntermissionDa
 		IN_HEAVEN {
 			@Override
 			public void onEnter(IntermissionData ctx) {
-				timer.resetSeconds(3);
-				timer.start();
+				ctx.intermission.timer().resetSeconds(3);
+				ctx.intermission.timer().start();
 				ctx.pacMan.setPixelSpeed(0);
 				ctx.pacMan.setMoveDir(Direction.LEFT);
 				ctx.pacMan.animation(GameModel.AK_PAC_MUNCHING).ifPresent(Animated::reset);
@@ -250,19 +247,10 @@ public class MsPacManIntermission1 extends Fsm<IntermissionState, IntermissionDa
 
 			@Override
 			public void onUpdate(IntermissionData ctx) {
-				if (timer.hasExpired()) {
+				if (ctx.intermission.timer().hasExpired()) {
 					ctx.gameController.terminateCurrentState();
 				}
 			}
 		};
-
-		// common fields of each state
-		MsPacManIntermission1 intermission;
-		TickTimer timer = new TickTimer("Timer-" + name());
-
-		@Override
-		public TickTimer timer() {
-			return timer;
-		}
 	}
 }
\ No newline at end of file
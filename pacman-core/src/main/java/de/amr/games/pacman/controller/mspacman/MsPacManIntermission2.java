@@ -28,12 +28,10 @@ import static de.amr.games.pacman.model.common.world.World.t;
 import de.amr.games.pacman.controller.common.GameController;
 import de.amr.games.pacman.controller.mspacman.MsPacManIntermission2.IntermissionData;
 import de.amr.games.pacman.controller.mspacman.MsPacManIntermission2.IntermissionState;
-import de.amr.games.pacman.event.GameEvents;
 import de.amr.games.pacman.lib.anim.Animated;
 import de.amr.games.pacman.lib.fsm.Fsm;
 import de.amr.games.pacman.lib.fsm.FsmState;
 import de.amr.games.pacman.lib.steering.Direction;
-import de.amr.games.pacman.lib.timer.TickTimer;
 import de.amr.games.pacman.model.common.GameModel;
 import de.amr.games.pacman.model.common.actors.Pac;
 import de.amr.games.pacman.model.mspacman.Clapperboard;
@@ -52,10 +50,7 @@ public class MsPacManIntermission2 extends Fsm<IntermissionState, IntermissionDa
 
 	public MsPacManIntermission2(GameController gameController) {
 		states = IntermissionState.values();
-		for (var state : IntermissionState.values()) {
-			state.intermission = this;
-		}
-		this.intermissionData = new IntermissionData(gameController);
+		this.intermissionData = new IntermissionData(this, gameController);
 	}
 
 	@Override
@@ -64,6 +59,7 @@ public class MsPacManIntermission2 extends Fsm<IntermissionState, IntermissionDa
 	}
 
 	public static class IntermissionData {
+		public final MsPacManIntermission2 intermission;
 		public final GameController gameController;
 		public final int upperY = t(12);
 		public final int middleY = t(18);
@@ -72,7 +68,8 @@ public class MsPacManIntermission2 extends Fsm<IntermissionState, IntermissionDa
 		public Pac pacMan;
 		public Pac msPacMan;
 
-		public IntermissionData(GameController gameController) {
+		public IntermissionData(MsPacManIntermission2 intermission, GameController gameController) {
+			this.intermission = intermission;
 			this.gameController = gameController;
 		}
 	}
@@ -82,7 +79,7 @@ public class MsPacManIntermission2 extends Fsm<IntermissionState, IntermissionDa
 		FLAP {
 			@Override
 			public void onEnter(IntermissionData ctx) {
-				timer.restartIndefinitely();
+				ctx.intermission.timer().restartIndefinitely();
 				ctx.clapperboard = new Clapperboard(2, "THE CHASE");
 				ctx.clapperboard.setPosition(t(3), t(10));
 				ctx.clapperboard.setVisible(true);
@@ -96,13 +93,13 @@ public class MsPacManIntermission2 extends Fsm<IntermissionState, IntermissionDa
 
 			@Override
 			public void onUpdate(IntermissionData ctx) {
-				if (timer.atSecond(1)) {
-					GameEvents.publishSoundEvent(GameModel.SE_START_INTERMISSION_2);
+				if (ctx.intermission.timer().atSecond(1)) {
+					ctx.gameController.game().publishSoundEvent(GameModel.SE_START_INTERMISSION_2);
 					ctx.clapperboard.animation().ifPresent(Animated::restart);
-				} else if (timer.atSecond(2)) {
+				} else if (ctx.intermission.timer().atSecond(2)) {
 					ctx.clapperboard.setVisible(false);
-				} else if (timer.atSecond(3)) {
-					intermission.changeState(IntermissionState.CHASING);
+				} else if (ctx.intermission.timer().atSecond(3)) {
+					ctx.intermission.changeState(IntermissionState.CHASING);
 				}
 			}
 		},
@@ -110,12 +107,12 @@ public class MsPacManIntermission2 extends Fsm<IntermissionState, IntermissionDa
 		CHASING {
 			@Override
 			public void onEnter(IntermissionData ctx) {
-				timer.restartIndefinitely();
+				ctx.intermission.timer().restartIndefinitely();
 			}
 
 			@Override
 			public void onUpdate(IntermissionData ctx) {
-				if (timer.atSecond(2.5)) {
+				if (ctx.intermission.timer().atSecond(2.5)) {
 					ctx.pacMan.setPosition(-t(2), ctx.upperY);
 					ctx.pacMan.setMoveDir(Direction.RIGHT);
 					ctx.pacMan.setPixelSpeed(2.0f);
@@ -124,35 +121,35 @@ public class MsPacManIntermission2 extends Fsm<IntermissionState, IntermissionDa
 					ctx.msPacMan.setMoveDir(Direction.RIGHT);
 					ctx.msPacMan.setPixelSpeed(2.0f);
 					ctx.msPacMan.show();
-				} else if (timer.atSecond(7)) {
+				} else if (ctx.intermission.timer().atSecond(7)) {
 					ctx.pacMan.setPosition(t(36), ctx.lowerY);
 					ctx.pacMan.setMoveDir(Direction.LEFT);
 					ctx.pacMan.setPixelSpeed(2.0f);
 					ctx.msPacMan.setPosition(t(30), ctx.lowerY);
 					ctx.msPacMan.setMoveDir(Direction.LEFT);
 					ctx.msPacMan.setPixelSpeed(2.0f);
-				} else if (timer.atSecond(11.5)) {
+				} else if (ctx.intermission.timer().atSecond(11.5)) {
 					ctx.pacMan.setMoveDir(Direction.RIGHT);
 					ctx.pacMan.setPixelSpeed(2.0f);
 					ctx.msPacMan.setPosition(t(-8), ctx.middleY);
 					ctx.msPacMan.setMoveDir(Direction.RIGHT);
 					ctx.msPacMan.setPixelSpeed(2.0f);
 					ctx.pacMan.setPosition(t(-2), ctx.middleY);
-				} else if (timer.atSecond(15.5)) {
+				} else if (ctx.intermission.timer().atSecond(15.5)) {
 					ctx.pacMan.setPosition(t(42), ctx.upperY);
 					ctx.pacMan.setMoveDir(Direction.LEFT);
 					ctx.pacMan.setPixelSpeed(4.0f);
 					ctx.msPacMan.setPosition(t(30), ctx.upperY);
 					ctx.msPacMan.setMoveDir(Direction.LEFT);
 					ctx.msPacMan.setPixelSpeed(4.0f);
-				} else if (timer.atSecond(16.5)) {
+				} else if (ctx.intermission.timer().atSecond(16.5)) {
 					ctx.pacMan.setPosition(t(-2), ctx.lowerY);
 					ctx.pacMan.setMoveDir(Direction.RIGHT);
 					ctx.pacMan.setPixelSpeed(4.0f);
 					ctx.msPacMan.setPosition(t(-14), ctx.lowerY);
 					ctx.msPacMan.setMoveDir(Direction.RIGHT);
 					ctx.msPacMan.setPixelSpeed(4.0f);
-				} else if (timer.atSecond(21)) {
+				} else if (ctx.intermission.timer().atSecond(21)) {
 					ctx.gameController.terminateCurrentState();
 					return;
 				}
@@ -162,13 +159,5 @@ public class MsPacManIntermission2 extends Fsm<IntermissionState, IntermissionDa
 				ctx.msPacMan.animate();
 			}
 		};
-
-		MsPacManIntermission2 intermission;
-		final TickTimer timer = new TickTimer("Timer-" + name());
-
-		@Override
-		public TickTimer timer() {
-			return timer;
-		}
 	}
 }
\ No newline at end of file
@@ -28,13 +28,11 @@ import static de.amr.games.pacman.model.common.world.World.t;
 import de.amr.games.pacman.controller.common.GameController;
 import de.amr.games.pacman.controller.mspacman.MsPacManIntermission3.IntermissionData;
 import de.amr.games.pacman.controller.mspacman.MsPacManIntermission3.IntermissionState;
-import de.amr.games.pacman.event.GameEvents;
 import de.amr.games.pacman.lib.anim.Animated;
 import de.amr.games.pacman.lib.fsm.Fsm;
 import de.amr.games.pacman.lib.fsm.FsmState;
 import de.amr.games.pacman.lib.math.Vector2f;
 import de.amr.games.pacman.lib.steering.Direction;
-import de.amr.games.pacman.lib.timer.TickTimer;
 import de.amr.games.pacman.model.common.GameModel;
 import de.amr.games.pacman.model.common.actors.Entity;
 import de.amr.games.pacman.model.common.actors.Pac;
@@ -56,10 +54,7 @@ public class MsPacManIntermission3 extends Fsm<IntermissionState, IntermissionDa
 
 	public MsPacManIntermission3(GameController gameController) {
 		states = IntermissionState.values();
-		for (var state : states) {
-			state.intermission = this;
-		}
-		this.intermissionData = new IntermissionData(gameController);
+		this.intermissionData = new IntermissionData(this, gameController);
 	}
 
 	@Override
@@ -68,6 +63,7 @@ public class MsPacManIntermission3 extends Fsm<IntermissionState, IntermissionDa
 	}
 
 	public static class IntermissionData {
+		public final MsPacManIntermission3 intermission;
 		public final GameController gameController;
 		public final int groundY = t(24);
 		public Clapperboard clapperboard;
@@ -78,7 +74,8 @@ public class MsPacManIntermission3 extends Fsm<IntermissionState, IntermissionDa
 		public boolean bagOpen;
 		public int numBagBounces;
 
-		public IntermissionData(GameController gameController) {
+		public IntermissionData(MsPacManIntermission3 intermission, GameController gameController) {
+			this.intermission = intermission;
 			this.gameController = gameController;
 		}
 	}
@@ -88,7 +85,7 @@ public class MsPacManIntermission3 extends Fsm<IntermissionState, IntermissionDa
 		FLAP {
 			@Override
 			public void onEnter(IntermissionData ctx) {
-				timer.restartIndefinitely();
+				ctx.intermission.timer().restartIndefinitely();
 				ctx.clapperboard = new Clapperboard(3, "JUNIOR");
 				ctx.clapperboard.setPosition(t(3), t(10));
 				ctx.clapperboard.setVisible(true);
@@ -101,13 +98,13 @@ public class MsPacManIntermission3 extends Fsm<IntermissionState, IntermissionDa
 
 			@Override
 			public void onUpdate(IntermissionData ctx) {
-				if (timer.atSecond(1)) {
-					GameEvents.publishSoundEvent(GameModel.SE_START_INTERMISSION_3);
+				if (ctx.intermission.timer().atSecond(1)) {
+					ctx.gameController.game().publishSoundEvent(GameModel.SE_START_INTERMISSION_3);
 					ctx.clapperboard.animation().ifPresent(Animated::restart);
-				} else if (timer.atSecond(2)) {
+				} else if (ctx.intermission.timer().atSecond(2)) {
 					ctx.clapperboard.setVisible(false);
-				} else if (timer.atSecond(3)) {
-					intermission.changeState(IntermissionState.ACTION);
+				} else if (ctx.intermission.timer().atSecond(3)) {
+					ctx.intermission.changeState(IntermissionState.ACTION);
 				}
 			}
 		},
@@ -115,7 +112,7 @@ public class MsPacManIntermission3 extends Fsm<IntermissionState, IntermissionDa
 		ACTION {
 			@Override
 			public void onEnter(IntermissionData ctx) {
-				timer.restartIndefinitely();
+				ctx.intermission.timer().restartIndefinitely();
 
 				ctx.pacMan.setMoveDir(Direction.RIGHT);
 				ctx.pacMan.setPosition(t(3), ctx.groundY - 4);
@@ -159,7 +156,7 @@ public class MsPacManIntermission3 extends Fsm<IntermissionState, IntermissionDa
 					} else {
 						ctx.bagOpen = true;
 						ctx.bag.setVelocity(Vector2f.ZERO);
-						intermission.changeState(IntermissionState.DONE);
+						ctx.intermission.changeState(IntermissionState.DONE);
 					}
 				}
 			}
@@ -168,25 +165,17 @@ public class MsPacManIntermission3 extends Fsm<IntermissionState, IntermissionDa
 		DONE {
 			@Override
 			public void onEnter(IntermissionData ctx) {
-				timer.resetSeconds(3);
-				timer.start();
+				ctx.intermission.timer().resetSeconds(3);
+				ctx.intermission.timer().start();
 			}
 
 			@Override
 			public void onUpdate(IntermissionData ctx) {
 				ctx.stork.move();
-				if (timer.hasExpired()) {
+				if (ctx.intermission.timer().hasExpired()) {
 					ctx.gameController.terminateCurrentState();
 				}
 			}
 		};
-
-		protected MsPacManIntermission3 intermission;
-		protected final TickTimer timer = new TickTimer("Timer-" + name());
-
-		@Override
-		public TickTimer timer() {
-			return timer;
-		}
 	}
 }
\ No newline at end of file
@@ -39,10 +39,7 @@ public class MsPacManIntroController extends Fsm<MsPacManIntroState, MsPacManInt
 
 	public MsPacManIntroController(GameController gameController) {
 		states = MsPacManIntroState.values();
-		for (var state : states) {
-			state.intro = this;
-		}
-		introData = new MsPacManIntroData(gameController);
+		introData = new MsPacManIntroData(this, gameController);
 	}
 
 	@Override
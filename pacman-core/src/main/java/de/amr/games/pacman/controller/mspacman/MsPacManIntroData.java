@@ -40,6 +40,7 @@ import de.amr.games.pacman.model.common.actors.Pac;
  * @author Armin Reichert
  */
 public class MsPacManIntroData {
+	public final MsPacManIntroController intro;
 	public final GameController gameController;
 	public static final float GUYS_SPEED = 1.1f;
 	public static final Vector2i BLINKY_END_TILE = v2i(t(8), t(11));
@@ -57,7 +58,8 @@ public class MsPacManIntroData {
 	);
 	int ghostIndex = 0;
 
-	public MsPacManIntroData(GameController gameController) {
+	public MsPacManIntroData(MsPacManIntroController intro, GameController gameController) {
+		this.intro = intro;
 		this.gameController = gameController;
 	}
 
@@ -34,7 +34,6 @@ import static de.amr.games.pacman.model.common.world.World.t;
 import de.amr.games.pacman.controller.common.GameState;
 import de.amr.games.pacman.lib.anim.Animated;
 import de.amr.games.pacman.lib.fsm.FsmState;
-import de.amr.games.pacman.lib.timer.TickTimer;
 import de.amr.games.pacman.model.common.GameModel;
 import de.amr.games.pacman.model.common.actors.Ghost;
 
@@ -66,8 +65,8 @@ public enum MsPacManIntroState implements FsmState<MsPacManIntroData> {
 
 		@Override
 		public void onUpdate(MsPacManIntroData ctx) {
-			if (timer.atSecond(1)) {
-				intro.changeState(MsPacManIntroState.GHOSTS);
+			if (ctx.intro.timer().atSecond(1)) {
+				ctx.intro.changeState(MsPacManIntroState.GHOSTS);
 			}
 			ctx.lightsTimer.advance();
 		}
@@ -87,7 +86,7 @@ public enum MsPacManIntroState implements FsmState<MsPacManIntroData> {
 				ghost.setPixelSpeed(0);
 				ghost.animation().ifPresent(Animated::reset);
 				if (++ctx.ghostIndex == 4) {
-					intro.changeState(MsPacManIntroState.MSPACMAN);
+					ctx.intro.changeState(MsPacManIntroState.MSPACMAN);
 				}
 			}
 		}
@@ -102,7 +101,7 @@ public enum MsPacManIntroState implements FsmState<MsPacManIntroData> {
 			if (ctx.msPacMan.position().x() <= MS_PACMAN_STOP_X) {
 				ctx.msPacMan.setPixelSpeed(0);
 				ctx.msPacMan.animation().ifPresent(Animated::reset);
-				intro.changeState(MsPacManIntroState.READY_TO_PLAY);
+				ctx.intro.changeState(MsPacManIntroState.READY_TO_PLAY);
 			}
 		}
 	},
@@ -110,12 +109,12 @@ public enum MsPacManIntroState implements FsmState<MsPacManIntroData> {
 	READY_TO_PLAY {
 		@Override
 		public void onUpdate(MsPacManIntroData ctx) {
-			if (timer.atSecond(2.0) && !ctx.gameController.game().hasCredit()) {
+			if (ctx.intro.timer().atSecond(2.0) && !ctx.gameController.game().hasCredit()) {
 				ctx.gameController.changeState(GameState.READY);
 				// go into demo mode
 				return;
 			}
-			if (timer.atSecond(5)) {
+			if (ctx.intro.timer().atSecond(5)) {
 				ctx.gameController.changeState(GameState.CREDIT);
 				return;
 			}
@@ -123,12 +122,4 @@ public enum MsPacManIntroState implements FsmState<MsPacManIntroData> {
 			ctx.blinking.animate();
 		}
 	};
-
-	MsPacManIntroController intro;
-	final TickTimer timer = new TickTimer("Timer-" + name());
-
-	@Override
-	public TickTimer timer() {
-		return timer;
-	}
 }
\ No newline at end of file
@@ -40,10 +40,7 @@ public class PacManIntroController extends Fsm<PacManIntroState, PacManIntroData
 
 	public PacManIntroController(GameController gameController) {
 		states = PacManIntroState.values();
-		for (var state : states) {
-			state.controller = this;
-		}
-		introData = new PacManIntroData(gameController);
+		introData = new PacManIntroData(this, gameController);
 	}
 
 	@Override
@@ -35,6 +35,7 @@ public class PacManIntroData {
 	public static final float CHASING_SPEED = 1.1f;
 	public static final int LEFT_TILE = 4;
 	public static final String[] CHARACTERS = { "SHADOW", "SPEEDY", "BASHFUL", "POKEY" };
+	public final PacManIntroController controller;
 	public final GameController gameController;
 	public final Pulse blinking = new Pulse(10, true);
 	public final Pac pacMan = new Pac("Pac-Man");
@@ -52,7 +53,8 @@ public class PacManIntroData {
 	public int ghostIndex;
 	public long ghostKilledTime;
 
-	public PacManIntroData(GameController gameController) {
+	public PacManIntroData(PacManIntroController controller, GameController gameController) {
+		this.controller = controller;
 		this.gameController = gameController;
 	}
 }
\ No newline at end of file
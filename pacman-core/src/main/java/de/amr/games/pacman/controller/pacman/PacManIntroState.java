@@ -31,7 +31,6 @@ import de.amr.games.pacman.controller.common.GameState;
 import de.amr.games.pacman.lib.anim.Animated;
 import de.amr.games.pacman.lib.fsm.FsmState;
 import de.amr.games.pacman.lib.steering.Direction;
-import de.amr.games.pacman.lib.timer.TickTimer;
 import de.amr.games.pacman.model.common.GameModel;
 import de.amr.games.pacman.model.common.actors.Ghost;
 import de.amr.games.pacman.model.common.actors.GhostState;
@@ -44,12 +43,12 @@ public enum PacManIntroState implements FsmState<PacManIntroData> {
 	START {
 		@Override
 		public void onUpdate(PacManIntroData ctx) {
-			if (timer.tick() == 2) {
+			if (ctx.controller.timer().tick() == 2) {
 				ctx.creditVisible = true;
-			} else if (timer.tick() == 3) {
+			} else if (ctx.controller.timer().tick() == 3) {
 				ctx.titleVisible = true;
-			} else if (timer.atSecond(1)) {
-				controller.changeState(PacManIntroState.PRESENTING_GHOSTS);
+			} else if (ctx.controller.timer().atSecond(1)) {
+				ctx.controller.changeState(PacManIntroState.PRESENTING_GHOSTS);
 			}
 		}
 	},
@@ -57,18 +56,18 @@ public enum PacManIntroState implements FsmState<PacManIntroData> {
 	PRESENTING_GHOSTS {
 		@Override
 		public void onUpdate(PacManIntroData ctx) {
-			if (timer.atSecond(0)) {
+			if (ctx.controller.timer().atSecond(0)) {
 				ctx.pictureVisible[ctx.ghostIndex] = true;
-			} else if (timer.atSecond(1.0)) {
+			} else if (ctx.controller.timer().atSecond(1.0)) {
 				ctx.characterVisible[ctx.ghostIndex] = true;
-			} else if (timer.atSecond(1.5)) {
+			} else if (ctx.controller.timer().atSecond(1.5)) {
 				ctx.nicknameVisible[ctx.ghostIndex] = true;
-			} else if (timer.atSecond(2.0)) {
+			} else if (ctx.controller.timer().atSecond(2.0)) {
 				if (++ctx.ghostIndex < 4) {
-					timer.resetIndefinitely();
+					ctx.controller.timer().resetIndefinitely();
 				}
-			} else if (timer.atSecond(2.5)) {
-				controller.changeState(PacManIntroState.SHOWING_POINTS);
+			} else if (ctx.controller.timer().atSecond(2.5)) {
+				ctx.controller.changeState(PacManIntroState.SHOWING_POINTS);
 			}
 		}
 	},
@@ -81,8 +80,8 @@ public enum PacManIntroState implements FsmState<PacManIntroData> {
 
 		@Override
 		public void onUpdate(PacManIntroData ctx) {
-			if (timer.atSecond(1)) {
-				controller.changeState(PacManIntroState.CHASING_PAC);
+			if (ctx.controller.timer().atSecond(1)) {
+				ctx.controller.changeState(PacManIntroState.CHASING_PAC);
 			}
 		}
 	},
@@ -90,7 +89,7 @@ public enum PacManIntroState implements FsmState<PacManIntroData> {
 	CHASING_PAC {
 		@Override
 		public void onEnter(PacManIntroData ctx) {
-			timer.restartIndefinitely();
+			ctx.controller.timer().restartIndefinitely();
 			ctx.pacMan.setPosition(t(36), t(20));
 			ctx.pacMan.setMoveDir(Direction.LEFT);
 			ctx.pacMan.setPixelSpeed(PacManIntroData.CHASING_SPEED);
@@ -110,7 +109,7 @@ public enum PacManIntroState implements FsmState<PacManIntroData> {
 		public void onUpdate(PacManIntroData ctx) {
 			// Pac-Man reaches the energizer
 			if (ctx.pacMan.position().x() <= t(PacManIntroData.LEFT_TILE)) {
-				controller.changeState(PacManIntroState.CHASING_GHOSTS);
+				ctx.controller.changeState(PacManIntroState.CHASING_GHOSTS);
 			}
 			// ghosts already reverse direction before Pac-man eats the energizer and turns right!
 			else if (ctx.pacMan.position().x() <= t(PacManIntroData.LEFT_TILE) + 4) {
@@ -128,7 +127,7 @@ public enum PacManIntroState implements FsmState<PacManIntroData> {
 			// keep moving
 			else {
 				// wait 1 sec before blinking
-				if (timer.atSecond(1)) {
+				if (ctx.controller.timer().atSecond(1)) {
 					ctx.blinking.start();
 				}
 				ctx.blinking.animate();
@@ -145,8 +144,8 @@ public enum PacManIntroState implements FsmState<PacManIntroData> {
 	CHASING_GHOSTS {
 		@Override
 		public void onEnter(PacManIntroData ctx) {
-			timer.restartIndefinitely();
-			ctx.ghostKilledTime = timer.tick();
+			ctx.controller.timer().restartIndefinitely();
+			ctx.ghostKilledTime = ctx.controller.timer().tick();
 			ctx.pacMan.setMoveDir(Direction.RIGHT);
 			ctx.pacMan.setPixelSpeed(PacManIntroData.CHASING_SPEED);
 		}
@@ -155,7 +154,7 @@ public enum PacManIntroState implements FsmState<PacManIntroData> {
 		public void onUpdate(PacManIntroData ctx) {
 			if (Stream.of(ctx.ghosts).allMatch(ghost -> ghost.is(GhostState.EATEN))) {
 				ctx.pacMan.hide();
-				controller.changeState(READY_TO_PLAY);
+				ctx.controller.changeState(READY_TO_PLAY);
 				return;
 			}
 			var nextVictim = Stream.of(ctx.ghosts)//
@@ -164,7 +163,7 @@ public enum PacManIntroState implements FsmState<PacManIntroData> {
 					.findFirst();
 			nextVictim.ifPresent(victim -> {
 				victim.setKilledIndex(victim.id());
-				ctx.ghostKilledTime = timer.tick();
+				ctx.ghostKilledTime = ctx.controller.timer().tick();
 				victim.enterStateEaten();
 				ctx.pacMan.hide();
 				ctx.pacMan.setPixelSpeed(0);
@@ -175,7 +174,7 @@ public enum PacManIntroState implements FsmState<PacManIntroData> {
 			});
 
 			// After ??? sec, Pac-Man and the surviving ghosts get visible again and move on
-			if (timer.tick() - ctx.ghostKilledTime == timer.secToTicks(0.9)) {
+			if (ctx.controller.timer().tick() - ctx.ghostKilledTime == ctx.controller.timer().secToTicks(0.9)) {
 				ctx.pacMan.show();
 				ctx.pacMan.setPixelSpeed(PacManIntroData.CHASING_SPEED);
 				for (Ghost ghost : ctx.ghosts) {
@@ -201,24 +200,16 @@ public enum PacManIntroState implements FsmState<PacManIntroData> {
 	READY_TO_PLAY {
 		@Override
 		public void onUpdate(PacManIntroData ctx) {
-			if (timer.atSecond(0.75)) {
+			if (ctx.controller.timer().atSecond(0.75)) {
 				ctx.ghosts[3].hide();
 				if (!ctx.gameController.game().hasCredit()) {
 					ctx.gameController.changeState(GameState.READY);
 					return;
 				}
 			}
-			if (timer.atSecond(5)) {
+			if (ctx.controller.timer().atSecond(5)) {
 				ctx.gameController.changeState(GameState.CREDIT);
 			}
 		}
 	};
-
-	PacManIntroController controller;
-	final TickTimer timer = new TickTimer("Timer-" + name());
-
-	@Override
-	public TickTimer timer() {
-		return timer;
-	}
 }
\ No newline at end of file
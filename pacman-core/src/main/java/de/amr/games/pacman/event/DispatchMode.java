@@ -0,0 +1,45 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+package de.amr.games.pacman.event;
+
+/**
+ * How {@link GameEvents} delivers published events to its listeners.
+ * 
+ * @author Armin Reichert
+ */
+public enum DispatchMode {
+	/** Listeners are called synchronously when an event is published. */
+	IMMEDIATE,
+	/**
+	 * Events are queued and delivered in a batch on the game thread at the end of the tick, see
+	 * {@link GameEvents#dispatchQueuedEvents()}.
+	 */
+	END_OF_TICK,
+	/**
+	 * Events are queued and the batch of each tick is handed off to a separate dispatcher thread at the end of the
+	 * tick. Slow listeners do not stall the game loop, but they see the game state of a later tick. Events published
+	 * by these listeners are delivered immediately on the dispatcher thread.
+	 */
+	ASYNC;
+}
@@ -32,14 +32,18 @@ import de.amr.games.pacman.model.common.GameModel;
 /**
  * Base class for events fired during game play. This class is a kind of compromise between separate subclasses for each
  * event type and a fat base class.
+ * <p>
+ * With immediate dispatch, frequent events are reused (flyweights): an event object is only valid during the listener
+ * call. Only the event bus can change the content of an event, listeners that retain an event must keep a
+ * {@link #copy()}.
  * 
  * @author Armin Reichert
  */
 public class GameEvent {
 
-	public final GameModel game;
-	public final GameEventType type;
-	public final Optional<Vector2i> tile;
+	private GameModel game;
+	private GameEventType type;
+	private Optional<Vector2i> tile;
 
 	/**
 	 * @param game game model
@@ -52,6 +56,35 @@ public class GameEvent {
 		this.tile = Optional.ofNullable(tile);
 	}
 
+	/** Resets a reused event, only called by the event bus. */
+	void set(GameModel game, GameEventType type, Optional<Vector2i> tile) {
+		this.game = game;
+		this.type = type;
+		this.tile = tile;
+	}
+
+	public GameModel game() {
+		return game;
+	}
+
+	public GameEventType type() {
+		return type;
+	}
+
+	/**
+	 * @return tile related to event, may be empty
+	 */
+	public Optional<Vector2i> tile() {
+		return tile;
+	}
+
+	/**
+	 * @return an event with the same content that is not reused by the event bus
+	 */
+	public GameEvent copy() {
+		return new GameEvent(game, type, tile.orElse(null));
+	}
+
 	@Override
 	public String toString() {
 		var tileStr = tile.isPresent() ? " tile: %s".formatted(tile.get()) : "";
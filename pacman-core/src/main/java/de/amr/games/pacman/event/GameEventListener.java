@@ -31,12 +31,13 @@ package de.amr.games.pacman.event;
 public interface GameEventListener {
 
 	/**
-	 * Called when a game event is received.
+	 * Called when a game event is received. The event may be reused by the event bus after this call, use
+	 * {@link GameEvent#copy()} to keep it.
 	 * 
 	 * @param event a game event
 	 */
 	default void onGameEvent(GameEvent event) {
-		switch (event.type) {
+		switch (event.type()) {
 		case GAME_STATE_CHANGED -> onGameStateChange((GameStateChangeEvent) event);
 		case BONUS_GETS_ACTIVE -> onBonusGetsActive(event);
 		case BONUS_GETS_EATEN -> onBonusGetsEaten(event);
@@ -53,7 +54,7 @@ public interface GameEventListener {
 		case PAC_LOSES_POWER -> onPlayerLosesPower(event);
 		case SOUND_EVENT -> onSoundEvent((SoundEvent) event);
 		case UNSPECIFIED_CHANGE -> onUnspecifiedChange(event);
-		default -> throw new IllegalArgumentException("Unknown event type: " + event.type);
+		default -> throw new IllegalArgumentException("Unknown event type: " + event.type());
 		}
 	}
 
@@ -23,66 +23,381 @@ SOFTWARE.
  */
 package de.amr.games.pacman.event;
 
-import java.util.Collection;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import de.amr.games.pacman.controller.common.GameController;
 import de.amr.games.pacman.lib.math.Vector2i;
+import de.amr.games.pacman.model.common.GameModel;
+import de.amr.games.pacman.model.common.actors.Ghost;
 
 /**
+ * Event bus of a game. Each game controller owns its own instance such that several games can run side by side
+ * (for example in simulations) without sharing listeners.
+ * <p>
+ * Listeners subscribe to all event types or only to specific ones. The registry maps each event type to an array of
+ * listeners which is replaced on every change (copy-on-write), so publishing needs no locking and can be done while
+ * listeners are added or removed. Events of a type without listeners are not even created.
+ * <p>
+ * By default, listeners are called synchronously when an event is published. In the other dispatch modes (see
+ * {@link DispatchMode}), events are appended to a ring buffer and delivered at the end of the tick, either on the game
+ * thread or on a separate dispatcher thread. The game controller calls {@link #dispatchQueuedEvents()} after each
+ * tick. Events published by a listener running on the dispatcher thread are delivered right away on that thread, they
+ * never enter the queue which belongs to the game thread.
+ * <p>
+ * With immediate dispatch, game and ghost events are reused per event type (flyweights) unless an event is published
+ * while another one is being delivered. Listeners that keep events must store a copy, see {@link GameEvent#copy()}.
+ * Sound events are immutable and cached per sound, so sound events never create garbage.
+ * 
  * @author Armin Reichert
  */
-public class GameEvents {
+public class GameEvents implements AutoCloseable {
 
 	private static final Logger LOG = LogManager.getFormatterLogger();
 
-	private static GameController gameController;
-	private static Collection<GameEventListener> subscribers = new ConcurrentLinkedQueue<>();
-	private static boolean soundEventsEnabled = true;
+	private static final GameEventListener[] NO_LISTENERS = {};
 
-	private GameEvents() {
+	private volatile EnumMap<GameEventType, GameEventListener[]> listeners = createRegistry();
+	private boolean soundEventsEnabled = true;
+	private DispatchMode dispatchMode = DispatchMode.IMMEDIATE;
+	private GameEvent[] queue = new GameEvent[64]; // ring buffer, capacity is a power of 2
+	private int queueHead;
+	private int queueSize;
+	private ExecutorService dispatcher;
+	private volatile Thread dispatcherThread;
+	private int deliveryDepth;
+	private final GameEvent[] gameEventFlyweights = new GameEvent[GameEventType.values().length];
+	private final GhostEvent[] ghostEventFlyweights = new GhostEvent[GameEventType.values().length];
+	private Optional<Vector2i>[] tileOptionals;
+	private final Map<String, SoundEvent> soundEvents = new HashMap<>();
+
+	/**
+	 * Sets the dispatch mode. Events queued in the previous mode are dispatched first.
+	 * 
+	 * @param mode dispatch mode
+	 */
+	public void setDispatchMode(DispatchMode mode) {
+		Objects.requireNonNull(mode);
+		if (mode != dispatchMode) {
+			dispatchQueuedEvents();
+			if (dispatchMode == DispatchMode.ASYNC) {
+				close();
+			}
+			dispatchMode = mode;
+			LOG.trace("Event dispatch mode is %s", mode);
+		}
+	}
+
+	public DispatchMode dispatchMode() {
+		return dispatchMode;
 	}
 
-	public static void setGameController(GameController gameController) {
-		GameEvents.gameController = Objects.requireNonNull(gameController);
+	/**
+	 * @return number of events published in the current tick and not yet dispatched
+	 */
+	public int numQueuedEvents() {
+		return queueSize;
 	}
 
-	public static void setSoundEventsEnabled(boolean enabled) {
-		GameEvents.soundEventsEnabled = enabled;
-		LOG.info("Sound events %s".formatted(enabled ? "enabled" : "disabled"));
+	public void setSoundEventsEnabled(boolean enabled) {
+		this.soundEventsEnabled = enabled;
+		LOG.info("Sound events %s", enabled ? "enabled" : "disabled");
 	}
 
-	public static void addListener(GameEventListener subscriber) {
-		GameEvents.subscribers.add(Objects.requireNonNull(subscriber));
+	public boolean isSoundEventsEnabled() {
+		return soundEventsEnabled;
+	}
+
+	private static EnumMap<GameEventType, GameEventListener[]> createRegistry() {
+		var registry = new EnumMap<GameEventType, GameEventListener[]>(GameEventType.class);
+		for (var type : GameEventType.values()) {
+			registry.put(type, NO_LISTENERS);
+		}
+		return registry;
+	}
+
+	/**
+	 * Subscribes the listener to all event types.
+	 * 
+	 * @param listener event listener
+	 */
+	public void addListener(GameEventListener listener) {
+		addListener(listener, GameEventType.values());
+	}
+
+	/**
+	 * Subscribes the listener to the given event types only.
+	 * 
+	 * @param listener event listener
+	 * @param types    event types
+	 */
+	public synchronized void addListener(GameEventListener listener, GameEventType... types) {
+		Objects.requireNonNull(listener);
+		var registry = listeners.clone();
+		for (var type : types) {
+			var current = registry.get(Objects.requireNonNull(type));
+			var extended = Arrays.copyOf(current, current.length + 1);
+			extended[current.length] = listener;
+			registry.put(type, extended);
+		}
+		listeners = registry;
+	}
+
+	/**
+	 * Unsubscribes the listener from all event types.
+	 * 
+	 * @param listener event listener
+	 */
+	public synchronized void removeListener(GameEventListener listener) {
+		Objects.requireNonNull(listener);
+		var registry = listeners.clone();
+		for (var type : GameEventType.values()) {
+			var current = registry.get(type);
+			for (int i = 0; i < current.length; ++i) {
+				if (current[i] == listener) {
+					var reduced = new GameEventListener[current.length - 1];
+					System.arraycopy(current, 0, reduced, 0, i);
+					System.arraycopy(current, i + 1, reduced, i, current.length - i - 1);
+					registry.put(type, reduced.length == 0 ? NO_LISTENERS : reduced);
+					break;
+				}
+			}
+		}
+		listeners = registry;
 	}
 
-	public static void removeListener(GameEventListener subscriber) {
-		GameEvents.subscribers.remove(Objects.requireNonNull(subscriber));
+	/**
+	 * @param type event type
+	 * @return if any listener is subscribed to events of this type
+	 */
+	public boolean hasListeners(GameEventType type) {
+		return listeners.get(type).length > 0;
 	}
 
-	public static void publishGameEvent(GameEvent event) {
+	public void publishGameEvent(GameEvent event) {
 		Objects.requireNonNull(event);
 		LOG.trace("Publish game event: %s", event);
-		GameEvents.subscribers.forEach(subscriber -> subscriber.onGameEvent(event));
+		if (isDispatcherThread()) {
+			deliver(event);
+		} else if (dispatchMode == DispatchMode.IMMEDIATE) {
+			++deliveryDepth;
+			try {
+				deliver(event);
+			} finally {
+				--deliveryDepth;
+			}
+		} else {
+			enqueue(event);
+		}
+	}
+
+	private void deliver(GameEvent event) {
+		for (var listener : listeners.get(event.type())) {
+			listener.onGameEvent(event);
+		}
+	}
+
+	private boolean isDispatcherThread() {
+		return dispatcherThread != null && Thread.currentThread() == dispatcherThread;
+	}
+
+	private void enqueue(GameEvent event) {
+		if (queueSize == queue.length) {
+			// unroll ring buffer into a buffer of double size
+			var bigger = new GameEvent[2 * queue.length];
+			for (int i = 0; i < queueSize; ++i) {
+				bigger[i] = queue[(queueHead + i) & (queue.length - 1)];
+			}
+			queue = bigger;
+			queueHead = 0;
+		}
+		queue[(queueHead + queueSize) & (queue.length - 1)] = event;
+		++queueSize;
 	}
 
-	public static void publishGameEvent(GameEventType type, Vector2i tile) {
+	/**
+	 * Dispatches the events queued during the current tick, either directly or by handing them off to the dispatcher
+	 * thread. Does nothing in immediate dispatch mode.
+	 */
+	public void dispatchQueuedEvents() {
+		if (queueSize == 0) {
+			return;
+		}
+		if (dispatchMode == DispatchMode.ASYNC) {
+			var batch = new GameEvent[queueSize];
+			for (int i = 0; i < batch.length; ++i) {
+				batch[i] = takeQueuedEvent();
+			}
+			dispatcher().execute(() -> deliverBatch(batch));
+		} else {
+			// listeners may publish new events which are delivered in the same batch
+			while (queueSize > 0) {
+				deliver(takeQueuedEvent());
+			}
+		}
+	}
+
+	private GameEvent takeQueuedEvent() {
+		var event = queue[queueHead];
+		queue[queueHead] = null;
+		queueHead = (queueHead + 1) & (queue.length - 1);
+		--queueSize;
+		return event;
+	}
+
+	private void deliverBatch(GameEvent[] batch) {
+		for (var event : batch) {
+			try {
+				deliver(event);
+			} catch (Exception x) {
+				LOG.error("Game event listener failed on event %s: %s", event, x);
+			}
+		}
+	}
+
+	private ExecutorService dispatcher() {
+		if (dispatcher == null) {
+			dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+				var thread = new Thread(runnable, "GameEvents-Dispatcher");
+				thread.setDaemon(true);
+				dispatcherThread = thread;
+				return thread;
+			});
+		}
+		return dispatcher;
+	}
+
+	/**
+	 * Waits until all events handed off to the dispatcher thread have been delivered.
+	 */
+	public void awaitDispatch() {
+		if (dispatcher != null) {
+			try {
+				dispatcher.submit(() -> {
+				}).get();
+			} catch (InterruptedException x) {
+				Thread.currentThread().interrupt();
+			} catch (ExecutionException x) {
+				throw new IllegalStateException(x.getCause());
+			}
+		}
+	}
+
+	/**
+	 * Delivers all pending events and stops the dispatcher thread, if any.
+	 */
+	@Override
+	public void close() {
+		if (dispatcher != null) {
+			dispatchQueuedEvents();
+			dispatcher.shutdown();
+			try {
+				dispatcher.awaitTermination(1, TimeUnit.SECONDS);
+			} catch (InterruptedException x) {
+				Thread.currentThread().interrupt();
+			}
+			dispatcher = null;
+			dispatcherThread = null;
+		}
+	}
+
+	/**
+	 * @return if events can be reused: they are delivered immediately and no other event is being delivered
+	 */
+	private boolean canReuseEvents() {
+		return dispatchMode == DispatchMode.IMMEDIATE && deliveryDepth == 0;
+	}
+
+	/**
+	 * @return cached optional for tiles inside the usual maze area, new optional otherwise
+	 */
+	@SuppressWarnings("unchecked")
+	private Optional<Vector2i> optionalTile(Vector2i tile) {
+		if (tile == null) {
+			return Optional.empty();
+		}
+		int x = tile.x();
+		int y = tile.y();
+		if (x < 0 || x >= 64 || y < 0 || y >= 64) {
+			return Optional.of(tile);
+		}
+		if (tileOptionals == null) {
+			tileOptionals = (Optional<Vector2i>[]) new Optional<?>[64 * 64];
+		}
+		var optional = tileOptionals[64 * y + x];
+		if (optional == null) {
+			optional = Optional.of(tile);
+			tileOptionals[64 * y + x] = optional;
+		}
+		return optional;
+	}
+
+	public void publishGameEvent(GameModel game, GameEventType type, Vector2i tile) {
+		Objects.requireNonNull(game);
 		Objects.requireNonNull(type);
-		publishGameEvent(new GameEvent(gameController.game(), type, tile));
+		if (!hasListeners(type)) {
+			return;
+		}
+		if (canReuseEvents()) {
+			var event = gameEventFlyweights[type.ordinal()];
+			if (event == null) {
+				event = new GameEvent(game, type, tile);
+				gameEventFlyweights[type.ordinal()] = event;
+			}
+			event.set(game, type, optionalTile(tile));
+			publishGameEvent(event);
+		} else {
+			publishGameEvent(new GameEvent(game, type, tile));
+		}
+	}
+
+	public void publishGameEventOfType(GameModel game, GameEventType type) {
+		publishGameEvent(game, type, null);
 	}
 
-	public static void publishGameEventOfType(GameEventType type) {
-		publishGameEvent(new GameEvent(gameController.game(), type, null));
+	public void publishGhostEvent(GameModel game, GameEventType type, Ghost ghost) {
+		Objects.requireNonNull(game);
+		Objects.requireNonNull(type);
+		Objects.requireNonNull(ghost);
+		if (!hasListeners(type)) {
+			return;
+		}
+		if (canReuseEvents()) {
+			var event = ghostEventFlyweights[type.ordinal()];
+			if (event == null) {
+				event = new GhostEvent(game, type, ghost);
+				ghostEventFlyweights[type.ordinal()] = event;
+			}
+			event.set(game, type, ghost, optionalTile(ghost.tile()));
+			publishGameEvent(event);
+		} else {
+			publishGameEvent(new GhostEvent(game, type, ghost));
+		}
 	}
 
-	public static void publishSoundEvent(String soundCommand) {
+	public void publishSoundEvent(GameModel game, String soundCommand) {
 		Objects.requireNonNull(soundCommand);
-		if (GameEvents.soundEventsEnabled) {
-			publishGameEvent(new SoundEvent(gameController.game(), soundCommand));
+		if (soundEventsEnabled && hasListeners(GameEventType.SOUND_EVENT)) {
+			if (isDispatcherThread()) {
+				publishGameEvent(new SoundEvent(game, soundCommand)); // the cache belongs to the game thread
+				return;
+			}
+			var event = soundEvents.get(soundCommand);
+			if (event == null || event.game() != game) {
+				event = new SoundEvent(game, soundCommand);
+				soundEvents.put(soundCommand, event);
+			}
+			publishGameEvent(event);
 		}
 	}
 }
\ No newline at end of file
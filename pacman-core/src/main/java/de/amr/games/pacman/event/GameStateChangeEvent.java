@@ -42,6 +42,14 @@ public class GameStateChangeEvent extends GameEvent {
 		this.newGameState = newGameState;
 	}
 
+	/**
+	 * @return this event because it is immutable
+	 */
+	@Override
+	public GameStateChangeEvent copy() {
+		return this;
+	}
+
 	@Override
 	public String toString() {
 		return "%s(%s->%s)".formatted(getClass().getSimpleName(), oldGameState, newGameState);
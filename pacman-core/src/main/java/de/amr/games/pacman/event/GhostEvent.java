@@ -24,7 +24,9 @@ SOFTWARE.
 package de.amr.games.pacman.event;
 
 import java.util.Objects;
+import java.util.Optional;
 
+import de.amr.games.pacman.lib.math.Vector2i;
 import de.amr.games.pacman.model.common.GameModel;
 import de.amr.games.pacman.model.common.actors.Ghost;
 
@@ -33,15 +35,32 @@ import de.amr.games.pacman.model.common.actors.Ghost;
  */
 public class GhostEvent extends GameEvent {
 
-	public final Ghost ghost;
+	private Ghost ghost;
 
 	public GhostEvent(GameModel game, GameEventType type, Ghost ghost) {
 		super(game, type, ghost.tile());
 		this.ghost = Objects.requireNonNull(ghost);
 	}
 
+	/** Resets a reused event, only called by the event bus. */
+	void set(GameModel game, GameEventType type, Ghost ghost, Optional<Vector2i> tile) {
+		set(game, type, tile);
+		this.ghost = ghost;
+	}
+
+	public Ghost ghost() {
+		return ghost;
+	}
+
+	@Override
+	public GhostEvent copy() {
+		var copy = new GhostEvent(game(), type(), ghost);
+		copy.set(game(), type(), ghost, tile());
+		return copy;
+	}
+
 	@Override
 	public String toString() {
-		return "%s: tile %s, ghost %s".formatted(type, tile, ghost);
+		return "%s: tile %s, ghost %s".formatted(type(), tile(), ghost);
 	}
 }
\ No newline at end of file
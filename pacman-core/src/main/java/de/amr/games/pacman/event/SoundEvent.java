@@ -39,6 +39,14 @@ public class SoundEvent extends GameEvent {
 		this.id = Objects.requireNonNull(id);
 	}
 
+	/**
+	 * @return this event because it is immutable
+	 */
+	@Override
+	public SoundEvent copy() {
+		return this;
+	}
+
 	@Override
 	public String toString() {
 		return "SoundEvent('%s')".formatted(id);
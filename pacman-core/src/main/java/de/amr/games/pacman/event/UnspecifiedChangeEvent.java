@@ -34,4 +34,12 @@ public class UnspecifiedChangeEvent extends GameEvent {
 	public UnspecifiedChangeEvent(GameModel game) {
 		super(game, GameEventType.UNSPECIFIED_CHANGE, null);
 	}
+
+	/**
+	 * @return this event because it is immutable
+	 */
+	@Override
+	public UnspecifiedChangeEvent copy() {
+		return this;
+	}
 }
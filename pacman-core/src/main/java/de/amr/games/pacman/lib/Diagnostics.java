@@ -0,0 +1,60 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+package de.amr.games.pacman.lib;
+
+/**
+ * Switches for diagnostic output in the hot paths of the game (creature movement, level update, timers, state
+ * machines).
+ * <p>
+ * The switches are static final fields, so the JIT compiler treats them as constants and removes the guarded code
+ * completely when a switch is off: the log statements, their argument expressions (string formatting, boxing,
+ * {@code toString()} calls) and the level checks of the logger. Code guarded by a switch is written as
+ * 
+ * <pre>
+ * if (TRACE) {
+ * 	LOG.trace("%s entered tile %s", name, tile);
+ * }
+ * </pre>
+ * 
+ * The switches are read from system properties when this class is loaded, e.g. {@code -Dpacman.trace=true}. When a
+ * switch is on, the log level configured for the logger still applies. Code that builds messages before calling the
+ * logger, e.g. with {@code String.formatted()}, also checks the log level, so the messages are only built if they are
+ * written:
+ * 
+ * <pre>
+ * if (TRACE &amp;&amp; LOG.isTraceEnabled()) {
+ * 	moveResult.addMessage("Cannot move %s into tile %s".formatted(dir, tile));
+ * }
+ * </pre>
+ * 
+ * @author Armin Reichert
+ */
+public final class Diagnostics {
+
+	/** Trace output of the game model and the state machines, enabled by system property {@code pacman.trace}. */
+	public static final boolean TRACE = Boolean.getBoolean("pacman.trace");
+
+	private Diagnostics() {
+	}
+}
@@ -25,7 +25,7 @@ SOFTWARE.
 package de.amr.games.pacman.lib;
 
 import java.util.Arrays;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Stream;
 
 /**
@@ -36,15 +36,13 @@ public class U {
 	private U() {
 	}
 
-	public static final Random RND = new Random();
-
 	/**
 	 * @param left  left interval bound (included)
 	 * @param right right interval bound (excluded)
 	 * @return random integer from interval <code>[left; right[</code>
 	 */
 	public static int randomInt(int left, int right) {
-		return left + RND.nextInt(right - left);
+		return ThreadLocalRandom.current().nextInt(left, right);
 	}
 
 	/**
@@ -53,7 +51,7 @@ public class U {
 	 * @return random double from interval <code>[left; right[</code>
 	 */
 	public static double randomDouble(double left, double right) {
-		return left + RND.nextDouble() * (right - left);
+		return ThreadLocalRandom.current().nextDouble(left, right);
 	}
 
 	public static boolean isEven(int n) {
@@ -23,6 +23,8 @@ SOFTWARE.
  */
 package de.amr.games.pacman.lib.fsm;
 
+import static de.amr.games.pacman.lib.Diagnostics.TRACE;
+
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.BiConsumer;
@@ -53,6 +55,7 @@ public abstract class Fsm<S extends FsmState<C>, C> {
 	private static final Logger LOG = LogManager.getFormatterLogger();
 
 	private final List<BiConsumer<S, S>> subscribers = new ArrayList<>();
+	private final TickTimer timer = new TickTimer("Timer-" + getClass().getSimpleName());
 	protected S[] states;
 	protected S currentState;
 	protected S prevState;
@@ -79,6 +82,14 @@ public abstract class Fsm<S extends FsmState<C>, C> {
 		return currentState;
 	}
 
+	/**
+	 * @return the timer of the current state. Each state machine instance has its own timer which is reset on every state
+	 *         change.
+	 */
+	public TickTimer timer() {
+		return timer;
+	}
+
 	/**
 	 * @return the previous state (may be null)
 	 */
@@ -105,12 +116,10 @@ public abstract class Fsm<S extends FsmState<C>, C> {
 	}
 
 	/**
-	 * Resets the timer of each state to {@link TickTimer#INDEFINITE}.
+	 * Resets the state timer to {@link TickTimer#INDEFINITE}.
 	 */
 	public void resetTimers() {
-		for (S state : states) {
-			state.timer().resetIndefinitely();
-		}
+		timer.resetIndefinitely();
 	}
 
 	/**
@@ -129,12 +138,12 @@ public abstract class Fsm<S extends FsmState<C>, C> {
 	 * Lets the timer of the current game state expire.
 	 */
 	public void terminateCurrentState() {
-		state().timer().expire();
+		timer.expire();
 	}
 
 	/**
 	 * Changes the machine's current state to the new state. Tne exit hook method of the current state is executed before
-	 * entering the new state. The new state's entry hook method is executed and its timer is reset to
+	 * entering the new state. The new state's entry hook method is executed and the state timer is reset to
 	 * {@link TickTimer#INDEFINITE}. After the state change, an event is published.
 	 * <p>
 	 * Trying to change to the current state (self loop) leads to a runtime exception.
@@ -148,14 +157,20 @@ public abstract class Fsm<S extends FsmState<C>, C> {
 		C context = context();
 		if (currentState != null) {
 			currentState.onExit(context);
-			LOG.trace("Exit  state %s timer=%s", currentState, currentState.timer());
+			if (TRACE) {
+				LOG.trace("Exit  state %s timer=%s", currentState, timer);
+			}
 		}
 		prevState = currentState;
 		currentState = newState;
-		currentState.timer().resetIndefinitely();
-		LOG.trace("Enter state %s timer=%s", currentState, currentState.timer());
+		timer.resetIndefinitely();
+		if (TRACE) {
+			LOG.trace("Enter state %s timer=%s", currentState, timer);
+		}
 		currentState.onEnter(context);
-		LOG.trace("After Enter state %s timer=%s", currentState, currentState.timer());
+		if (TRACE) {
+			LOG.trace("After Enter state %s timer=%s", currentState, timer);
+		}
 		subscribers.forEach(listener -> listener.accept(prevState, currentState));
 	}
 
@@ -166,7 +181,9 @@ public abstract class Fsm<S extends FsmState<C>, C> {
 		if (prevState == null) {
 			throw new IllegalStateException("State machine cannot resume previous state because there is none");
 		}
-		LOG.trace("Resume state %s, timer= %s", prevState, prevState.timer());
+		if (TRACE) {
+			LOG.trace("Resume state %s, timer= %s", prevState, timer);
+		}
 		changeState(prevState);
 	}
 
@@ -179,13 +196,15 @@ public abstract class Fsm<S extends FsmState<C>, C> {
 		try {
 			currentState.onUpdate(context());
 		} catch (Exception x) {
-			LOG.trace("Error updating state %s, timer=%s", currentState, currentState.timer());
+			if (TRACE) {
+				LOG.trace("Error updating state %s, timer=%s", currentState, timer);
+			}
 			x.printStackTrace();
 		}
-		if (currentState.timer().state() == State.READY) {
-			currentState.timer().start();
+		if (timer.state() == State.READY) {
+			timer.start();
 		} else {
-			currentState.timer().advance();
+			timer.advance();
 		}
 	}
 }
\ No newline at end of file
@@ -24,10 +24,9 @@ SOFTWARE.
 
 package de.amr.games.pacman.lib.fsm;
 
-import de.amr.games.pacman.lib.timer.TickTimer;
-
 /**
- * Interface implemented by all states (enums) of a FSM. Each state has a timer and a reference to its FSM.
+ * Interface implemented by all states (enums) of a FSM. States are stateless singletons, everything that belongs to a
+ * specific state machine instance (for example the state timer) is accessed via the context or the FSM itself.
  *
  * @param <C> the (context) type that the hook methods {@link #onEnter(C)}, {@link #onUpdate(C)}, {@link #onExit(C)} get
  *            passed as parameter
@@ -57,9 +56,4 @@ public interface FsmState<C> {
 	 */
 	default void onExit(C context) {
 	}
-
-	/**
-	 * @return the timer of this state
-	 */
-	TickTimer timer();
 }
\ No newline at end of file
@@ -29,35 +29,54 @@ import de.amr.games.pacman.lib.steering.Direction;
 
 /**
  * Immutable int 2D vector.
+ * <p>
+ * Vectors in the range of the tile coordinates used by the game are cached, so tile computations using
+ * {@link #v2i(int, int)} and the arithmetic methods do not create new objects.
  * 
  * @author Armin Reichert
  */
 public record Vector2i(int x, int y) {
 
-	public static final Vector2i ZERO = new Vector2i(0, 0);
+	private static final int CACHE_MIN = -8;
+	private static final int CACHE_SIZE_X = 56;
+	private static final int CACHE_SIZE_Y = 64;
+	private static final Vector2i[] CACHE = new Vector2i[CACHE_SIZE_X * CACHE_SIZE_Y];
+
+	static {
+		for (int i = 0; i < CACHE.length; ++i) {
+			CACHE[i] = new Vector2i(CACHE_MIN + i % CACHE_SIZE_X, CACHE_MIN + i / CACHE_SIZE_X);
+		}
+	}
+
+	public static final Vector2i ZERO = v2i(0, 0);
 
 	public static Vector2i v2i(int x, int y) {
+		int cx = x - CACHE_MIN;
+		int cy = y - CACHE_MIN;
+		if (0 <= cx && cx < CACHE_SIZE_X && 0 <= cy && cy < CACHE_SIZE_Y) {
+			return CACHE[cy * CACHE_SIZE_X + cx];
+		}
 		return new Vector2i(x, y);
 	}
 
 	public Vector2i scaled(int s) {
-		return new Vector2i(s * x, s * y);
+		return v2i(s * x, s * y);
 	}
 
 	public Vector2i plus(Vector2i v) {
-		return new Vector2i(x + v.x, y + v.y);
+		return v2i(x + v.x, y + v.y);
 	}
 
 	public Vector2i plus(int dx, int dy) {
-		return new Vector2i(x + dx, y + dy);
+		return v2i(x + dx, y + dy);
 	}
 
 	public Vector2i minus(Vector2i v) {
-		return new Vector2i(x - v.x, y - v.y);
+		return v2i(x - v.x, y - v.y);
 	}
 
 	public Vector2i minus(int dx, int dy) {
-		return new Vector2i(x - dx, y - dy);
+		return v2i(x - dx, y - dy);
 	}
 
 	public float euclideanDistance(Vector2i v) {
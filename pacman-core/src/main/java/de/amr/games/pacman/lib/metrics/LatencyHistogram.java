@@ -0,0 +1,155 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+package de.amr.games.pacman.lib.metrics;
+
+import java.util.Arrays;
+
+/**
+ * Latency histogram with logarithmic buckets in the style of an HDR histogram. Values below 64 are counted exactly,
+ * larger values fall into one of 32 linear sub-buckets per power of two, so every recorded value is resolved with a
+ * relative error of at most 1/32 (about 3%). Recording is constant-time and does not allocate.
+ * <p>
+ * Not thread-safe: values are recorded by a single thread. Other threads may read the histogram while values are
+ * being recorded, the results are then approximate.
+ * 
+ * @author Armin Reichert
+ */
+public class LatencyHistogram {
+
+	private static final int SUB_BUCKET_BITS = 5;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int NUM_BUCKETS = bucketIndex(Long.MAX_VALUE) + 1;
+
+	private static int bucketIndex(long value) {
+		int shift = Math.max(0, 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS);
+		return shift * SUB_BUCKETS + (int) (value >>> shift);
+	}
+
+	private static long highestValueInBucket(int index) {
+		int shift = Math.max(0, index / SUB_BUCKETS - 1);
+		long mantissa = index - (long) shift * SUB_BUCKETS;
+		return ((mantissa + 1) << shift) - 1;
+	}
+
+	private final long[] counts = new long[NUM_BUCKETS];
+	private long count;
+	private long sum;
+	private long min = Long.MAX_VALUE;
+	private long max;
+
+	/**
+	 * Records a value. Negative values are recorded as zero.
+	 * 
+	 * @param value value e.g. a duration in nanoseconds
+	 */
+	public void record(long value) {
+		if (value < 0) {
+			value = 0;
+		}
+		++counts[bucketIndex(value)];
+		++count;
+		sum += value;
+		if (value < min) {
+			min = value;
+		}
+		if (value > max) {
+			max = value;
+		}
+	}
+
+	/**
+	 * Removes all recorded values.
+	 */
+	public void reset() {
+		Arrays.fill(counts, 0);
+		count = 0;
+		sum = 0;
+		min = Long.MAX_VALUE;
+		max = 0;
+	}
+
+	/**
+	 * @return number of recorded values
+	 */
+	public long count() {
+		return count;
+	}
+
+	/**
+	 * @return sum of all recorded values
+	 */
+	public long sum() {
+		return sum;
+	}
+
+	/**
+	 * @return smallest recorded value or 0 if no value has been recorded
+	 */
+	public long min() {
+		return count == 0 ? 0 : min;
+	}
+
+	/**
+	 * @return largest recorded value or 0 if no value has been recorded
+	 */
+	public long max() {
+		return max;
+	}
+
+	/**
+	 * @return mean of the recorded values or 0 if no value has been recorded
+	 */
+	public double mean() {
+		return count == 0 ? 0 : (double) sum / count;
+	}
+
+	/**
+	 * @param percentile percentile between 0 and 100, e.g. 99.9
+	 * @return (upper bound of the bucket containing the) value at the given percentile, at most the largest recorded
+	 *         value, or 0 if no value has been recorded
+	 */
+	public long percentile(double percentile) {
+		if (percentile < 0 || percentile > 100) {
+			throw new IllegalArgumentException("Percentile must be between 0 and 100, but is: %s".formatted(percentile));
+		}
+		if (count == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+		long seen = 0;
+		for (int i = 0; i < counts.length; ++i) {
+			seen += counts[i];
+			if (seen >= rank) {
+				return Math.min(highestValueInBucket(i), max);
+			}
+		}
+		return max;
+	}
+
+	@Override
+	public String toString() {
+		return "count=%d min=%d p50=%d p90=%d p99=%d p99.9=%d max=%d mean=%.1f".formatted(count, min(), percentile(50),
+				percentile(90), percentile(99), percentile(99.9), max, mean());
+	}
+}
@@ -0,0 +1,52 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+package de.amr.games.pacman.lib.metrics;
+
+/**
+ * The phases of a game tick measured by the {@link TickProfiler}.
+ * 
+ * @author Armin Reichert
+ */
+public enum TickPhase {
+	/** Pac-Man steering (autopilot or user input). */
+	STEERING,
+	/** Pac-Man movement. */
+	PAC_UPDATE,
+	/** Check if a ghost can leave the house. */
+	GHOST_UNLOCK,
+	/** Ghost movement. */
+	GHOST_UPDATES,
+	/** Hunting timer and ghost reversal at phase change. */
+	HUNTING_TIMER,
+	/** Bonus update. */
+	BONUS,
+	/** Check if Pac-Man found food. */
+	FOOD_CHECK,
+	/** Check if Pac-Man power starts or ends. */
+	POWER_CHECK,
+	/** Check if Pac-Man gets killed and which ghosts can be eaten. */
+	KILL_CHECK,
+	/** Complete level update, including the parts not assigned to one of the other phases except steering. */
+	LEVEL_UPDATE;
+}
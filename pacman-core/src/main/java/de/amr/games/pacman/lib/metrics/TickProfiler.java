@@ -0,0 +1,368 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+package de.amr.games.pacman.lib.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.ToLongFunction;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Opt-in profiler measuring the duration of the {@link TickPhase phases} of a game tick. Each phase has its own
+ * {@link LatencyHistogram}, so not only mean values but also the tail latencies can be observed. Optionally, the
+ * number of bytes allocated by the game thread is tracked per phase.
+ * <p>
+ * A game uses the shared, permanently disabled profiler {@link #OFF} unless a profiler is set using
+ * {@link de.amr.games.pacman.model.common.GameModel#setTickProfiler(TickProfiler)}. A disabled profiler costs a field
+ * read per phase.
+ * <p>
+ * Measurements are taken by the game thread. The statistics can be read and reset from other threads (e.g. by a JMX
+ * client after {@link #registerMBean()}), the values read while the game is running are approximate. Resets and
+ * changes of the settings take effect when the game thread begins the next tick.
+ * 
+ * @author Armin Reichert
+ */
+public class TickProfiler implements TickProfilerMXBean {
+
+	private static final Logger LOG = LogManager.getFormatterLogger();
+
+	private static final TickPhase[] PHASES = TickPhase.values();
+
+	/** The profiler used by games without profiling. It cannot be enabled. */
+	public static final TickProfiler OFF = new TickProfiler();
+
+	private static com.sun.management.ThreadMXBean allocationCounter() {
+		if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+				&& bean.isThreadAllocatedMemorySupported()) {
+			bean.setThreadAllocatedMemoryEnabled(true);
+			return bean;
+		}
+		return null;
+	}
+
+	private final String name;
+	private final LatencyHistogram[] histograms = new LatencyHistogram[PHASES.length];
+	private final long[] allocatedBytes = new long[PHASES.length];
+	private final long[] allocationSamples = new long[PHASES.length];
+	private volatile com.sun.management.ThreadMXBean allocationCounter;
+	private volatile boolean enabled;
+	private volatile boolean resetRequested;
+	private volatile boolean restartRequested; // measurements restart with the next tick
+	private long ticks;
+	private long tickStartNanos;
+	private long tickStartBytes;
+	private long markNanos;
+	private long markBytes;
+	private ObjectName objectName;
+
+	private TickProfiler() {
+		name = "off";
+		createHistograms();
+	}
+
+	/**
+	 * Creates an enabled profiler without allocation tracking.
+	 * 
+	 * @param name profiler name, used in the JMX object name
+	 */
+	public TickProfiler(String name) {
+		this.name = Objects.requireNonNull(name);
+		createHistograms();
+		enabled = true;
+	}
+
+	private void createHistograms() {
+		for (int i = 0; i < histograms.length; ++i) {
+			histograms[i] = new LatencyHistogram();
+		}
+	}
+
+	public String name() {
+		return name;
+	}
+
+	@Override
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	@Override
+	public void setEnabled(boolean enabled) {
+		if (this == OFF && enabled) {
+			throw new IllegalStateException("The shared OFF profiler cannot be enabled");
+		}
+		this.enabled = enabled;
+		restartRequested = true;
+	}
+
+	@Override
+	public boolean isAllocationTracking() {
+		return allocationCounter != null;
+	}
+
+	/**
+	 * Enables or disables tracking of allocated bytes per phase. Requires a JVM supporting thread allocation
+	 * measurement, otherwise tracking stays disabled.
+	 * 
+	 * @param tracking if allocations are tracked
+	 */
+	@Override
+	public void setAllocationTracking(boolean tracking) {
+		if (this == OFF) {
+			return;
+		}
+		allocationCounter = tracking ? allocationCounter() : null;
+		if (tracking && allocationCounter == null) {
+			LOG.warn("Allocation tracking is not supported by this JVM");
+		}
+		restartRequested = true;
+	}
+
+	private long allocatedBytesNow() {
+		var counter = allocationCounter;
+		return counter != null ? counter.getCurrentThreadAllocatedBytes() : 0;
+	}
+
+	/**
+	 * Starts a level update. Pending reset requests are executed here. After the profiler has been enabled or the
+	 * allocation tracking has been changed, measuring restarts here, so no phase spans such a change.
+	 */
+	public void beginTick() {
+		if (!enabled) {
+			return;
+		}
+		if (resetRequested) {
+			clear();
+		}
+		restartRequested = false;
+		markBytes = tickStartBytes = allocatedBytesNow();
+		markNanos = tickStartNanos = System.nanoTime();
+	}
+
+	/**
+	 * Ends a level update and records its complete duration as phase {@link TickPhase#LEVEL_UPDATE}.
+	 */
+	public void endTick() {
+		if (!enabled || restartRequested || tickStartNanos == 0) {
+			return;
+		}
+		record(TickPhase.LEVEL_UPDATE, System.nanoTime() - tickStartNanos, tickStartBytes);
+		++ticks;
+		tickStartNanos = 0;
+	}
+
+	/**
+	 * Marks the start of a phase.
+	 */
+	public void mark() {
+		if (!enabled) {
+			return;
+		}
+		markBytes = allocatedBytesNow();
+		markNanos = System.nanoTime();
+	}
+
+	/**
+	 * Records the time since the last mark as duration of the given phase and marks the start of the next phase.
+	 * 
+	 * @param phase the phase that just ended
+	 */
+	public void lap(TickPhase phase) {
+		if (!enabled || restartRequested || markNanos == 0) {
+			return;
+		}
+		long now = System.nanoTime();
+		record(phase, now - markNanos, markBytes);
+		markBytes = allocatedBytesNow();
+		markNanos = now;
+	}
+
+	private void record(TickPhase phase, long nanos, long startBytes) {
+		int i = phase.ordinal();
+		histograms[i].record(nanos);
+		if (allocationCounter != null) {
+			allocatedBytes[i] += allocatedBytesNow() - startBytes;
+			++allocationSamples[i];
+		}
+	}
+
+	private void clear() {
+		resetRequested = false;
+		for (int i = 0; i < PHASES.length; ++i) {
+			histograms[i].reset();
+			allocatedBytes[i] = 0;
+			allocationSamples[i] = 0;
+		}
+		ticks = 0;
+	}
+
+	@Override
+	public void reset() {
+		resetRequested = true;
+	}
+
+	/**
+	 * @param phase tick phase
+	 * @return the latency histogram (nanoseconds) of the given phase, always empty for the {@link #OFF} profiler
+	 */
+	public LatencyHistogram histogram(TickPhase phase) {
+		return histograms[phase.ordinal()];
+	}
+
+	/**
+	 * @param phase tick phase
+	 * @return total number of bytes allocated during the given phase while allocation tracking was enabled
+	 */
+	public long allocatedBytes(TickPhase phase) {
+		return allocatedBytes[phase.ordinal()];
+	}
+
+	/**
+	 * @param phase tick phase
+	 * @return mean number of bytes allocated per execution of the given phase while allocation tracking was enabled
+	 */
+	public long allocatedBytesPerCall(TickPhase phase) {
+		int i = phase.ordinal();
+		return allocationSamples[i] == 0 ? 0 : allocatedBytes[i] / allocationSamples[i];
+	}
+
+	@Override
+	public long getTicks() {
+		return ticks;
+	}
+
+	private Map<String, Long> phaseValues(ToLongFunction<TickPhase> fnValue) {
+		if (this == OFF) {
+			return Collections.emptyMap();
+		}
+		var values = new LinkedHashMap<String, Long>();
+		for (var phase : PHASES) {
+			values.put(phase.name(), fnValue.applyAsLong(phase));
+		}
+		return values;
+	}
+
+	@Override
+	public Map<String, Long> getMedianNanos() {
+		return phaseValues(phase -> histogram(phase).percentile(50));
+	}
+
+	@Override
+	public Map<String, Long> getP99Nanos() {
+		return phaseValues(phase -> histogram(phase).percentile(99));
+	}
+
+	@Override
+	public Map<String, Long> getP999Nanos() {
+		return phaseValues(phase -> histogram(phase).percentile(99.9));
+	}
+
+	@Override
+	public Map<String, Long> getMaxNanos() {
+		return phaseValues(phase -> histogram(phase).max());
+	}
+
+	@Override
+	public Map<String, Long> getAllocatedBytesPerCall() {
+		return isAllocationTracking() ? phaseValues(this::allocatedBytesPerCall) : Collections.emptyMap();
+	}
+
+	@Override
+	public long percentileNanos(String phase, double percentile) {
+		return this == OFF ? 0 : histogram(TickPhase.valueOf(phase)).percentile(percentile);
+	}
+
+	/**
+	 * @return snapshot of the statistics of all phases, in phase order
+	 */
+	public Map<TickPhase, String> summary() {
+		var summary = new EnumMap<TickPhase, String>(TickPhase.class);
+		if (this != OFF) {
+			for (var phase : PHASES) {
+				var text = histogram(phase).toString();
+				if (isAllocationTracking()) {
+					text += " bytes/call=" + allocatedBytesPerCall(phase);
+				}
+				summary.put(phase, text);
+			}
+		}
+		return summary;
+	}
+
+	@Override
+	public String report() {
+		var sb = new StringBuilder("Tick profile '%s', %d ticks (nanoseconds)%n".formatted(name, ticks));
+		summary().forEach((phase, text) -> sb.append("%-14s %s%n".formatted(phase, text)));
+		return sb.toString();
+	}
+
+	/**
+	 * Registers this profiler at the platform MBean server under the name
+	 * {@code de.amr.games.pacman:type=TickProfiler,name=<name>}.
+	 * 
+	 * @return the object name
+	 */
+	public ObjectName registerMBean() {
+		if (this == OFF) {
+			throw new IllegalStateException("The shared OFF profiler cannot be registered");
+		}
+		try {
+			if (objectName == null) {
+				var on = new ObjectName("de.amr.games.pacman:type=TickProfiler,name=" + ObjectName.quote(name));
+				ManagementFactory.getPlatformMBeanServer().registerMBean(this, on);
+				objectName = on;
+				LOG.info("Tick profiler registered as MBean %s", on);
+			}
+			return objectName;
+		} catch (JMException x) {
+			throw new IllegalStateException("Could not register tick profiler MBean", x);
+		}
+	}
+
+	/**
+	 * Unregisters this profiler from the platform MBean server if it has been registered.
+	 */
+	public void unregisterMBean() {
+		if (objectName == null) {
+			return;
+		}
+		try {
+			ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+			LOG.info("Tick profiler MBean %s unregistered", objectName);
+		} catch (JMException x) {
+			LOG.error("Could not unregister tick profiler MBean %s", objectName);
+		} finally {
+			objectName = null;
+		}
+	}
+}
@@ -0,0 +1,70 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+package de.amr.games.pacman.lib.metrics;
+
+import java.util.Map;
+
+/**
+ * Management interface of the {@link TickProfiler}. The durations are given in nanoseconds, the maps are keyed by
+ * {@link TickPhase} name.
+ * 
+ * @author Armin Reichert
+ */
+public interface TickProfilerMXBean {
+
+	boolean isEnabled();
+
+	void setEnabled(boolean enabled);
+
+	boolean isAllocationTracking();
+
+	void setAllocationTracking(boolean tracking);
+
+	/** @return number of profiled level updates */
+	long getTicks();
+
+	Map<String, Long> getMedianNanos();
+
+	Map<String, Long> getP99Nanos();
+
+	Map<String, Long> getP999Nanos();
+
+	Map<String, Long> getMaxNanos();
+
+	/** @return mean number of bytes allocated per phase execution, empty if allocation tracking is off */
+	Map<String, Long> getAllocatedBytesPerCall();
+
+	/**
+	 * @param phase      phase name
+	 * @param percentile percentile between 0 and 100
+	 * @return duration at the given percentile
+	 */
+	long percentileNanos(String phase, double percentile);
+
+	/** @return multi-line report with the statistics of all phases */
+	String report();
+
+	/** Clears all statistics. Takes effect at the start of the next profiled tick. */
+	void reset();
+}
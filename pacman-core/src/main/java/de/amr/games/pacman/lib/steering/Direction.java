@@ -24,8 +24,8 @@ SOFTWARE.
 package de.amr.games.pacman.lib.steering;
 
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
+import java.util.random.RandomGenerator;
 import java.util.stream.Stream;
 
 import de.amr.games.pacman.lib.math.Vector2i;
@@ -40,15 +40,33 @@ public enum Direction {
 	LEFT(-1, 0), RIGHT(1, 0), UP(0, -1), DOWN(0, 1);
 
 	private static final Direction[] OPPOSITE = { RIGHT, LEFT, DOWN, UP };
+	private static final Direction[] VALUES = values();
 
 	public static Stream<Direction> stream() {
-		return Stream.of(values());
+		return Stream.of(VALUES);
 	}
 
-	public static List<Direction> shuffled() {
-		List<Direction> dirs = Arrays.asList(values());
-		Collections.shuffle(dirs);
-		return dirs;
+	/**
+	 * @param ordinal direction ordinal
+	 * @return direction with given ordinal (without copying the values array like {@link #values()} does)
+	 */
+	public static Direction byOrdinal(int ordinal) {
+		return VALUES[ordinal];
+	}
+
+	/**
+	 * @param rnd random generator
+	 * @return list of all directions in random order
+	 */
+	public static List<Direction> shuffled(RandomGenerator rnd) {
+		Direction[] dirs = VALUES.clone();
+		for (int i = dirs.length - 1; i > 0; --i) {
+			int j = rnd.nextInt(i + 1);
+			Direction tmp = dirs[i];
+			dirs[i] = dirs[j];
+			dirs[j] = tmp;
+		}
+		return Arrays.asList(dirs);
 	}
 
 	private final Vector2i vector;
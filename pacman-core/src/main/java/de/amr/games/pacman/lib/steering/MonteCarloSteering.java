@@ -0,0 +1,520 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+package de.amr.games.pacman.lib.steering;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import de.amr.games.pacman.controller.common.Steering;
+import de.amr.games.pacman.model.common.GameLevel;
+import de.amr.games.pacman.model.common.GameLevelSnapshot;
+import de.amr.games.pacman.model.common.GameModel;
+import de.amr.games.pacman.model.common.GameVariant;
+import de.amr.games.pacman.model.common.actors.Creature;
+import de.amr.games.pacman.model.common.actors.Ghost;
+import de.amr.games.pacman.model.common.actors.GhostState;
+import de.amr.games.pacman.model.common.world.World;
+import de.amr.games.pacman.model.mspacman.MsPacManGame;
+import de.amr.games.pacman.model.pacman.PacManGame;
+
+/**
+ * Pac-Man steering using Monte Carlo tree search (MCTS).
+ * <p>
+ * Pac-Man deliberates when he enters an intersection or when a hunting ghost comes close. The search tree has a node
+ * for each decision at an intersection, the tree is descended using the UCB1 rule and expanded by one node per
+ * rollout. From there, the game is simulated with random moves until the rollout depth is reached, Pac-Man gets
+ * killed or the level is completed. Rollouts run on copies of the current level (see
+ * {@link GameLevel#restore(GameLevelSnapshot)}) inside separate game instances, so the real game is never touched.
+ * <p>
+ * Each decision is limited by a time budget and/or a rollout budget. With more than one thread, each thread builds its
+ * own tree (root parallelization) and the visit counts of the root children are summed up. With a single thread and
+ * without time budget, decisions depend only on the seed of the game.
+ * <p>
+ * Killed ghosts return to the ghost house immediately inside rollouts, the bonus symbol of a simulated Ms. Pac-Man
+ * level may differ from the real one.
+ * 
+ * @author Armin Reichert
+ */
+public class MonteCarloSteering implements Steering, AutoCloseable {
+
+	private static final Logger LOG = LogManager.getFormatterLogger();
+
+	/** Path distance (tiles) at which a hunting ghost forces a decision also outside of intersections. */
+	private static final int DANGER_DISTANCE = 6;
+
+	/** Exploration constant of the UCB1 formula. */
+	private static final double EXPLORATION = 0.7;
+
+	/** Points gained inside a rollout that give the maximum score reward. */
+	private static final double POINTS_SCALE = 500;
+
+	private static final Direction[] DIRECTIONS = Direction.values();
+
+	private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+	private static class Node {
+		final Node[] children = new Node[4];
+		int visits;
+		double value;
+	}
+
+	private double timeBudgetMillis = 10;
+	private int maxRollouts = Integer.MAX_VALUE;
+	private int rolloutDepth = 180;
+	private int numThreads = Math.min(4, Runtime.getRuntime().availableProcessors());
+
+	private final GameLevelSnapshot rootSnapshot = new GameLevelSnapshot();
+	private final AtomicInteger rolloutsStarted = new AtomicInteger();
+	private final AtomicLong totalRollouts = new AtomicLong();
+	private long deadline;
+	private int lastSearchRollouts;
+	private long numSearches;
+	private Worker[] workers;
+	private ExecutorService executor;
+
+	/**
+	 * @param timeBudgetMillis maximum time (milliseconds) spent for one decision, a value &lt;= 0 means no time limit
+	 */
+	public void setTimeBudgetMillis(double timeBudgetMillis) {
+		this.timeBudgetMillis = timeBudgetMillis;
+	}
+
+	public double getTimeBudgetMillis() {
+		return timeBudgetMillis;
+	}
+
+	/**
+	 * @param maxRollouts maximum number of rollouts for one decision (summed over all threads)
+	 */
+	public void setMaxRollouts(int maxRollouts) {
+		if (maxRollouts <= 0) {
+			throw new IllegalArgumentException("Rollout budget must be positive but is: " + maxRollouts);
+		}
+		this.maxRollouts = maxRollouts;
+	}
+
+	public int getMaxRollouts() {
+		return maxRollouts;
+	}
+
+	/**
+	 * @param rolloutDepth maximum number of simulated ticks per rollout
+	 */
+	public void setRolloutDepth(int rolloutDepth) {
+		if (rolloutDepth <= 0) {
+			throw new IllegalArgumentException("Rollout depth must be positive but is: " + rolloutDepth);
+		}
+		this.rolloutDepth = rolloutDepth;
+	}
+
+	public int getRolloutDepth() {
+		return rolloutDepth;
+	}
+
+	/**
+	 * @param numThreads number of threads running rollouts in parallel
+	 */
+	public void setNumThreads(int numThreads) {
+		if (numThreads <= 0) {
+			throw new IllegalArgumentException("Number of threads must be positive but is: " + numThreads);
+		}
+		if (numThreads != this.numThreads) {
+			close();
+			this.numThreads = numThreads;
+		}
+	}
+
+	public int getNumThreads() {
+		return numThreads;
+	}
+
+	/**
+	 * @return number of searches (decisions at intersections or in danger) so far
+	 */
+	public long numSearches() {
+		return numSearches;
+	}
+
+	/**
+	 * @return number of rollouts of the last search
+	 */
+	public int lastSearchRollouts() {
+		return lastSearchRollouts;
+	}
+
+	/**
+	 * @return number of rollouts of all searches so far
+	 */
+	public long totalRollouts() {
+		return totalRollouts.get();
+	}
+
+	@Override
+	public void init() {
+		numSearches = 0;
+		lastSearchRollouts = 0;
+		totalRollouts.set(0);
+	}
+
+	/**
+	 * Stops the rollout threads. The steering can still be used afterwards, threads are recreated when needed.
+	 */
+	@Override
+	public void close() {
+		if (executor != null) {
+			executor.shutdownNow();
+			executor = null;
+		}
+		workers = null;
+	}
+
+	/**
+	 * Steers Pac-Man. Only Pac-Man of the given level can be steered by this steering.
+	 */
+	@Override
+	public void steer(GameLevel level, Creature guy) {
+		if (guy.moveResult.moved && !guy.isNewTileEntered()) {
+			return;
+		}
+		var world = level.world();
+		int tile = guy.tileIndex(world);
+		if (tile == World.NO_TILE) {
+			return;
+		}
+		int options = accessibleDirections(level, guy, tile);
+		if (options == 0) {
+			return;
+		}
+		if (world.isIntersection(tile) || isHuntingGhostNear(level, tile)) {
+			guy.setWishDir(findBestDirection(level));
+		} else if ((options & bit(guy.moveDir())) == 0) {
+			// corner or dead end
+			int forward = options & ~bit(guy.moveDir().opposite());
+			guy.setWishDir(firstDirection(forward != 0 ? forward : options));
+		}
+	}
+
+	/**
+	 * Runs a search from the current state of the given level.
+	 * 
+	 * @param level game level
+	 * @return best direction for Pac-Man at his current tile
+	 */
+	public Direction findBestDirection(GameLevel level) {
+		var pac = level.pac();
+		int tile = pac.tileIndex(level.world());
+		int options = tile != World.NO_TILE ? accessibleDirections(level, pac, tile) : 0;
+		if (Integer.bitCount(options) <= 1) {
+			return options != 0 ? firstDirection(options) : pac.moveDir();
+		}
+		long startTime = System.nanoTime();
+		prepareWorkers(level);
+		rolloutsStarted.set(0);
+		deadline = timeBudgetMillis > 0 ? startTime + (long) (timeBudgetMillis * 1e6) : 0;
+		if (workers.length == 1) {
+			workers[0].run();
+		} else {
+			runInParallel();
+		}
+		var visits = new int[4];
+		var values = new double[4];
+		int rollouts = 0;
+		for (var worker : workers) {
+			rollouts += worker.rollouts;
+			for (int d = 0; d < 4; ++d) {
+				var child = worker.root.children[d];
+				if (child != null) {
+					visits[d] += child.visits;
+					values[d] += child.value;
+				}
+			}
+		}
+		Direction best = null;
+		for (int d = 0; d < 4; ++d) {
+			if ((options & (1 << d)) != 0 && (best == null || visits[d] > visits[best.ordinal()]
+					|| visits[d] == visits[best.ordinal()] && values[d] > values[best.ordinal()])) {
+				best = DIRECTIONS[d];
+			}
+		}
+		++numSearches;
+		lastSearchRollouts = rollouts;
+		totalRollouts.addAndGet(rollouts);
+		LOG.trace("MCTS: %s chosen after %d rollouts in %.2f millis, visits=%s", best, rollouts,
+				(System.nanoTime() - startTime) / 1e6, Arrays.toString(visits));
+		return best;
+	}
+
+	private void prepareWorkers(GameLevel level) {
+		var variant = level.game().variant();
+		if (workers == null || workers[0].game.variant() != variant) {
+			workers = new Worker[numThreads];
+			for (int i = 0; i < numThreads; ++i) {
+				workers[i] = new Worker(variant);
+			}
+		}
+		// restoring rewinds the snapshot, so this must not run in parallel
+		level.snapshot(rootSnapshot);
+		for (var worker : workers) {
+			worker.game.setStepMovement(level.game().isStepMovement());
+			worker.prepare(rootSnapshot, level.number(), level.game().steeringRnd().nextLong());
+		}
+	}
+
+	private void runInParallel() {
+		if (executor == null) {
+			executor = Executors.newFixedThreadPool(numThreads, runnable -> {
+				var thread = new Thread(runnable, "MCTS-" + THREAD_COUNT.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		var futures = new ArrayList<Future<?>>(workers.length);
+		for (var worker : workers) {
+			futures.add(executor.submit(worker));
+		}
+		try {
+			for (var future : futures) {
+				future.get();
+			}
+		} catch (InterruptedException x) {
+			Thread.currentThread().interrupt();
+			futures.forEach(future -> future.cancel(true));
+		} catch (ExecutionException x) {
+			throw new IllegalStateException("MCTS rollout failed", x.getCause());
+		}
+	}
+
+	private boolean hasBudget() {
+		return (deadline == 0 || System.nanoTime() < deadline) && rolloutsStarted.getAndIncrement() < maxRollouts;
+	}
+
+	private static boolean isHuntingGhostNear(GameLevel level, int tile) {
+		var world = level.world();
+		for (byte id = 0; id < 4; ++id) {
+			Ghost ghost = level.ghost(id);
+			if (ghost.state() == GhostState.HUNTING_PAC) {
+				int ghostTile = ghost.tileIndex(world);
+				if (ghostTile != World.NO_TILE) {
+					int distance = world.pathDistance(tile, ghostTile);
+					if (distance >= 0 && distance <= DANGER_DISTANCE) {
+						return true;
+					}
+				}
+			}
+		}
+		return false;
+	}
+
+	private static int accessibleDirections(GameLevel level, Creature guy, int tile) {
+		int options = 0;
+		for (var dir : DIRECTIONS) {
+			if (guy.canAccessNeighbor(tile, dir, level)) {
+				options |= bit(dir);
+			}
+		}
+		return options;
+	}
+
+	private static int bit(Direction dir) {
+		return 1 << dir.ordinal();
+	}
+
+	private static Direction firstDirection(int options) {
+		return DIRECTIONS[Integer.numberOfTrailingZeros(options)];
+	}
+
+	/**
+	 * Runs the rollouts of one thread on its own game instance.
+	 */
+	private class Worker implements Runnable {
+
+		final GameModel game;
+		final GameLevelSnapshot start = new GameLevelSnapshot();
+		final List<Node> path = new ArrayList<>();
+		final int[] nearestFood = new int[1];
+		GameLevel level;
+		SplittableRandom rnd;
+		Node root;
+		int rollouts;
+
+		Worker(GameVariant variant) {
+			game = switch (variant) {
+			case MS_PACMAN -> new MsPacManGame();
+			case PACMAN -> new PacManGame();
+			};
+			game.newScore();
+		}
+
+		void prepare(GameLevelSnapshot snapshot, int levelNumber, long seed) {
+			if (level == null || level.number() != levelNumber) {
+				game.enterLevel(levelNumber);
+				level = game.level().orElseThrow();
+			}
+			level.restore(snapshot);
+			game.setSeed(seed);
+			rnd = game.steeringRnd();
+			root = new Node();
+			rollouts = 0;
+		}
+
+		@Override
+		public void run() {
+			level.snapshot(start);
+			while (hasBudget() && !Thread.currentThread().isInterrupted()) {
+				rollout();
+				++rollouts;
+			}
+		}
+
+		private void rollout() {
+			level.restore(start);
+			var pac = level.pac();
+			var world = level.world();
+			int pointsBefore = points();
+			path.clear();
+			path.add(root);
+			Node node = root;
+			double value = -1;
+			int tile = World.NO_TILE;
+			for (int tick = 0; tick < rolloutDepth; ++tick) {
+				if (tick == 0 || !pac.moveResult.moved || pac.isNewTileEntered()) {
+					tile = pac.tileIndex(world);
+					int options = tile != World.NO_TILE ? accessibleDirections(level, pac, tile) : 0;
+					if (options != 0) {
+						if (tick == 0 || world.isIntersection(tile)) {
+							if (node != null) {
+								int d = select(node, options);
+								var child = node.children[d];
+								if (child == null) {
+									child = new Node();
+									node.children[d] = child;
+									node = null; // expanded, continue with random moves
+								} else {
+									node = child;
+								}
+								path.add(child);
+								pac.setWishDir(DIRECTIONS[d]);
+							} else {
+								pac.setWishDir(randomDirection(options, pac.moveDir()));
+							}
+						} else if ((options & bit(pac.moveDir())) == 0) {
+							pac.setWishDir(randomDirection(options, pac.moveDir()));
+						}
+					}
+				}
+				level.update();
+				if (level.pacKilled()) {
+					value = 0.2 * tick / rolloutDepth;
+					break;
+				}
+				if (level.completed()) {
+					value = 1;
+					break;
+				}
+				if (level.memo().edibleGhostsExist()) {
+					level.killEdibleGhosts();
+					for (byte id = 0; id < 4; ++id) {
+						var ghost = level.ghost(id);
+						if (ghost.state() == GhostState.EATEN) {
+							ghost.enterStateReturningToHouse(level);
+						}
+					}
+				}
+			}
+			if (value < 0) {
+				double gained = Math.min(1, (points() - pointsBefore) / POINTS_SCALE);
+				tile = pac.tileIndex(world);
+				value = 0.4 + 0.4 * gained + (tile != World.NO_TILE ? 0.2 / (1 + nearestFoodDistance(world, tile)) : 0);
+			}
+			for (var n : path) {
+				++n.visits;
+				n.value += value;
+			}
+		}
+
+		private int points() {
+			return game.score().map(score -> score.points()).orElse(0);
+		}
+
+		/**
+		 * Selects an untried direction if there is one, otherwise the child with the best UCB1 value.
+		 */
+		private int select(Node node, int options) {
+			int untried = 0;
+			for (int d = 0; d < 4; ++d) {
+				if ((options & (1 << d)) != 0 && node.children[d] == null) {
+					untried |= 1 << d;
+				}
+			}
+			if (untried != 0) {
+				return randomBit(untried);
+			}
+			double logVisits = Math.log(node.visits);
+			int best = -1;
+			double bestUCB = Double.NEGATIVE_INFINITY;
+			for (int d = 0; d < 4; ++d) {
+				if ((options & (1 << d)) != 0) {
+					var child = node.children[d];
+					double ucb = child.value / child.visits + EXPLORATION * Math.sqrt(logVisits / child.visits);
+					if (ucb > bestUCB) {
+						bestUCB = ucb;
+						best = d;
+					}
+				}
+			}
+			return best;
+		}
+
+		private Direction randomDirection(int options, Direction moveDir) {
+			int forward = options & ~bit(moveDir.opposite());
+			return DIRECTIONS[randomBit(forward != 0 ? forward : options)];
+		}
+
+		private int randomBit(int bits) {
+			int k = rnd.nextInt(Integer.bitCount(bits));
+			for (int d = 0; d < 4; ++d) {
+				if ((bits & (1 << d)) != 0 && k-- == 0) {
+					return d;
+				}
+			}
+			throw new IllegalArgumentException("No bit set");
+		}
+
+		private int nearestFoodDistance(World world, int from) {
+			return world.foodIndex().findNearest(from, 1, false, nearestFood) == 1 ? world.pathDistance(from, nearestFood[0])
+					: 0;
+		}
+	}
+}
@@ -31,6 +31,7 @@ import org.apache.logging.log4j.Logger;
 
 import de.amr.games.pacman.controller.common.Steering;
 import de.amr.games.pacman.model.common.GameLevel;
+import de.amr.games.pacman.model.common.GameLevelSnapshot;
 import de.amr.games.pacman.model.common.actors.Creature;
 
 /**
@@ -79,6 +80,18 @@ public class RouteBasedSteering implements Steering {
 		}
 	}
 
+	public void saveState(GameLevelSnapshot snapshot) {
+		snapshot.putRef(route);
+		snapshot.putInt(targetIndex);
+		snapshot.putBoolean(complete);
+	}
+
+	public void restoreState(GameLevelSnapshot snapshot) {
+		route = snapshot.getRef();
+		targetIndex = snapshot.getInt();
+		complete = snapshot.getBoolean();
+	}
+
 	public boolean isComplete() {
 		return complete;
 	}
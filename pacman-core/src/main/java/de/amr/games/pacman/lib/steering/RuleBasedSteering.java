@@ -49,6 +49,9 @@ public class RuleBasedSteering implements Steering {
 
 	private static final Logger LOG = LogManager.getFormatterLogger();
 
+	/** Maximum number of equally near food tiles considered. */
+	private static final int MAX_NEAREST_FOOD_TILES = 4;
+
 	private static class CollectedData {
 
 		static final int MAX_GHOST_AHEAD_DETECTION_DIST = 4; // tiles
@@ -88,6 +91,8 @@ public class RuleBasedSteering implements Steering {
 		}
 	}
 
+	private final int[] nearestFood = new int[MAX_NEAREST_FOOD_TILES];
+
 	@Override
 	public void init() {
 		// nothing to do
@@ -157,7 +162,9 @@ public class RuleBasedSteering implements Steering {
 			pac.setTargetTile(World.tileAt(level.bonus().entity().position()));
 		} else {
 			Vector2i foodTile = findTileFarestFromGhosts(level, findNearestFoodTiles(level));
-			pac.setTargetTile(foodTile);
+			if (foodTile != null) {
+				pac.setTargetTile(foodTile);
+			}
 		}
 		pac.navigateTowardsTarget(level);
 	}
@@ -176,7 +183,8 @@ public class RuleBasedSteering implements Steering {
 			}
 			Vector2i aheadLeft = ahead.plus(pac.moveDir().succAntiClockwise().vector());
 			Vector2i aheadRight = ahead.plus(pac.moveDir().succClockwise().vector());
-			for (Ghost ghost : level.ghosts(GhostState.HUNTING_PAC).toArray(Ghost[]::new)) {
+			for (int ids = level.ghostStates().ghostIDs(GhostState.HUNTING_PAC); ids != 0; ids &= ids - 1) {
+				var ghost = level.ghost((byte) Integer.numberOfTrailingZeros(ids));
 				if (ghost.tile().equals(ahead) || ghost.tile().equals(aheadLeft) || ghost.tile().equals(aheadRight)) {
 					if (energizerFound) {
 						LOG.trace("Ignore hunting ghost ahead, energizer comes first!");
@@ -197,8 +205,9 @@ public class RuleBasedSteering implements Steering {
 			if (!pac.canAccessTile(behind, level)) {
 				break;
 			}
-			for (Ghost ghost : level.ghosts().toArray(Ghost[]::new)) {
-				if (ghost.is(GhostState.HUNTING_PAC) && ghost.tile().equals(behind)) {
+			for (int ids = level.ghostStates().ghostIDs(GhostState.HUNTING_PAC); ids != 0; ids &= ids - 1) {
+				var ghost = level.ghost((byte) Integer.numberOfTrailingZeros(ids));
+				if (ghost.tile().equals(behind)) {
 					return ghost;
 				}
 			}
@@ -208,57 +217,51 @@ public class RuleBasedSteering implements Steering {
 
 	private Direction findEscapeDirectionExcluding(GameLevel level, Collection<Direction> forbidden) {
 		var pac = level.pac();
-		Vector2i pacManTile = pac.tile();
+		var world = level.world();
+		int pacManTileIndex = pac.tileIndex(world);
 		List<Direction> escapes = new ArrayList<>(4);
-		for (Direction dir : Direction.shuffled()) {
+		for (Direction dir : Direction.shuffled(level.game().steeringRnd())) {
 			if (forbidden.contains(dir)) {
 				continue;
 			}
-			Vector2i neighbor = pacManTile.plus(dir.vector());
-			if (pac.canAccessTile(neighbor, level)) {
+			if (pac.canAccessNeighbor(pacManTileIndex, dir, level)) {
 				escapes.add(dir);
 			}
 		}
-		for (Direction escape : escapes) {
-			Vector2i escapeTile = pacManTile.plus(escape.vector());
-			if (level.world().isTunnel(escapeTile)) {
-				return escape;
+		if (pacManTileIndex != World.NO_TILE) {
+			for (Direction escape : escapes) {
+				int escapeTileIndex = world.neighborIndex(pacManTileIndex, escape);
+				if (escapeTileIndex != World.NO_TILE && world.isTunnel(escapeTileIndex)) {
+					return escape;
+				}
 			}
 		}
 		return escapes.isEmpty() ? null : escapes.get(0);
 	}
 
+	/**
+	 * @return the food tiles with the minimal maze distance from Pac-Man, empty if Pac-Man is outside of the world
+	 */
 	private List<Vector2i> findNearestFoodTiles(GameLevel level) {
-		long time = System.nanoTime();
 		var pac = level.pac();
-		List<Vector2i> foodTiles = new ArrayList<>();
-		Vector2i pacManTile = pac.tile();
-		float minDist = Float.MAX_VALUE;
-		for (int x = 0; x < level.world().numCols(); ++x) {
-			for (int y = 0; y < level.world().numRows(); ++y) {
-				Vector2i tile = new Vector2i(x, y);
-				if (!level.world().isFoodTile(tile) || level.world().containsEatenFood(tile)) {
-					continue;
-				}
-				if (level.world().isEnergizerTile(tile) && pac.powerTimer().remaining() > 2 * 60
-						&& level.world().uneatenFoodCount() > 1) {
-					continue;
-				}
-				float dist = pacManTile.manhattanDistance(tile);
-				if (dist < minDist) {
-					minDist = dist;
-					foodTiles.clear();
-					foodTiles.add(tile);
-				} else if (dist == minDist) {
-					foodTiles.add(tile);
-				}
-			}
+		var world = level.world();
+		int pacManTileIndex = pac.tileIndex(world);
+		if (pacManTileIndex == World.NO_TILE) {
+			return List.of();
+		}
+		boolean skipEnergizers = pac.powerTimer().remaining() > 2 * 60 && world.uneatenFoodCount() > 1;
+		int count = world.foodIndex().findNearest(pacManTileIndex, nearestFood.length, skipEnergizers, nearestFood);
+		List<Vector2i> foodTiles = new ArrayList<>(count);
+		int minDist = count > 0 ? world.pathDistance(pacManTileIndex, nearestFood[0]) : 0;
+		for (int i = 0; i < count && world.pathDistance(pacManTileIndex, nearestFood[i]) == minDist; ++i) {
+			foodTiles.add(world.tile(nearestFood[i]));
 		}
-		time = System.nanoTime() - time;
-		LOG.trace("Nearest food tiles from Pac-Man location %s: (time %.2f millis)", pacManTile, time / 1_000_000f);
-		for (Vector2i t : foodTiles) {
-			LOG.trace("\t%s (%.2g tiles away from Pac-Man, %.2g tiles away from ghosts)", t, t.manhattanDistance(pacManTile),
-					minDistanceFromGhosts(level));
+		if (LOG.isTraceEnabled()) {
+			LOG.trace("Nearest food tiles from Pac-Man location %s:", pac.tile());
+			for (Vector2i t : foodTiles) {
+				LOG.trace("\t%s (%d tiles away from Pac-Man, %.2g tiles away from ghosts)", t, minDist,
+						minDistanceFromGhosts(level, t));
+			}
 		}
 		return foodTiles;
 	}
@@ -267,7 +270,7 @@ public class RuleBasedSteering implements Steering {
 		Vector2i farestTile = null;
 		float maxDist = -1;
 		for (Vector2i tile : tiles) {
-			float dist = minDistanceFromGhosts(level);
+			float dist = minDistanceFromGhosts(level, tile);
 			if (dist > maxDist) {
 				maxDist = dist;
 				farestTile = tile;
@@ -276,8 +279,11 @@ public class RuleBasedSteering implements Steering {
 		return farestTile;
 	}
 
-	private float minDistanceFromGhosts(GameLevel level) {
-		var pac = level.pac();
-		return (float) level.ghosts().map(Ghost::tile).mapToDouble(pac.tile()::manhattanDistance).min().getAsDouble();
+	private float minDistanceFromGhosts(GameLevel level, Vector2i tile) {
+		float minDist = Float.MAX_VALUE;
+		for (byte id = 0; id < 4; ++id) {
+			minDist = Math.min(minDist, tile.manhattanDistance(level.ghost(id).tile()));
+		}
+		return minDist;
 	}
 }
\ No newline at end of file
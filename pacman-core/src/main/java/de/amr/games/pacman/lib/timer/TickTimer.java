@@ -23,6 +23,7 @@ SOFTWARE.
  */
 package de.amr.games.pacman.lib.timer;
 
+import static de.amr.games.pacman.lib.Diagnostics.TRACE;
 import static de.amr.games.pacman.lib.timer.TickTimer.State.EXPIRED;
 import static de.amr.games.pacman.lib.timer.TickTimer.State.READY;
 import static de.amr.games.pacman.lib.timer.TickTimer.State.RUNNING;
@@ -87,8 +88,9 @@ public class TickTimer {
 		}
 	}
 
-	private void fireEvent(TickTimerEvent e) {
-		if (subscribers != null) {
+	private void fireEvent(TickTimerEvent.Type type, long ticks) {
+		if (subscribers != null && !subscribers.isEmpty()) {
+			var e = new TickTimerEvent(type, ticks);
 			subscribers.forEach(subscriber -> subscriber.accept(e));
 		}
 	}
@@ -115,8 +117,10 @@ public class TickTimer {
 		duration = ticks;
 		tick = 0;
 		state = READY;
-		LOG.trace("%s reset", this);
-		fireEvent(new TickTimerEvent(Type.RESET, ticks));
+		if (TRACE) {
+			LOG.trace("%s reset", this);
+		}
+		fireEvent(Type.RESET, ticks);
 	}
 
 	/**
@@ -142,15 +146,21 @@ public class TickTimer {
 	public void start() {
 		switch (state) {
 		case RUNNING -> {
-			LOG.trace("Timer %s not started, already running", this);
+			if (TRACE) {
+				LOG.trace("Timer %s not started, already running", this);
+			}
 		}
 		case EXPIRED -> {
-			LOG.trace("Timer %s not started, has expired", this);
+			if (TRACE) {
+				LOG.trace("Timer %s not started, has expired", this);
+			}
 		}
 		default -> {
 			state = RUNNING;
-			LOG.trace("%s started", this);
-			fireEvent(new TickTimerEvent(Type.STARTED));
+			if (TRACE) {
+				LOG.trace("%s started", this);
+			}
+			fireEvent(Type.STARTED, 0);
 		}
 		}
 	}
@@ -180,17 +190,25 @@ public class TickTimer {
 		switch (state) {
 		case RUNNING -> {
 			state = STOPPED;
-			LOG.trace("%s stopped", this);
-			fireEvent(new TickTimerEvent(Type.STOPPED));
+			if (TRACE) {
+				LOG.trace("%s stopped", this);
+			}
+			fireEvent(Type.STOPPED, 0);
 		}
 		case STOPPED -> {
-			LOG.trace("%s already stopped", this);
+			if (TRACE) {
+				LOG.trace("%s already stopped", this);
+			}
 		}
 		case READY -> {
-			LOG.trace("%s not stopped, was not running", this);
+			if (TRACE) {
+				LOG.trace("%s not stopped, was not running", this);
+			}
 		}
 		case EXPIRED -> {
-			LOG.trace("%s not stopped, has expired", this);
+			if (TRACE) {
+				LOG.trace("%s not stopped, has expired", this);
+			}
 		}
 		default -> throw new IllegalArgumentException("Unexpected value: " + state);
 		}
@@ -215,8 +233,10 @@ public class TickTimer {
 	public void expire() {
 		if (state != EXPIRED) {
 			state = EXPIRED;
-			LOG.trace("%s expired", this);
-			fireEvent(new TickTimerEvent(Type.EXPIRED, tick));
+			if (TRACE) {
+				LOG.trace("%s expired", this);
+			}
+			fireEvent(Type.EXPIRED, tick);
 		}
 	}
 
@@ -255,4 +275,17 @@ public class TickTimer {
 	public long remaining() {
 		return duration == INDEFINITE ? INDEFINITE : duration - tick;
 	}
+
+	/**
+	 * Restores a previously saved timer state. No events are fired.
+	 * 
+	 * @param state    timer state
+	 * @param duration timer duration in ticks
+	 * @param tick     current tick
+	 */
+	public void restoreState(State state, long duration, long tick) {
+		this.state = state;
+		this.duration = duration;
+		this.tick = tick;
+	}
 }
\ No newline at end of file
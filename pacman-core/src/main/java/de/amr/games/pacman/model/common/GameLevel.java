@@ -24,9 +24,7 @@ SOFTWARE.
 
 package de.amr.games.pacman.model.common;
 
-import static de.amr.games.pacman.event.GameEvents.publishGameEvent;
-import static de.amr.games.pacman.event.GameEvents.publishGameEventOfType;
-import static de.amr.games.pacman.event.GameEvents.publishSoundEvent;
+import static de.amr.games.pacman.lib.Diagnostics.TRACE;
 import static de.amr.games.pacman.lib.steering.Direction.LEFT;
 import static de.amr.games.pacman.model.common.actors.Ghost.ID_CYAN_GHOST;
 import static de.amr.games.pacman.model.common.actors.Ghost.ID_ORANGE_GHOST;
@@ -37,9 +35,13 @@ import static de.amr.games.pacman.model.common.actors.GhostState.HUNTING_PAC;
 import static de.amr.games.pacman.model.common.actors.GhostState.LEAVING_HOUSE;
 import static de.amr.games.pacman.model.common.actors.GhostState.LOCKED;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.OptionalInt;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 import org.apache.logging.log4j.LogManager;
@@ -50,12 +52,14 @@ import de.amr.games.pacman.event.GameEventType;
 import de.amr.games.pacman.lib.U;
 import de.amr.games.pacman.lib.anim.Animated;
 import de.amr.games.pacman.lib.math.Vector2i;
+import de.amr.games.pacman.lib.metrics.TickPhase;
 import de.amr.games.pacman.lib.steering.Direction;
 import de.amr.games.pacman.lib.timer.TickTimer;
 import de.amr.games.pacman.model.common.actors.Bonus;
 import de.amr.games.pacman.model.common.actors.Creature;
 import de.amr.games.pacman.model.common.actors.Ghost;
 import de.amr.games.pacman.model.common.actors.GhostState;
+import de.amr.games.pacman.model.common.actors.GhostStateIndex;
 import de.amr.games.pacman.model.common.actors.Pac;
 import de.amr.games.pacman.model.common.world.ArcadeWorld;
 import de.amr.games.pacman.model.common.world.World;
@@ -67,6 +71,9 @@ public class GameLevel {
 
 	private static final Logger LOG = LogManager.getFormatterLogger();
 
+	/** Ghosts in these states reverse their direction when a new hunting phase starts. */
+	private static final int REVERSING_AT_PHASE_CHANGE = GhostState.mask(HUNTING_PAC, LOCKED, LEAVING_HOUSE);
+
 	private static final float percent(byte value) {
 		return value / 100f;
 	}
@@ -121,10 +128,14 @@ public class GameLevel {
 
 	private final Ghost[] ghosts;
 
+	private final GhostStateIndex ghostStates;
+
 	private final Bonus bonus;
 
 	private final int[] huntingDurations;
 
+	private final byte[][] speedSteps;
+
 	private Steering pacSteering;
 
 	private int huntingPhase;
@@ -143,8 +154,10 @@ public class GameLevel {
 		world = game.createWorld(number);
 		pac = game.createPac();
 		ghosts = game.createGhosts();
+		ghostStates = new GhostStateIndex(ghosts);
 		bonus = game.createBonus(number);
 		huntingDurations = game.huntingDurations(number);
+		speedSteps = SpeedTable.patterns(number);
 		defineGhostHouseRules();
 		defineGhostAI();
 
@@ -162,7 +175,9 @@ public class GameLevel {
 		numFlashes = data[10];
 		intermissionNumber = data[11];
 
-		LOG.trace("Game level %d created. (%s)", number, game.variant());
+		if (TRACE) {
+			LOG.trace("Game level %d created. (%s)", number, game.variant());
+		}
 	}
 
 	private void defineGhostAI() {
@@ -193,24 +208,54 @@ public class GameLevel {
 	}
 
 	public void update() {
+		var profiler = game.tickProfiler();
+		profiler.beginTick();
 		memo.forgetEverything(); // ich scholze jetzt
 		world.animation(GameModel.AK_MAZE_ENERGIZER_BLINKING).ifPresent(Animated::animate);
+		profiler.mark();
 		pac.update(this);
+		profiler.lap(TickPhase.PAC_UPDATE);
 		checkIfGhostCanGetUnlocked();
-		ghosts().forEach(ghost -> ghost.update(this));
+		profiler.lap(TickPhase.GHOST_UNLOCK);
+		for (var ghost : ghosts) {
+			ghost.update(this);
+		}
+		profiler.lap(TickPhase.GHOST_UPDATES);
 		boolean newHuntingPhaseStarted = updateHuntingTimer();
 		if (newHuntingPhaseStarted) {
-			ghosts(HUNTING_PAC, LOCKED, LEAVING_HOUSE).forEach(Ghost::reverseAsSoonAsPossible);
+			ghostStates.forEach(REVERSING_AT_PHASE_CHANGE, Ghost::reverseAsSoonAsPossible);
 		}
+		profiler.lap(TickPhase.HUNTING_TIMER);
 		bonus.update(this);
+		profiler.lap(TickPhase.BONUS);
 		checkIfPacFoundFood();
+		profiler.lap(TickPhase.FOOD_CHECK);
 		checkPacPower();
+		profiler.lap(TickPhase.POWER_CHECK);
 		checkIfPacManGetsKilled();
 		findEdibleGhosts();
+		profiler.lap(TickPhase.KILL_CHECK);
+		profiler.endTick();
+	}
+
+	/**
+	 * Lets the Pac-Man steering of this level or, if there is none, the given default steering steer Pac-Man. The
+	 * duration is measured as phase {@link TickPhase#STEERING} of the tick profiler.
+	 * 
+	 * @param defaultSteering steering used if this level has no Pac-Man steering
+	 */
+	public void steerPac(Steering defaultSteering) {
+		var steering = pacSteering != null ? pacSteering : defaultSteering;
+		var profiler = game.tickProfiler();
+		profiler.mark();
+		steering.steer(this, pac);
+		profiler.lap(TickPhase.STEERING);
 	}
 
 	public void exit() {
-		LOG.trace("Exit level %d (%s)", number, game.variant());
+		if (TRACE) {
+			LOG.trace("Exit level %d (%s)", number, game.variant());
+		}
 		pac.rest(Pac.REST_FOREVER);
 		pac.selectAndResetAnimation(GameModel.AK_PAC_MUNCHING);
 		ghosts().forEach(Ghost::hide);
@@ -263,12 +308,30 @@ public class GameLevel {
 	 */
 	public Stream<Ghost> ghosts(GhostState... states) {
 		if (states.length > 0) {
-			return Stream.of(ghosts).filter(ghost -> ghost.is(states));
+			int stateMask = GhostState.mask(states);
+			return Stream.of(ghosts).filter(ghost -> ghost.isInAny(stateMask));
 		}
 		// when no states are given, return *all* ghosts (ghost.is() would return *no* ghosts!)
 		return Stream.of(ghosts);
 	}
 
+	/**
+	 * @return index of the ghosts by state, for queries which do not create any objects
+	 */
+	public GhostStateIndex ghostStates() {
+		return ghostStates;
+	}
+
+	/**
+	 * Executes the action for each ghost in any of the states of the mask, in ghost ID order.
+	 * 
+	 * @param stateMask state mask, see {@link GhostState#mask(GhostState...)}
+	 * @param action    action to execute
+	 */
+	public void forEachGhost(int stateMask, Consumer<Ghost> action) {
+		ghostStates.forEach(stateMask, action);
+	}
+
 	/**
 	 * @return Pac-Man and the ghosts in order RED, PINK, CYAN, ORANGE
 	 */
@@ -305,13 +368,17 @@ public class GameLevel {
 					"Cruise Elroy state must be one of -2, -1, 0, 1, 2, but is " + cruiseElroyState);
 		}
 		this.cruiseElroyState = (byte) cruiseElroyState;
-		LOG.trace("Cruise Elroy state set to %d", cruiseElroyState);
+		if (TRACE) {
+			LOG.trace("Cruise Elroy state set to %d", cruiseElroyState);
+		}
 	}
 
 	private void setCruiseElroyStateEnabled(boolean enabled) {
 		if (enabled && cruiseElroyState < 0 || !enabled && cruiseElroyState > 0) {
 			cruiseElroyState = (byte) (-cruiseElroyState);
-			LOG.trace("Cruise Elroy state set to %d", cruiseElroyState);
+			if (TRACE) {
+				LOG.trace("Cruise Elroy state set to %d", cruiseElroyState);
+			}
 		}
 	}
 
@@ -334,12 +401,149 @@ public class GameLevel {
 		// TODO how to avoid this check?
 		if (world instanceof ArcadeWorld arcadeWorld) {
 			boolean blocked = dir == Direction.UP && ghost.is(HUNTING_PAC)
-					&& arcadeWorld.upwardBlockedTiles().contains(ghost.tile());
+					&& arcadeWorld.isUpwardBlocked(ghost.tile());
 			return !blocked;
 		}
 		return true;
 	}
 
+	/**
+	 * Takes a snapshot of the mutable state of this level: Pac-Man, ghosts, bonus, eaten food, hunting timer and phase,
+	 * ghost house dot counters, "Cruise Elroy" state, memory and the score and lives of the game. Animations and the
+	 * state of the random generator are not part of the snapshot.
+	 * 
+	 * @return new snapshot
+	 */
+	public GameLevelSnapshot snapshot() {
+		var snapshot = new GameLevelSnapshot();
+		snapshot(snapshot);
+		return snapshot;
+	}
+
+	/**
+	 * Takes a snapshot of this level into the given snapshot object, overwriting its previous content.
+	 * 
+	 * @param snapshot snapshot object to be reused
+	 */
+	public void snapshot(GameLevelSnapshot snapshot) {
+		Objects.requireNonNull(snapshot);
+		snapshot.begin(this);
+		pac.saveState(snapshot);
+		for (var ghost : ghosts) {
+			ghost.saveState(snapshot);
+		}
+		bonus.saveState(snapshot);
+		world.saveState(snapshot);
+		snapshot.putTimer(huntingTimer);
+		snapshot.putInt(huntingPhase);
+		snapshot.putInt(numGhostsKilledInLevel);
+		snapshot.putInt(numGhostsKilledByEnergizer);
+		snapshot.putInt(cruiseElroyState);
+		for (int counter : ghostDotCounters) {
+			snapshot.putInt(counter);
+		}
+		snapshot.putInt(globalDotCounter);
+		snapshot.putBoolean(globalDotCounterEnabled);
+		saveMemory(snapshot);
+		snapshot.putRef(game.score);
+		snapshot.putInt(game.score != null ? game.score.points() : 0);
+		snapshot.putInt(game.lives);
+	}
+
+	/**
+	 * Restores the state of this level from a snapshot. The snapshot must have been taken from this level or from a
+	 * level with the same number of another game of the same variant. The latter is used to copy the state of a level
+	 * into a separate game, for example for look-ahead simulations. In that case, the score points are applied to the
+	 * score of this game.
+	 * 
+	 * @param snapshot level snapshot
+	 */
+	public void restore(GameLevelSnapshot snapshot) {
+		Objects.requireNonNull(snapshot);
+		var source = snapshot.level();
+		if (source != this && (source.game.variant() != game.variant() || source.number != number)) {
+			throw new IllegalArgumentException("Snapshot has not been taken from this game level or an equivalent one");
+		}
+		snapshot.rewind();
+		pac.restoreState(snapshot);
+		for (var ghost : ghosts) {
+			ghost.restoreState(snapshot);
+		}
+		bonus.restoreState(snapshot);
+		world.restoreState(snapshot);
+		snapshot.getTimer(huntingTimer);
+		huntingPhase = snapshot.getInt();
+		numGhostsKilledInLevel = snapshot.getInt();
+		numGhostsKilledByEnergizer = snapshot.getInt();
+		cruiseElroyState = (byte) snapshot.getInt();
+		for (int i = 0; i < ghostDotCounters.length; ++i) {
+			ghostDotCounters[i] = snapshot.getInt();
+		}
+		globalDotCounter = snapshot.getInt();
+		globalDotCounterEnabled = snapshot.getBoolean();
+		restoreMemory(snapshot);
+		Score score = snapshot.getRef();
+		if (source != this) {
+			score = game.score;
+		}
+		int points = snapshot.getInt();
+		if (score != null) {
+			score.setPoints(points);
+		}
+		game.score = score;
+		game.lives = snapshot.getInt();
+	}
+
+	private void saveMemory(GameLevelSnapshot snapshot) {
+		snapshot.putBoolean(memo.lastFoodFound);
+		snapshot.putBoolean(memo.energizerFound);
+		snapshot.putBoolean(memo.bonusReached);
+		snapshot.putBoolean(memo.pacKilled);
+		snapshot.putBoolean(memo.pacPowerGained);
+		snapshot.putBoolean(memo.pacPowerLost);
+		snapshot.putBoolean(memo.pacPowerFading);
+		snapshot.putRef(memo.foodFoundTile);
+		snapshot.putInt(memo.edibleGhosts.size());
+		for (var ghost : memo.edibleGhosts) {
+			snapshot.putInt(ghost.id());
+		}
+		snapshot.putInt(memo.unlockedGhost.map(Ghost::id).orElse((byte) -1));
+		snapshot.putRef(memo.unlockReason);
+		snapshot.putInt(memo.killedGhosts.size());
+		for (var ghost : memo.killedGhosts) {
+			snapshot.putInt(ghost.id());
+		}
+	}
+
+	private void restoreMemory(GameLevelSnapshot snapshot) {
+		memo.lastFoodFound = snapshot.getBoolean();
+		memo.energizerFound = snapshot.getBoolean();
+		memo.bonusReached = snapshot.getBoolean();
+		memo.pacKilled = snapshot.getBoolean();
+		memo.pacPowerGained = snapshot.getBoolean();
+		memo.pacPowerLost = snapshot.getBoolean();
+		memo.pacPowerFading = snapshot.getBoolean();
+		memo.foodFoundTile = snapshot.getRef();
+		int numEdible = snapshot.getInt();
+		if (numEdible == 0) {
+			memo.edibleGhosts = Collections.emptyList();
+		} else {
+			var edibleGhosts = new ArrayList<Ghost>(numEdible);
+			for (int i = 0; i < numEdible; ++i) {
+				edibleGhosts.add(ghosts[snapshot.getInt()]);
+			}
+			memo.edibleGhosts = edibleGhosts;
+		}
+		int unlockedGhostID = snapshot.getInt();
+		memo.unlockedGhost = unlockedGhostID == -1 ? Optional.empty() : Optional.of(ghosts[unlockedGhostID]);
+		memo.unlockReason = snapshot.getRef();
+		memo.killedGhosts.clear();
+		int numKilled = snapshot.getInt();
+		for (int i = 0; i < numKilled; ++i) {
+			memo.killedGhosts.add(ghosts[snapshot.getInt()]);
+		}
+	}
+
 	/**
 	 * Hunting happens in different phases. Phases 0, 2, 4, 6 are scattering phases where the ghosts target for their
 	 * respective corners and circle around the walls in their corner, phases 1, 3, 5, 7 are chasing phases where the
@@ -354,12 +558,16 @@ public class GameLevel {
 		this.huntingPhase = phase;
 		huntingTimer.reset(huntingTicks(phase));
 		huntingTimer.start();
-		LOG.info("Hunting phase %d (%s) started. %s", phase, currentHuntingPhaseName(), huntingTimer);
+		if (TRACE) {
+			LOG.trace("Hunting phase %d (%s) started. %s", phase, currentHuntingPhaseName(), huntingTimer);
+		}
 	}
 
 	private void stopHunting() {
 		huntingTimer.stop();
-		LOG.info("Hunting timer stopped");
+		if (TRACE) {
+			LOG.trace("Hunting timer stopped");
+		}
 	}
 
 	private long huntingTicks(int phase) {
@@ -444,6 +652,30 @@ public class GameLevel {
 		}
 	}
 
+	/**
+	 * @param ghost a ghost
+	 * @return speed mode of ghost when hunting, corresponds to {@link #huntingSpeed(Ghost)}
+	 */
+	public SpeedTable.Mode huntingSpeedMode(Ghost ghost) {
+		if (world.isTunnel(ghost.tile())) {
+			return SpeedTable.Mode.GHOST_TUNNEL;
+		} else if (ghost.id() == ID_RED_GHOST && cruiseElroyState == 1) {
+			return SpeedTable.Mode.ELROY1;
+		} else if (ghost.id() == ID_RED_GHOST && cruiseElroyState == 2) {
+			return SpeedTable.Mode.ELROY2;
+		} else {
+			return SpeedTable.Mode.GHOST_NORMAL;
+		}
+	}
+
+	/**
+	 * @param mode speed mode
+	 * @return the speed step pattern of the given mode in this level (must not be modified)
+	 */
+	public byte[] speedSteps(SpeedTable.Mode mode) {
+		return speedSteps[mode.ordinal()];
+	}
+
 	private void checkIfBlinkyBecomesCruiseElroy() {
 		var foodRemaining = world.uneatenFoodCount();
 		if (foodRemaining == elroy1DotsLeft) {
@@ -457,7 +689,9 @@ public class GameLevel {
 		checkIfGhostCanLeaveHouse().ifPresent(unlock -> {
 			memo.unlockedGhost = Optional.of(unlock.ghost());
 			memo.unlockReason = unlock.reason();
-			LOG.trace("%s unlocked: %s", unlock.ghost().name(), unlock.reason());
+			if (TRACE) {
+				LOG.trace("%s unlocked: %s", unlock.ghost().name(), unlock.reason());
+			}
 			if (unlock.ghost().id() == ID_ORANGE_GHOST && cruiseElroyState < 0) {
 				// Blinky's "cruise elroy" state is re-enabled when orange ghost is unlocked
 				setCruiseElroyStateEnabled(true);
@@ -466,7 +700,17 @@ public class GameLevel {
 	}
 
 	private void findEdibleGhosts() {
-		memo.edibleGhosts = ghosts(FRIGHTENED).filter(pac::sameTile).toList();
+		List<Ghost> edibleGhosts = Collections.emptyList();
+		for (int ids = ghostStates.ghostIDs(FRIGHTENED); ids != 0; ids &= ids - 1) {
+			var ghost = ghosts[Integer.numberOfTrailingZeros(ids)];
+			if (pac.sameTile(ghost)) {
+				if (edibleGhosts.isEmpty()) {
+					edibleGhosts = new ArrayList<>(4);
+				}
+				edibleGhosts.add(ghost);
+			}
+		}
+		memo.edibleGhosts = edibleGhosts;
 	}
 
 	/**
@@ -484,8 +728,10 @@ public class GameLevel {
 			numGhostsKilledInLevel += memo.edibleGhosts.size();
 			if (numGhostsKilledInLevel == 16) {
 				game.scorePoints(GameModel.POINTS_ALL_GHOSTS_KILLED);
-				LOG.trace("All ghosts killed at level %d, %s wins %d points", number, pac.name(),
-						GameModel.POINTS_ALL_GHOSTS_KILLED);
+				if (TRACE) {
+					LOG.trace("All ghosts killed at level %d, %s wins %d points", number, pac.name(),
+							GameModel.POINTS_ALL_GHOSTS_KILLED);
+				}
 			}
 		}
 	}
@@ -497,7 +743,9 @@ public class GameLevel {
 		memo.killedGhosts.add(ghost);
 		int points = GameModel.POINTS_GHOSTS_SEQUENCE[ghost.killedIndex()];
 		game.scorePoints(points);
-		LOG.trace("%s killed at tile %s, %s wins %d points", ghost.name(), ghost.tile(), pac.name(), points);
+		if (TRACE) {
+			LOG.trace("%s killed at tile %s, %s wins %d points", ghost.name(), ghost.tile(), pac.name(), points);
+		}
 	}
 
 	// Pac-Man
@@ -510,7 +758,13 @@ public class GameLevel {
 		if (game.isImmune()) {
 			return;
 		}
-		memo.pacKilled = ghosts(HUNTING_PAC).anyMatch(pac::sameTile);
+		memo.pacKilled = false;
+		for (int ids = ghostStates.ghostIDs(HUNTING_PAC); ids != 0; ids &= ids - 1) {
+			if (pac.sameTile(ghosts[Integer.numberOfTrailingZeros(ids)])) {
+				memo.pacKilled = true;
+				break;
+			}
+		}
 	}
 
 	public void onPacKilled() {
@@ -527,22 +781,28 @@ public class GameLevel {
 		if (memo.pacPowerGained) {
 			stopHunting();
 			pac.powerTimer().restartSeconds(pacPowerSeconds);
-			LOG.info("%s power starting, duration %d ticks", pac.name(), pac.powerTimer().duration());
-			ghosts(HUNTING_PAC).forEach(Ghost::enterStateFrightened);
-			ghosts(FRIGHTENED).forEach(Ghost::reverseAsSoonAsPossible);
-			publishGameEventOfType(GameEventType.PAC_GETS_POWER);
-			publishSoundEvent(GameModel.SE_PACMAN_POWER_STARTS);
+			if (TRACE) {
+				LOG.trace("%s power starting, duration %d ticks", pac.name(), pac.powerTimer().duration());
+			}
+			ghostStates.forEach(HUNTING_PAC.bit(), Ghost::enterStateFrightened);
+			ghostStates.forEach(FRIGHTENED.bit(), Ghost::reverseAsSoonAsPossible);
+			game.publishGameEventOfType(GameEventType.PAC_GETS_POWER);
+			game.publishSoundEvent(GameModel.SE_PACMAN_POWER_STARTS);
 		} else if (memo.pacPowerFading) {
-			publishGameEventOfType(GameEventType.PAC_STARTS_LOSING_POWER);
+			game.publishGameEventOfType(GameEventType.PAC_STARTS_LOSING_POWER);
 		} else if (memo.pacPowerLost) {
-			LOG.info("%s power ends, timer: %s", pac.name(), pac.powerTimer());
+			if (TRACE) {
+				LOG.trace("%s power ends, timer: %s", pac.name(), pac.powerTimer());
+			}
 			huntingTimer.start();
-			LOG.info("Hunting timer restarted");
+			if (TRACE) {
+				LOG.trace("Hunting timer restarted");
+			}
 			pac.powerTimer().stop();
 			pac.powerTimer().resetIndefinitely();
-			ghosts(FRIGHTENED).forEach(Ghost::enterStateHuntingPac);
-			publishGameEventOfType(GameEventType.PAC_LOSES_POWER);
-			publishSoundEvent(GameModel.SE_PACMAN_POWER_ENDS);
+			ghostStates.forEach(FRIGHTENED.bit(), Ghost::enterStateHuntingPac);
+			game.publishGameEventOfType(GameEventType.PAC_LOSES_POWER);
+			game.publishSoundEvent(GameModel.SE_PACMAN_POWER_ENDS);
 		}
 	}
 
@@ -554,10 +814,11 @@ public class GameLevel {
 
 	private void checkIfPacFoundFood() {
 		var tile = pac.tile();
-		if (world.containsFood(tile)) {
-			world.removeFood(tile);
+		int index = pac.tileIndex(world);
+		if (index != World.NO_TILE && world.containsFood(index)) {
+			world.removeFood(index);
 			memo.foodFoundTile = Optional.of(tile);
-			memo.energizerFound = world.isEnergizerTile(tile);
+			memo.energizerFound = world.isEnergizerTile(index);
 			memo.lastFoodFound = world.uneatenFoodCount() == 0;
 			memo.pacPowerGained = memo.energizerFound && pacPowerSeconds > 0;
 			memo.bonusReached = game.isFirstBonusReached() || game.isSecondBonusReached();
@@ -572,8 +833,8 @@ public class GameLevel {
 			}
 			checkIfBlinkyBecomesCruiseElroy();
 			updateGhostDotCounters();
-			publishGameEvent(GameEventType.PAC_FINDS_FOOD, tile);
-			publishSoundEvent(GameModel.SE_PACMAN_FOUND_FOOD);
+			game.publishGameEvent(GameEventType.PAC_FINDS_FOOD, tile);
+			game.publishSoundEvent(GameModel.SE_PACMAN_FOUND_FOOD);
 		} else {
 			pac.starve();
 		}
@@ -607,30 +868,44 @@ public class GameLevel {
 	private void resetGlobalDotCounterAndSetEnabled(boolean enabled) {
 		globalDotCounter = 0;
 		globalDotCounterEnabled = enabled;
-		LOG.trace("Global dot counter reset to 0 and %s", enabled ? "enabled" : "disabled");
+		if (TRACE) {
+			LOG.trace("Global dot counter reset to 0 and %s", enabled ? "enabled" : "disabled");
+		}
 	}
 
 	private void updateGhostDotCounters() {
 		if (globalDotCounterEnabled) {
 			if (ghost(ID_ORANGE_GHOST).is(LOCKED) && globalDotCounter == 32) {
-				LOG.trace("%s inside house when counter reached 32", ghost(ID_ORANGE_GHOST).name());
+				if (TRACE) {
+					LOG.trace("%s inside house when counter reached 32", ghost(ID_ORANGE_GHOST).name());
+				}
 				resetGlobalDotCounterAndSetEnabled(false);
 			} else {
 				globalDotCounter++;
-				LOG.trace("Global dot counter = %d", globalDotCounter);
+				if (TRACE) {
+					LOG.trace("Global dot counter = %d", globalDotCounter);
+				}
 			}
 		} else {
-			ghosts(LOCKED).filter(world.ghostHouse()::contains).findFirst().ifPresent(this::increaseGhostDotCounter);
+			for (int ids = ghostStates.ghostIDs(LOCKED); ids != 0; ids &= ids - 1) {
+				var ghost = ghosts[Integer.numberOfTrailingZeros(ids)];
+				if (world.ghostHouse().contains(ghost)) {
+					increaseGhostDotCounter(ghost);
+					break;
+				}
+			}
 		}
 	}
 
 	private void increaseGhostDotCounter(Ghost ghost) {
 		ghostDotCounters[ghost.id()]++;
-		LOG.trace("%s dot counter = %d", ghost.name(), ghostDotCounters[ghost.id()]);
+		if (TRACE) {
+			LOG.trace("%s dot counter = %d", ghost.name(), ghostDotCounters[ghost.id()]);
+		}
 	}
 
 	private Optional<GhostUnlockResult> checkIfGhostCanLeaveHouse() {
-		var ghost = ghosts(LOCKED).findFirst().orElse(null);
+		var ghost = ghostStates.first(LOCKED.bit());
 		if (ghost == null) {
 			return Optional.empty();
 		}
@@ -650,7 +925,9 @@ public class GameLevel {
 		// check Pac-Man starving time
 		if (pac.starvingTicks() >= pacStarvingTicksLimit) {
 			pac.endStarving();
-			LOG.trace("Pac-Man starving timer reset to 0");
+			if (TRACE) {
+				LOG.trace("Pac-Man starving timer reset to 0");
+			}
 			return unlockGhost(ghost, "%s reached starving limit (%d ticks)", pac.name(), pacStarvingTicksLimit);
 		}
 		return Optional.empty();
@@ -0,0 +1,142 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+package de.amr.games.pacman.model.common;
+
+import java.util.Arrays;
+
+import de.amr.games.pacman.lib.timer.TickTimer;
+
+/**
+ * Compact copy of the mutable state of a game level, see {@link GameLevel#snapshot()} and
+ * {@link GameLevel#restore(GameLevelSnapshot)}.
+ * <p>
+ * Primitive values are stored in a single <code>int</code> array in the order in which they are written and must be
+ * read in the same order. References to immutable objects (texts, optionals, routes) are stored in a separate array.
+ * A snapshot can be reused to avoid allocations, taking a new snapshot overwrites the previous content.
+ * 
+ * @author Armin Reichert
+ */
+public class GameLevelSnapshot {
+
+	private static final TickTimer.State[] TIMER_STATES = TickTimer.State.values();
+
+	private GameLevel level;
+	private int[] data = new int[160];
+	private int size;
+	private int readPos;
+	private Object[] refs = new Object[8];
+	private int numRefs;
+	private int refReadPos;
+
+	void begin(GameLevel level) {
+		this.level = level;
+		size = 0;
+		numRefs = 0;
+	}
+
+	void rewind() {
+		readPos = 0;
+		refReadPos = 0;
+	}
+
+	GameLevel level() {
+		return level;
+	}
+
+	/**
+	 * @return number of bytes used for the primitive values
+	 */
+	public int sizeInBytes() {
+		return size * Integer.BYTES;
+	}
+
+	public void putInt(int value) {
+		if (size == data.length) {
+			data = Arrays.copyOf(data, 2 * size);
+		}
+		data[size++] = value;
+	}
+
+	public void putLong(long value) {
+		putInt((int) (value >>> 32));
+		putInt((int) value);
+	}
+
+	public void putFloat(float value) {
+		putInt(Float.floatToRawIntBits(value));
+	}
+
+	public void putBoolean(boolean value) {
+		putInt(value ? 1 : 0);
+	}
+
+	public void putTimer(TickTimer timer) {
+		putInt(timer.state().ordinal());
+		putLong(timer.duration());
+		putLong(timer.tick());
+	}
+
+	public void putRef(Object ref) {
+		if (numRefs == refs.length) {
+			refs = Arrays.copyOf(refs, 2 * numRefs);
+		}
+		refs[numRefs++] = ref;
+	}
+
+	public int getInt() {
+		if (readPos == size) {
+			throw new IllegalStateException("Snapshot has no more data");
+		}
+		return data[readPos++];
+	}
+
+	public long getLong() {
+		long high = getInt();
+		long low = getInt() & 0xFFFF_FFFFL;
+		return (high << 32) | low;
+	}
+
+	public float getFloat() {
+		return Float.intBitsToFloat(getInt());
+	}
+
+	public boolean getBoolean() {
+		return getInt() != 0;
+	}
+
+	public void getTimer(TickTimer timer) {
+		var state = TIMER_STATES[getInt()];
+		long duration = getLong();
+		long tick = getLong();
+		timer.restoreState(state, duration, tick);
+	}
+
+	@SuppressWarnings("unchecked")
+	public <T> T getRef() {
+		if (refReadPos == numRefs) {
+			throw new IllegalStateException("Snapshot has no more references");
+		}
+		return (T) refs[refReadPos++];
+	}
+}
@@ -34,13 +34,15 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Properties;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import de.amr.games.pacman.event.GameEventType;
 import de.amr.games.pacman.event.GameEvents;
 import de.amr.games.pacman.lib.math.Vector2i;
+import de.amr.games.pacman.lib.metrics.TickProfiler;
 import de.amr.games.pacman.lib.steering.Direction;
 import de.amr.games.pacman.model.common.actors.Bonus;
 import de.amr.games.pacman.model.common.actors.Ghost;
@@ -55,7 +57,6 @@ import de.amr.games.pacman.model.common.world.World;
 public abstract class GameModel {
 
 	protected static final Logger LOG = LogManager.getFormatterLogger();
-	protected static final Random RND = new Random();
 
 	/** Game loop speed in ticks/sec. */
 	public static final short FPS = 60;
@@ -186,6 +187,10 @@ public abstract class GameModel {
 		Objects.requireNonNull(dir, MSG_DIR_NULL);
 	}
 
+	protected GameEvents events = new GameEvents();
+	protected SplittableRandom rnd = new SplittableRandom();
+	protected SplittableRandom steeringRnd = new SplittableRandom();
+	protected TickProfiler tickProfiler = TickProfiler.OFF;
 	protected GameLevel level;
 	protected final List<Byte> levelCounter = new LinkedList<>();
 	protected Score score;
@@ -195,6 +200,7 @@ public abstract class GameModel {
 	protected boolean playing;
 	protected boolean scoringEnabled;
 	protected boolean immune; // extra feature
+	protected boolean stepMovement;
 	protected boolean oneLessLifeDisplayed; // TODO get rid of this
 	public int intermissionTestNumber; // intermission test mode
 
@@ -214,6 +220,78 @@ public abstract class GameModel {
 		LOG.trace("Game model (%s) initialized", variant());
 	}
 
+	/**
+	 * @return the event bus used by this game
+	 */
+	public GameEvents events() {
+		return events;
+	}
+
+	/**
+	 * Sets the event bus used by this game. Normally this is the event bus owned by the game controller.
+	 * 
+	 * @param events event bus
+	 */
+	public void setEvents(GameEvents events) {
+		this.events = Objects.requireNonNull(events);
+	}
+
+	/**
+	 * @return the random generator of this game. All random decisions of the game (bonus, ghost movement) use this
+	 *         generator, so a game is reproducible from its seed. Not thread-safe: a game is updated by a single thread
+	 *         only.
+	 */
+	public SplittableRandom rnd() {
+		return rnd;
+	}
+
+	/**
+	 * @return the random generator used by Pac-Man steerings (autopilot). It is separate from {@link #rnd()} such that
+	 *         the random decisions of the game do not depend on the steering being used. This makes it possible to
+	 *         replay a game from its seed and the recorded Pac-Man directions only.
+	 */
+	public SplittableRandom steeringRnd() {
+		return steeringRnd;
+	}
+
+	/**
+	 * Re-seeds the random generators of this game.
+	 * 
+	 * @param seed random seed
+	 */
+	public void setSeed(long seed) {
+		rnd = new SplittableRandom(seed);
+		steeringRnd = new SplittableRandom(seed).split();
+	}
+
+	/**
+	 * @return the profiler measuring the phases of the level updates, {@link TickProfiler#OFF} if profiling is off
+	 */
+	public TickProfiler tickProfiler() {
+		return tickProfiler;
+	}
+
+	/**
+	 * Sets the profiler measuring the phases of the level updates.
+	 * 
+	 * @param tickProfiler profiler, use {@link TickProfiler#OFF} to switch profiling off
+	 */
+	public void setTickProfiler(TickProfiler tickProfiler) {
+		this.tickProfiler = Objects.requireNonNull(tickProfiler);
+	}
+
+	public void publishGameEvent(GameEventType type, Vector2i tile) {
+		events.publishGameEvent(this, type, tile);
+	}
+
+	public void publishGameEventOfType(GameEventType type) {
+		events.publishGameEventOfType(this, type);
+	}
+
+	public void publishSoundEvent(String soundCommand) {
+		events.publishSoundEvent(this, soundCommand);
+	}
+
 	/**
 	 * @return the game variant realized by this model
 	 */
@@ -335,6 +413,22 @@ public abstract class GameModel {
 		this.immune = immune;
 	}
 
+	/**
+	 * @return tells if Pac-Man and the ghosts move using the speed step patterns of the Arcade game (integer pixel moves)
+	 *         instead of fractional pixel speeds
+	 * @see SpeedTable
+	 */
+	public boolean isStepMovement() {
+		return stepMovement;
+	}
+
+	/**
+	 * @param stepMovement if Pac-Man and the ghosts move using the speed step patterns of the Arcade game
+	 */
+	public void setStepMovement(boolean stepMovement) {
+		this.stepMovement = stepMovement;
+	}
+
 	public int lives() {
 		return lives;
 	}
@@ -390,14 +484,14 @@ public abstract class GameModel {
 		final int oldScore = score.points();
 		final int newScore = oldScore + points;
 		score.setPoints(newScore);
-		if (newScore > highScore.points()) {
+		if (highScore != null && newScore > highScore.points()) {
 			highScore.setPoints(newScore);
 			highScore.setLevelNumber(level.number());
 			highScore.setDate(LocalDate.now());
 		}
 		if (oldScore < SCORE_EXTRA_LIFE && newScore >= SCORE_EXTRA_LIFE) {
 			lives += 1;
-			GameEvents.publishSoundEvent(SE_EXTRA_LIFE);
+			publishSoundEvent(SE_EXTRA_LIFE);
 		}
 	}
 
@@ -0,0 +1,156 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+package de.amr.games.pacman.model.common;
+
+/**
+ * Speed step patterns of the Arcade game (see <code>doc/speed.txt</code>, table by Jamey Pittman).
+ * <p>
+ * The speed of an actor is given by a pattern of 16 values, each value is the number of pixels the actor moves in one
+ * frame. The pattern is repeated cyclically. This way, fractional speeds are realized with integer pixel moves, e.g.
+ * "0111111111111111" gives 15/16 pixels per frame on average. The average speeds of the patterns match the relative
+ * speeds of the level data times {@link GameModel#SPEED_100_PERCENT_PX}.
+ * 
+ * @author Armin Reichert
+ */
+public final class SpeedTable {
+
+	/** The actor modes with different speeds. */
+	public enum Mode {
+		PAC_NORMAL, GHOST_NORMAL, PAC_FRIGHTENED, GHOST_FRIGHTENED, GHOST_TUNNEL, ELROY1, ELROY2, //
+		GHOST_INSIDE_HOUSE, GHOST_RETURNING_TO_HOUSE, GHOST_ENTERING_HOUSE;
+	}
+
+	/** Number of frames in a speed step pattern. */
+	public static final int NUM_FRAMES = 16;
+
+	//@formatter:off
+	private static final String[][] ARCADE_PATTERNS = {
+		// LEVEL 1
+		{
+			"1111111111111111", // pac-man (normal)
+			"0111111111111111", // ghosts (normal)
+			"1111211111112111", // pac-man (fright)
+			"0110110101101101", // ghosts (fright)
+			"0101010101010101", // ghosts (tunnel)
+			"1111111111111111", // elroy 1
+			"1111111121111111", // elroy 2
+		},
+		// LEVELS 2-4
+		{
+			"1111211111112111", // pac-man (normal)
+			"1111111121111111", // ghosts (normal)
+			"1111211112111121", // pac-man (fright)
+			"0110110110110111", // ghosts (fright)
+			"0110101011010101", // ghosts (tunnel)
+			"1111211111112111", // elroy 1
+			"1111211112111121", // elroy 2
+		},
+		// LEVELS 5-20
+		{
+			"1121112111211121", // pac-man (normal)
+			"1111211112111121", // ghosts (normal)
+			"1121112111211121", // pac-man (fright) (N/A for levels 17, 19 & 20)
+			"0111011101110111", // ghosts (fright)  (N/A for levels 17, 19 & 20)
+			"0110110101101101", // ghosts (tunnel)
+			"1121112111211121", // elroy 1
+			"1121121121121121", // elroy 2
+		},
+		// LEVELS 21+
+		{
+			"1111211111112111", // pac-man (normal)
+			"1111211112111121", // ghosts (normal)
+			"0000000000000000", // pac-man (fright) N/A
+			"0000000000000000", // ghosts (fright)  N/A
+			"0110110101101101", // ghosts (tunnel)
+			"1121112111211121", // elroy 1
+			"1121121121121121", // elroy 2
+		},
+	};
+
+	// Not in the Arcade table, these match the pixel speeds used by the game model
+	private static final String GHOST_INSIDE_HOUSE       = "0101010101010101"; // 0.5
+	private static final String GHOST_RETURNING_TO_HOUSE = "2222222222222222"; // 2.0
+	private static final String GHOST_ENTERING_HOUSE     = "1121112111211121"; // 1.25
+	//@formatter:on
+
+	private static byte[] parse(String pattern) {
+		var steps = new byte[NUM_FRAMES];
+		for (int i = 0; i < NUM_FRAMES; ++i) {
+			steps[i] = (byte) (pattern.charAt(i) - '0');
+		}
+		return steps;
+	}
+
+	private static int levelGroup(int levelNumber) {
+		if (levelNumber == 1) {
+			return 0;
+		}
+		if (levelNumber <= 4) {
+			return 1;
+		}
+		if (levelNumber <= 20) {
+			return 2;
+		}
+		return 3;
+	}
+
+	/**
+	 * @param levelNumber level number (starting with 1)
+	 * @return new array with the speed step patterns for the given level, indexed by {@link Mode#ordinal()}. Modes not
+	 *         applicable in a level ("N/A" in the Arcade table) get the pattern of the corresponding normal mode.
+	 */
+	public static byte[][] patterns(int levelNumber) {
+		GameModel.checkLevelNumber(levelNumber);
+		var source = ARCADE_PATTERNS[levelGroup(levelNumber)];
+		var patterns = new byte[Mode.values().length][];
+		for (int i = 0; i < source.length; ++i) {
+			patterns[i] = parse(source[i]);
+		}
+		if (average(patterns[Mode.PAC_FRIGHTENED.ordinal()]) == 0) {
+			patterns[Mode.PAC_FRIGHTENED.ordinal()] = patterns[Mode.PAC_NORMAL.ordinal()];
+		}
+		if (average(patterns[Mode.GHOST_FRIGHTENED.ordinal()]) == 0) {
+			patterns[Mode.GHOST_FRIGHTENED.ordinal()] = patterns[Mode.GHOST_NORMAL.ordinal()];
+		}
+		patterns[Mode.GHOST_INSIDE_HOUSE.ordinal()] = parse(GHOST_INSIDE_HOUSE);
+		patterns[Mode.GHOST_RETURNING_TO_HOUSE.ordinal()] = parse(GHOST_RETURNING_TO_HOUSE);
+		patterns[Mode.GHOST_ENTERING_HOUSE.ordinal()] = parse(GHOST_ENTERING_HOUSE);
+		return patterns;
+	}
+
+	/**
+	 * @param steps speed step pattern
+	 * @return average number of pixels per frame
+	 */
+	public static float average(byte[] steps) {
+		int sum = 0;
+		for (byte step : steps) {
+			sum += step;
+		}
+		return (float) sum / steps.length;
+	}
+
+	private SpeedTable() {
+	}
+}
@@ -25,6 +25,7 @@ SOFTWARE.
 package de.amr.games.pacman.model.common.actors;
 
 import de.amr.games.pacman.model.common.GameLevel;
+import de.amr.games.pacman.model.common.GameLevelSnapshot;
 
 /**
  * @author Armin Reichert
@@ -69,8 +70,10 @@ public interface Bonus {
 
 	/**
 	 * Consume the bonus.
+	 * 
+	 * @param level the game level
 	 */
-	void eat();
+	void eat(GameLevel level);
 
 	/**
 	 * Changes the bonus state to edible.
@@ -79,4 +82,18 @@ public interface Bonus {
 	 * @param ticks  time how long the bonus is edible
 	 */
 	void setEdible(long ticks);
+
+	/**
+	 * Saves the state of this bonus into the given snapshot.
+	 * 
+	 * @param snapshot level snapshot
+	 */
+	void saveState(GameLevelSnapshot snapshot);
+
+	/**
+	 * Restores the state of this bonus from the given snapshot.
+	 * 
+	 * @param snapshot level snapshot
+	 */
+	void restoreState(GameLevelSnapshot snapshot);
 }
\ No newline at end of file
@@ -23,6 +23,7 @@ SOFTWARE.
  */
 package de.amr.games.pacman.model.common.actors;
 
+import static de.amr.games.pacman.lib.Diagnostics.TRACE;
 import static de.amr.games.pacman.lib.steering.Direction.DOWN;
 import static de.amr.games.pacman.lib.steering.Direction.LEFT;
 import static de.amr.games.pacman.lib.steering.Direction.RIGHT;
@@ -36,11 +37,13 @@ import java.util.Optional;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import de.amr.games.pacman.lib.math.Vector2f;
 import de.amr.games.pacman.lib.math.Vector2i;
 import de.amr.games.pacman.lib.steering.Direction;
 import de.amr.games.pacman.model.common.GameLevel;
+import de.amr.games.pacman.model.common.GameLevelSnapshot;
 import de.amr.games.pacman.model.common.GameModel;
+import de.amr.games.pacman.model.common.SpeedTable;
+import de.amr.games.pacman.model.common.world.World;
 
 /**
  * Base class for all creatures which can move through the world.
@@ -63,6 +66,7 @@ public abstract class Creature extends Entity {
 
 	protected boolean gotReverseCommand;
 	protected boolean canTeleport;
+	private int stepFrame; // current frame of speed step pattern
 
 	protected Creature(String name) {
 		this.name = (name != null) ? name : getClass().getSimpleName() + "@%d".formatted(hashCode());
@@ -71,9 +75,9 @@ public abstract class Creature extends Entity {
 	public void reset() {
 		// entity
 		visible = false;
-		position = Vector2f.ZERO;
-		velocity = Vector2f.ZERO;
-		acceleration = Vector2f.ZERO;
+		setPosition(0, 0);
+		setVelocity(0, 0);
+		setAcceleration(0, 0);
 
 		moveDir = RIGHT;
 		wishDir = RIGHT;
@@ -84,6 +88,38 @@ public abstract class Creature extends Entity {
 
 		moveResult.reset();
 		newTileEntered = true;
+		stepFrame = 0;
+	}
+
+	@Override
+	public void saveState(GameLevelSnapshot snapshot) {
+		super.saveState(snapshot);
+		snapshot.putRef(moveDir);
+		snapshot.putRef(wishDir);
+		snapshot.putRef(targetTile);
+		snapshot.putBoolean(newTileEntered);
+		snapshot.putBoolean(gotReverseCommand);
+		snapshot.putBoolean(canTeleport);
+		snapshot.putBoolean(moveResult.moved);
+		snapshot.putBoolean(moveResult.tunnelEntered);
+		snapshot.putBoolean(moveResult.teleported);
+		snapshot.putInt(stepFrame);
+	}
+
+	@Override
+	public void restoreState(GameLevelSnapshot snapshot) {
+		super.restoreState(snapshot);
+		moveDir = snapshot.getRef();
+		wishDir = snapshot.getRef();
+		targetTile = snapshot.getRef();
+		newTileEntered = snapshot.getBoolean();
+		gotReverseCommand = snapshot.getBoolean();
+		canTeleport = snapshot.getBoolean();
+		moveResult.reset();
+		moveResult.moved = snapshot.getBoolean();
+		moveResult.tunnelEntered = snapshot.getBoolean();
+		moveResult.teleported = snapshot.getBoolean();
+		stepFrame = snapshot.getInt();
 	}
 
 	/**
@@ -94,8 +130,8 @@ public abstract class Creature extends Entity {
 
 	@Override
 	public String toString() {
-		return "%s: pos=%s, tile=%s, velocity=%s, speed=%.2f, moveDir=%s, wishDir=%s".formatted(name, position, tile(),
-				velocity, velocity.length(), moveDir(), wishDir());
+		return "%s: pos=%s, tile=%s, velocity=%s, speed=%.2f, moveDir=%s, wishDir=%s".formatted(name, position(), tile(),
+				velocity(), speed(), moveDir(), wishDir());
 	}
 
 	/** Readable name, for display and logging purposes. */
@@ -188,11 +224,45 @@ public abstract class Creature extends Entity {
 		GameModel.checkTileNotNull(tile);
 		GameModel.checkLevelNotNull(level);
 		if (level.world().insideBounds(tile)) {
-			return !level.world().isWall(tile) && !level.world().ghostHouse().door().contains(tile);
+			return !level.world().isWall(tile) && !level.world().isDoor(tile);
 		}
 		return level.world().belongsToPortal(tile);
 	}
 
+	/**
+	 * @param index valid index of a tile inside the world
+	 * @param level the game level (tile access can depend on the game level where the creature exists)
+	 * @return if this creature can access the tile with the given index
+	 */
+	public boolean canAccessTile(int index, GameLevel level) {
+		return !level.world().isWall(index) && !level.world().isDoor(index);
+	}
+
+	/**
+	 * @param tileIndex index of the current tile or {@link World#NO_TILE}
+	 * @param dir       a direction
+	 * @param level     the game level
+	 * @return if this creature can access the neighbor of its current tile in the given direction
+	 */
+	public boolean canAccessNeighbor(int tileIndex, Direction dir, GameLevel level) {
+		if (tileIndex != World.NO_TILE) {
+			int neighbor = level.world().neighborIndex(tileIndex, dir);
+			if (neighbor != World.NO_TILE) {
+				return canAccessTile(neighbor, level);
+			}
+		}
+		return canAccessTile(tile().plus(dir.vector()), level);
+	}
+
+	/**
+	 * @param world the world where this creature lives
+	 * @return index of the current tile or {@link World#NO_TILE} if this creature is outside of the world
+	 */
+	public int tileIndex(World world) {
+		var tile = tile();
+		return world.insideBounds(tile) ? world.index(tile.x(), tile.y()) : World.NO_TILE;
+	}
+
 	/**
 	 * Sets the move direction and updates the velocity vector.
 	 * 
@@ -202,8 +272,11 @@ public abstract class Creature extends Entity {
 		GameModel.checkDirectionNotNull(dir);
 		if (moveDir != dir) {
 			moveDir = dir;
-			LOG.trace("%-8s: New moveDir: %s. %s", name, moveDir, this);
-			velocity = moveDir.vector().toFloatVec().scaled(velocity.length());
+			if (TRACE) {
+				LOG.trace("%-8s: New moveDir: %s. %s", name, moveDir, this);
+			}
+			float speed = speed();
+			setVelocity(moveDir.vector().x() * speed, moveDir.vector().y() * speed);
 		}
 	}
 
@@ -221,7 +294,9 @@ public abstract class Creature extends Entity {
 		GameModel.checkDirectionNotNull(dir);
 		if (wishDir != dir) {
 			wishDir = dir;
-			LOG.trace("%-8s: New wishDir: %s. %s", name, wishDir, this);
+			if (TRACE) {
+				LOG.trace("%-8s: New wishDir: %s. %s", name, wishDir, this);
+			}
 		}
 	}
 
@@ -245,7 +320,9 @@ public abstract class Creature extends Entity {
 	 */
 	public void reverseAsSoonAsPossible() {
 		gotReverseCommand = true;
-		LOG.trace("%s (moveDir=%s, wishDir=%s) got command to reverse direction", name, moveDir, wishDir);
+		if (TRACE) {
+			LOG.trace("%s (moveDir=%s, wishDir=%s) got command to reverse direction", name, moveDir, wishDir);
+		}
 	}
 
 	/**
@@ -269,7 +346,29 @@ public abstract class Creature extends Entity {
 		if (pixelSpeed < 0) {
 			throw new IllegalArgumentException("Negative pixel speed: " + pixelSpeed);
 		}
-		velocity = pixelSpeed == 0 ? Vector2f.ZERO : moveDir.vector().toFloatVec().scaled(pixelSpeed);
+		if (pixelSpeed == 0) {
+			setVelocity(0, 0);
+		} else {
+			setVelocity(moveDir.vector().x() * pixelSpeed, moveDir.vector().y() * pixelSpeed);
+		}
+	}
+
+	/**
+	 * Sets the speed for the current tick. If the game uses step movement, the speed is the number of pixels given by
+	 * the speed step pattern of the mode for the current frame and the frame is advanced, otherwise it is the given pixel
+	 * speed.
+	 * 
+	 * @param level      the game level
+	 * @param mode       speed mode, selects the speed step pattern
+	 * @param pixelSpeed speed in pixels used without step movement
+	 */
+	public void setSpeed(GameLevel level, SpeedTable.Mode mode, float pixelSpeed) {
+		if (level.game().isStepMovement()) {
+			setPixelSpeed(level.speedSteps(mode)[stepFrame]);
+			stepFrame = (stepFrame + 1) % SpeedTable.NUM_FRAMES;
+		} else {
+			setPixelSpeed(pixelSpeed);
+		}
 	}
 
 	/**
@@ -293,15 +392,17 @@ public abstract class Creature extends Entity {
 
 	private Optional<Direction> computeTargetDirection(GameLevel level) {
 		final var currentTile = tile();
+		final int currentIndex = tileIndex(level.world());
 		Direction targetDir = null;
 		float minDistance = Float.MAX_VALUE;
 		for (var dir : DIRECTION_PRIORITY) {
 			if (dir == moveDir.opposite()) {
 				continue; // reversing the move direction is not allowed
 			}
-			final var neighborTile = currentTile.plus(dir.vector());
-			if (canAccessTile(neighborTile, level)) {
-				final var distance = neighborTile.euclideanDistance(targetTile);
+			if (canAccessNeighbor(currentIndex, dir, level)) {
+				final int dx = currentTile.x() + dir.vector().x() - targetTile.x();
+				final int dy = currentTile.y() + dir.vector().y() - targetTile.y();
+				final var distance = (float) Math.hypot(dx, dy);
 				if (distance < minDistance) {
 					minDistance = distance;
 					targetDir = dir;
@@ -323,8 +424,9 @@ public abstract class Creature extends Entity {
 		GameModel.checkLevelNotNull(level);
 		moveResult.reset();
 		if (canTeleport) {
-			for (var portal : level.world().portals()) {
-				portal.teleport(this);
+			var portals = level.world().portals();
+			for (int i = 0; i < portals.size(); ++i) {
+				portals.get(i).teleport(this);
 				if (moveResult.teleported) {
 					logMoveResult();
 					return;
@@ -345,42 +447,57 @@ public abstract class Creature extends Entity {
 	}
 
 	private void logMoveResult() {
-		LOG.trace("%-8s: %s %s %s", name, moveResult, moveResult.messages(), this);
+		if (TRACE && LOG.isTraceEnabled()) {
+			LOG.trace("%-8s: %s %s %s", name, moveResult, moveResult.messages(), this);
+		}
 	}
 
+	/*
+	 * This method is executed multiple times per tick for each creature, so it must not create any objects: all
+	 * computations use primitive values, tile vectors come from the cache and diagnostic messages are only created if
+	 * trace logging is enabled.
+	 */
 	private void tryMoving(Direction dir, GameLevel level) {
 		final var tileBeforeMove = tile();
 		final var aroundCorner = !dir.sameOrientation(moveDir);
-		final var dirVector = dir.vector().toFloatVec();
-		final var newVelocity = dirVector.scaled(velocity.length());
-		final var touchPosition = center().plus(dirVector.scaled(HTS)).plus(newVelocity);
-		final var touchedTile = tileAt(touchPosition);
+		final int dx = dir.vector().x();
+		final int dy = dir.vector().y();
+		final float speed = speed();
+		final float newVelX = dx * speed;
+		final float newVelY = dy * speed;
+		final var touchedTile = tileAt(posX + HTS + dx * HTS + newVelX, posY + HTS + dy * HTS + newVelY);
 
 		if (!canAccessTile(touchedTile, level)) {
 			if (!aroundCorner) {
 				placeAtTile(tile()); // adjust if blocked and moving forward
 			}
-			moveResult.addMessage("Cannot move %s into tile %s".formatted(dir, touchedTile));
+			if (TRACE && LOG.isTraceEnabled()) {
+				moveResult.addMessage("Cannot move %s into tile %s".formatted(dir, touchedTile));
+			}
 			return;
 		}
 
 		if (aroundCorner) {
-			var offset = dir.isHorizontal() ? offset().y() : offset().x();
+			var offset = dir.isHorizontal() ? offsetY() : offsetX();
 			boolean atTurnPosition = Math.abs(offset) <= 1; // TODO <= pixelspeed?
 			if (atTurnPosition) {
 				placeAtTile(tile()); // adjust if moving around corner
 			} else {
-				moveResult.addMessage("Wants to take corner towards %s but not at turn position".formatted(dir));
+				if (TRACE && LOG.isTraceEnabled()) {
+					moveResult.addMessage("Wants to take corner towards %s but not at turn position".formatted(dir));
+				}
 				return;
 			}
 		}
 
-		setVelocity(newVelocity);
+		setVelocity(newVelX, newVelY);
 		move();
 
 		newTileEntered = !tileBeforeMove.equals(tile());
 		moveResult.moved = true;
 		moveResult.tunnelEntered = !level.world().isTunnel(tileBeforeMove) && level.world().isTunnel(tile());
-		moveResult.addMessage("%5s (%.2f pixels)".formatted(dir, newVelocity.length()));
+		if (TRACE && LOG.isTraceEnabled()) {
+			moveResult.addMessage("%5s (%.2f pixels)".formatted(dir, speed));
+		}
 	}
 }
\ No newline at end of file
@@ -24,31 +24,68 @@ SOFTWARE.
 package de.amr.games.pacman.model.common.actors;
 
 import static de.amr.games.pacman.model.common.world.World.HTS;
-import static de.amr.games.pacman.model.common.world.World.originOfTile;
+import static de.amr.games.pacman.model.common.world.World.TS;
 import static de.amr.games.pacman.model.common.world.World.tileAt;
 
 import java.util.Objects;
 
 import de.amr.games.pacman.lib.math.Vector2f;
 import de.amr.games.pacman.lib.math.Vector2i;
+import de.amr.games.pacman.model.common.GameLevelSnapshot;
 
 /**
  * Base class for all "entities" used inside the game, e.g. creatures and bonus entities.
+ * <p>
+ * Position, velocity and acceleration are stored as primitive fields and the current tile is cached, so moving an
+ * entity does not create any objects. The vector accessors create new vector objects on each call and are meant for
+ * code outside of the simulation hot path.
  * 
  * @author Armin Reichert
  */
 public class Entity {
 
 	protected boolean visible;
-	protected Vector2f position;
-	protected Vector2f velocity;
-	protected Vector2f acceleration;
+	protected float posX;
+	protected float posY;
+	protected float velX;
+	protected float velY;
+	protected float accX;
+	protected float accY;
+	private Vector2i tile = tileAt(HTS, HTS);
 
 	public Entity() {
 		visible = false;
-		position = Vector2f.ZERO;
-		velocity = Vector2f.ZERO;
-		acceleration = Vector2f.ZERO;
+	}
+
+	/**
+	 * Saves the state of this entity into the given snapshot.
+	 * 
+	 * @param snapshot level snapshot
+	 */
+	public void saveState(GameLevelSnapshot snapshot) {
+		snapshot.putBoolean(visible);
+		snapshot.putFloat(posX);
+		snapshot.putFloat(posY);
+		snapshot.putFloat(velX);
+		snapshot.putFloat(velY);
+		snapshot.putFloat(accX);
+		snapshot.putFloat(accY);
+	}
+
+	/**
+	 * Restores the state of this entity from the given snapshot.
+	 * 
+	 * @param snapshot level snapshot
+	 */
+	public void restoreState(GameLevelSnapshot snapshot) {
+		visible = snapshot.getBoolean();
+		float x = snapshot.getFloat();
+		float y = snapshot.getFloat();
+		setPosition(x, y);
+		velX = snapshot.getFloat();
+		velY = snapshot.getFloat();
+		accX = snapshot.getFloat();
+		accY = snapshot.getFloat();
 	}
 
 	public boolean isVisible() {
@@ -72,62 +109,105 @@ public class Entity {
 	 *         tile.
 	 */
 	public Vector2f position() {
-		return position;
+		return new Vector2f(posX, posY);
+	}
+
+	/** @return x-coordinate of the entity position */
+	public float posX() {
+		return posX;
+	}
+
+	/** @return y-coordinate of the entity position */
+	public float posY() {
+		return posY;
 	}
 
 	public void setPosition(float x, float y) {
-		position = new Vector2f(x, y);
+		posX = x;
+		posY = y;
+		updateTile();
 	}
 
 	public void setPosition(Vector2f position) {
-		this.position = Objects.requireNonNull(position, "Position of entity must not be null");
+		Objects.requireNonNull(position, "Position of entity must not be null");
+		setPosition(position.x(), position.y());
 	}
 
 	/** @return Center position of entity collision box (position property stores *upper left corner* of box). */
 	public Vector2f center() {
-		return position.plus(HTS, HTS);
+		return new Vector2f(posX + HTS, posY + HTS);
 	}
 
 	public Vector2f velocity() {
-		return velocity;
+		return new Vector2f(velX, velY);
+	}
+
+	/** @return length of the velocity vector */
+	public float speed() {
+		return (float) Math.sqrt((double) velX * velX + (double) velY * velY);
 	}
 
 	public void setVelocity(Vector2f velocity) {
-		this.velocity = Objects.requireNonNull(velocity, "Velocity of entity must not be null");
+		Objects.requireNonNull(velocity, "Velocity of entity must not be null");
+		setVelocity(velocity.x(), velocity.y());
 	}
 
 	public void setVelocity(float vx, float vy) {
-		velocity = new Vector2f(vx, vy);
+		velX = vx;
+		velY = vy;
 	}
 
 	public Vector2f acceleration() {
-		return acceleration;
+		return new Vector2f(accX, accY);
 	}
 
 	public void setAcceleration(Vector2f acceleration) {
-		this.acceleration = Objects.requireNonNull(acceleration, "Acceleration of entity must not be null");
+		Objects.requireNonNull(acceleration, "Acceleration of entity must not be null");
+		setAcceleration(acceleration.x(), acceleration.y());
 	}
 
 	public void setAcceleration(float ax, float ay) {
-		acceleration = new Vector2f(ax, ay);
+		accX = ax;
+		accY = ay;
 	}
 
 	/**
 	 * Moves this entity by its current velocity and increases its velocity by its current acceleration.
 	 */
 	public void move() {
-		position = position.plus(velocity);
-		velocity = velocity.plus(acceleration);
+		posX += velX;
+		posY += velY;
+		velX += accX;
+		velY += accY;
+		updateTile();
 	}
 
 	/** @return Tile containing the center of the entity collision box. */
 	public Vector2i tile() {
-		return tileAt(position.x() + HTS, position.y() + HTS);
+		return tile;
+	}
+
+	private void updateTile() {
+		int tx = (int) ((posX + HTS) / TS);
+		int ty = (int) ((posY + HTS) / TS);
+		if (tx != tile.x() || ty != tile.y()) {
+			tile = tileAt(posX + HTS, posY + HTS);
+		}
 	}
 
 	/** @return Offset inside current tile: (0, 0) if centered, range: [-4, +4) */
 	public Vector2f offset() {
-		return position.minus(originOfTile(tile()));
+		return new Vector2f(offsetX(), offsetY());
+	}
+
+	/** @return x-offset inside current tile, see {@link #offset()} */
+	public float offsetX() {
+		return posX - tile.x() * TS;
+	}
+
+	/** @return y-offset inside current tile, see {@link #offset()} */
+	public float offsetY() {
+		return posY - tile.y() * TS;
 	}
 
 	/**
@@ -136,6 +216,6 @@ public class Entity {
 	 */
 	public boolean sameTile(Entity other) {
 		Objects.requireNonNull(other, "Entity must not be null");
-		return tile().equals(other.tile());
+		return tile.equals(other.tile);
 	}
 }
\ No newline at end of file
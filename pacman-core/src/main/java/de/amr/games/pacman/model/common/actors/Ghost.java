@@ -23,7 +23,7 @@ SOFTWARE.
  */
 package de.amr.games.pacman.model.common.actors;
 
-import static de.amr.games.pacman.event.GameEvents.publishGameEvent;
+import static de.amr.games.pacman.lib.Diagnostics.TRACE;
 import static de.amr.games.pacman.lib.steering.Direction.DOWN;
 import static de.amr.games.pacman.lib.steering.Direction.LEFT;
 import static de.amr.games.pacman.lib.steering.Direction.UP;
@@ -40,7 +40,6 @@ import java.util.Optional;
 import java.util.function.Supplier;
 
 import de.amr.games.pacman.event.GameEventType;
-import de.amr.games.pacman.event.GhostEvent;
 import de.amr.games.pacman.lib.U;
 import de.amr.games.pacman.lib.anim.Animated;
 import de.amr.games.pacman.lib.anim.AnimatedEntity;
@@ -48,7 +47,9 @@ import de.amr.games.pacman.lib.anim.AnimationMap;
 import de.amr.games.pacman.lib.math.Vector2i;
 import de.amr.games.pacman.lib.steering.Direction;
 import de.amr.games.pacman.model.common.GameLevel;
+import de.amr.games.pacman.model.common.GameLevelSnapshot;
 import de.amr.games.pacman.model.common.GameModel;
+import de.amr.games.pacman.model.common.SpeedTable;
 import de.amr.games.pacman.model.common.world.World;
 
 /**
@@ -65,6 +66,7 @@ public class Ghost extends Creature implements AnimatedEntity {
 
 	private final byte id;
 	private GhostState state;
+	private GhostStateIndex stateIndex;
 	private Supplier<Vector2i> fnChasingTarget = () -> null;
 	private AnimationMap animations;
 	private int killedIndex;
@@ -90,6 +92,20 @@ public class Ghost extends Creature implements AnimatedEntity {
 		setKilledIndex(-1);
 	}
 
+	@Override
+	public void saveState(GameLevelSnapshot snapshot) {
+		super.saveState(snapshot);
+		snapshot.putRef(state);
+		snapshot.putInt(killedIndex);
+	}
+
+	@Override
+	public void restoreState(GameLevelSnapshot snapshot) {
+		super.restoreState(snapshot);
+		setState(snapshot.getRef());
+		killedIndex = snapshot.getInt();
+	}
+
 	/**
 	 * Sets the function that provides the target tile of this ghost when chasing Pac-Man.
 	 * 
@@ -120,15 +136,35 @@ public class Ghost extends Creature implements AnimatedEntity {
 		GameModel.checkLevelNotNull(level);
 		var currentTile = tile();
 		if (tile.equals(currentTile.plus(UP.vector())) && !level.isSteeringAllowed(this, UP)) {
-			LOG.trace("%s cannot access tile %s because he cannot move UP at %s", name(), tile, currentTile);
+			if (TRACE) {
+				LOG.trace("%s cannot access tile %s because he cannot move UP at %s", name(), tile, currentTile);
+			}
 			return false;
 		}
-		if (level.world().ghostHouse().door().contains(tile)) {
+		if (level.world().isDoor(tile)) {
 			return is(ENTERING_HOUSE, LEAVING_HOUSE);
 		}
 		return super.canAccessTile(tile, level);
 	}
 
+	@Override
+	public boolean canAccessTile(int index, GameLevel level) {
+		GameModel.checkLevelNotNull(level);
+		var world = level.world();
+		int currentIndex = tileIndex(world);
+		if (currentIndex != World.NO_TILE && index == world.neighborIndex(currentIndex, UP)
+				&& !level.isSteeringAllowed(this, UP)) {
+			if (TRACE) {
+				LOG.trace("%s cannot access tile %s because he cannot move UP at %s", name(), world.tile(index), tile());
+			}
+			return false;
+		}
+		if (world.isDoor(index)) {
+			return is(ENTERING_HOUSE, LEAVING_HOUSE);
+		}
+		return super.canAccessTile(index, level);
+	}
+
 	@Override
 	public boolean canReverse(GameLevel level) {
 		return isNewTileEntered() && is(HUNTING_PAC, FRIGHTENED);
@@ -170,11 +206,27 @@ public class Ghost extends Creature implements AnimatedEntity {
 
 	private void moveRandomly(GameLevel level) {
 		if (isNewTileEntered() || !moveResult.moved) {
-			Direction.shuffled().stream() //
-					.filter(dir -> dir != moveDir().opposite()) //
-					.filter(dir -> canAccessTile(tile().plus(dir.vector()), level)) //
-					.findAny() //
-					.ifPresent(this::setWishDir);
+			// choose uniformly among the accessible directions (except reversing) without allocating a shuffled list
+			int candidates = 0;
+			int numCandidates = 0;
+			int tileIndex = tileIndex(level.world());
+			var forbidden = moveDir().opposite();
+			for (int i = 0; i < 4; ++i) {
+				var dir = Direction.byOrdinal(i);
+				if (dir != forbidden && canAccessNeighbor(tileIndex, dir, level)) {
+					candidates |= 1 << i;
+					++numCandidates;
+				}
+			}
+			if (numCandidates > 0) {
+				int k = level.game().rnd().nextInt(numCandidates);
+				for (int i = 0; i < 4; ++i) {
+					if ((candidates & (1 << i)) != 0 && k-- == 0) {
+						setWishDir(Direction.byOrdinal(i));
+						break;
+					}
+				}
+			}
 		}
 		tryMoving(level);
 	}
@@ -200,7 +252,7 @@ public class Ghost extends Creature implements AnimatedEntity {
 	@Override
 	public String toString() {
 		return "['%-6s' %s tile=%s pos=%s offset=%s velocity=%s dir=%s wishDir=%s reverse command=%s]".formatted(name(),
-				state, tile(), position, offset(), velocity, moveDir(), wishDir(), gotReverseCommand);
+				state, tile(), position(), offset(), velocity(), moveDir(), wishDir(), gotReverseCommand);
 	}
 
 	// Here begins the state machine part
@@ -210,13 +262,63 @@ public class Ghost extends Creature implements AnimatedEntity {
 		return state;
 	}
 
+	private void setState(GhostState newState) {
+		var oldState = state;
+		state = newState;
+		if (stateIndex != null && oldState != newState) {
+			stateIndex.onStateChange(this, oldState, newState);
+		}
+	}
+
+	void setStateIndex(GhostStateIndex stateIndex) {
+		this.stateIndex = stateIndex;
+	}
+
+	/**
+	 * @param stateMask state mask, see {@link GhostState#mask(GhostState...)}
+	 * @return <code>true</code> if this ghost is in any of the states of the given mask
+	 */
+	public boolean isInAny(int stateMask) {
+		return state != null && (stateMask & state.bit()) != 0;
+	}
+
+	/**
+	 * @param s a ghost state
+	 * @return <code>true</code> if this ghost is in the given state
+	 */
+	public boolean is(GhostState s) {
+		return state == s;
+	}
+
+	/**
+	 * @return <code>true</code> if this ghost is in any of the given states
+	 */
+	public boolean is(GhostState s1, GhostState s2) {
+		return state == s1 || state == s2;
+	}
+
+	/**
+	 * @return <code>true</code> if this ghost is in any of the given states
+	 */
+	public boolean is(GhostState s1, GhostState s2, GhostState s3) {
+		return state == s1 || state == s2 || state == s3;
+	}
+
 	/**
+	 * Checks for any number of states. This creates an array for the states on each call, in frequently executed code
+	 * use {@link #isInAny(int)} with a precomputed state mask instead.
+	 * 
 	 * @param alternatives ghost states to be checked
 	 * @return <code>true</code> if this ghost is in any of the given states. If no alternatives are given, returns
 	 *         <code>false</code>
 	 */
 	public boolean is(GhostState... alternatives) {
-		return U.oneOf(state, alternatives);
+		for (var alternative : alternatives) {
+			if (state == alternative) {
+				return true;
+			}
+		}
+		return false;
 	}
 
 	/**
@@ -246,7 +348,7 @@ public class Ghost extends Creature implements AnimatedEntity {
 	 * power. After that, they return to their normal color.
 	 */
 	public void enterStateLocked() {
-		state = LOCKED;
+		setState(LOCKED);
 		setPixelSpeed(0);
 		selectAndResetAnimation(GameModel.AK_GHOST_COLOR);
 	}
@@ -254,12 +356,12 @@ public class Ghost extends Creature implements AnimatedEntity {
 	private void updateStateLocked(GameLevel level) {
 		var initialPosition = level.world().ghostInitialPosition(id);
 		if (level.world().ghostHouse().contains(this)) {
-			if (position.y() <= initialPosition.y() - World.HTS) {
+			if (posY <= initialPosition.y() - World.HTS) {
 				setMoveAndWishDir(DOWN);
-			} else if (position.y() >= initialPosition.y() + World.HTS) {
+			} else if (posY >= initialPosition.y() + World.HTS) {
 				setMoveAndWishDir(UP);
 			}
-			setPixelSpeed(GameModel.SPEED_GHOST_INSIDE_HOUSE_PX);
+			setSpeed(level, SpeedTable.Mode.GHOST_INSIDE_HOUSE, GameModel.SPEED_GHOST_INSIDE_HOUSE_PX);
 			move();
 		}
 		boolean endangered = level.pac().powerTimer().isRunning() && killedIndex == -1;
@@ -282,9 +384,9 @@ public class Ghost extends Creature implements AnimatedEntity {
 	 */
 	public void enterStateLeavingHouse(GameLevel level) {
 		GameModel.checkLevelNotNull(level);
-		state = LEAVING_HOUSE;
+		setState(LEAVING_HOUSE);
 		setPixelSpeed(GameModel.SPEED_GHOST_INSIDE_HOUSE_PX);
-		publishGameEvent(new GhostEvent(level.game(), GameEventType.GHOST_STARTS_LEAVING_HOUSE, this));
+		level.game().events().publishGhostEvent(level.game(), GameEventType.GHOST_STARTS_LEAVING_HOUSE, this);
 	}
 
 	private void updateStateLeavingHouse(GameLevel level) {
@@ -294,18 +396,23 @@ public class Ghost extends Creature implements AnimatedEntity {
 		} else {
 			selectAndRunAnimation(GameModel.AK_GHOST_COLOR);
 		}
+		setSpeed(level, SpeedTable.Mode.GHOST_INSIDE_HOUSE, GameModel.SPEED_GHOST_INSIDE_HOUSE_PX);
 		var outOfHouse = level.world().ghostHouse().leadOutside(this);
 		if (outOfHouse) {
 			setMoveAndWishDir(LEFT);
 			if (endangered) {
 				enterStateFrightened();
-				LOG.trace("Ghost %s leaves house frightened", name());
+				if (TRACE) {
+					LOG.trace("Ghost %s leaves house frightened", name());
+				}
 			} else {
 				killedIndex = -1;
 				enterStateHuntingPac();
-				LOG.trace("Ghost %s leaves house hunting", name());
+				if (TRACE) {
+					LOG.trace("Ghost %s leaves house hunting", name());
+				}
 			}
-			publishGameEvent(new GhostEvent(level.game(), GameEventType.GHOST_COMPLETES_LEAVING_HOUSE, this));
+			level.game().events().publishGhostEvent(level.game(), GameEventType.GHOST_COMPLETES_LEAVING_HOUSE, this);
 		}
 	}
 
@@ -319,12 +426,12 @@ public class Ghost extends Creature implements AnimatedEntity {
 	 * <p>
 	 */
 	public void enterStateHuntingPac() {
-		state = HUNTING_PAC;
+		setState(HUNTING_PAC);
 		selectAndRunAnimation(GameModel.AK_GHOST_COLOR);
 	}
 
 	private void updateStateHuntingPac(GameLevel level) {
-		setRelSpeed(level.huntingSpeed(this));
+		setSpeed(level, level.huntingSpeedMode(this), level.huntingSpeed(this) * GameModel.SPEED_100_PERCENT_PX);
 		level.game().doGhostHuntingAction(level, this);
 	}
 
@@ -338,13 +445,16 @@ public class Ghost extends Creature implements AnimatedEntity {
 	 * his power. Speed is about half of the normal speed.
 	 */
 	public void enterStateFrightened() {
-		state = FRIGHTENED;
+		setState(FRIGHTENED);
 		selectAndRunAnimation(GameModel.AK_GHOST_BLUE);
 	}
 
 	private void updateStateFrightened(GameLevel level) {
-		var speed = level.world().isTunnel(tile()) ? level.ghostSpeedTunnel : level.ghostSpeedFrightened;
-		setRelSpeed(speed);
+		if (level.world().isTunnel(tile())) {
+			setSpeed(level, SpeedTable.Mode.GHOST_TUNNEL, level.ghostSpeedTunnel * GameModel.SPEED_100_PERCENT_PX);
+		} else {
+			setSpeed(level, SpeedTable.Mode.GHOST_FRIGHTENED, level.ghostSpeedFrightened * GameModel.SPEED_100_PERCENT_PX);
+		}
 		roam(level);
 		updateFrightenedAnimation(level);
 	}
@@ -356,7 +466,7 @@ public class Ghost extends Creature implements AnimatedEntity {
 	 * The value doubles for each ghost eaten using the power of the same energizer.
 	 */
 	public void enterStateEaten() {
-		state = EATEN;
+		setState(EATEN);
 		selectAndRunAnimation(GameModel.AK_GHOST_VALUE).ifPresent(anim -> anim.setFrameIndex(killedIndex));
 	}
 
@@ -374,18 +484,18 @@ public class Ghost extends Creature implements AnimatedEntity {
 	 */
 	public void enterStateReturningToHouse(GameLevel level) {
 		GameModel.checkLevelNotNull(level);
-		state = RETURNING_TO_HOUSE;
+		setState(RETURNING_TO_HOUSE);
 		setTargetTile(level.world().ghostHouse().door().entryTile());
 		selectAndRunAnimation(GameModel.AK_GHOST_EYES);
 	}
 
 	private void updateStateReturningToHouse(GameLevel level) {
 		var houseEntry = level.world().ghostHouse().door().entryPosition();
-		if (position().almostEquals(houseEntry, 1, 0)) {
+		if (U.differsAtMost(1, posX, houseEntry.x()) && posY == houseEntry.y()) {
 			setPosition(houseEntry);
 			enterStateEnteringHouse(level);
 		} else {
-			setPixelSpeed(GameModel.SPEED_GHOST_RETURNING_TO_HOUSE_PX);
+			setSpeed(level, SpeedTable.Mode.GHOST_RETURNING_TO_HOUSE, GameModel.SPEED_GHOST_RETURNING_TO_HOUSE_PX);
 			navigateTowardsTarget(level);
 			tryMoving(level);
 		}
@@ -401,13 +511,14 @@ public class Ghost extends Creature implements AnimatedEntity {
 	 */
 	public void enterStateEnteringHouse(GameLevel level) {
 		GameModel.checkLevelNotNull(level);
-		state = ENTERING_HOUSE;
+		setState(ENTERING_HOUSE);
 		setTargetTile(null);
 		setPixelSpeed(GameModel.SPEED_GHOST_ENTERING_HOUSE_PX);
-		publishGameEvent(new GhostEvent(level.game(), GameEventType.GHOST_ENTERS_HOUSE, this));
+		level.game().events().publishGhostEvent(level.game(), GameEventType.GHOST_ENTERS_HOUSE, this);
 	}
 
 	private void updateStateEnteringHouse(GameLevel level) {
+		setSpeed(level, SpeedTable.Mode.GHOST_ENTERING_HOUSE, GameModel.SPEED_GHOST_ENTERING_HOUSE_PX);
 		boolean atRevivalPosition = level.world().ghostHouse().leadInside(this, level.world().ghostRevivalPosition(id));
 		if (atRevivalPosition) {
 			setMoveAndWishDir(UP);
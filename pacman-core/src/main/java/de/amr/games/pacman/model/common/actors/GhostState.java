@@ -30,4 +30,27 @@ package de.amr.games.pacman.model.common.actors;
  */
 public enum GhostState {
 	LOCKED, ENTERING_HOUSE, LEAVING_HOUSE, FRIGHTENED, HUNTING_PAC, EATEN, RETURNING_TO_HOUSE;
+
+	/**
+	 * @return the bit representing this state in a state mask
+	 */
+	public int bit() {
+		return 1 << ordinal();
+	}
+
+	/**
+	 * Computes a state mask. State masks are meant to be computed once and stored in constants, then queries like
+	 * {@link Ghost#isInAny(int)} or {@link de.amr.games.pacman.model.common.GameLevel#forEachGhost(int, java.util.function.Consumer)}
+	 * do not allocate anything.
+	 * 
+	 * @param states ghost states
+	 * @return bit mask containing the bits of the given states
+	 */
+	public static int mask(GhostState... states) {
+		int mask = 0;
+		for (var state : states) {
+			mask |= state.bit();
+		}
+		return mask;
+	}
 }
\ No newline at end of file
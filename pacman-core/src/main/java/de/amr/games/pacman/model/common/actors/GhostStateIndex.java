@@ -0,0 +1,132 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+package de.amr.games.pacman.model.common.actors;
+
+import java.util.function.Consumer;
+
+/**
+ * Keeps track of the ghosts in each ghost state. For each state, the IDs of the ghosts in that state are stored as a
+ * bit set which is updated by the ghosts on each state transition. This allows to query the ghosts in a set of states
+ * (given as state mask, see {@link GhostState#mask(GhostState...)}) without creating any objects.
+ * <p>
+ * Iterating the ghosts of a bit set always happens in ghost ID order:
+ * 
+ * <pre>
+ * for (int ids = index.ghostIDs(mask); ids != 0; ids &amp;= ids - 1) {
+ * 	var ghost = index.ghost(Integer.numberOfTrailingZeros(ids));
+ * }
+ * </pre>
+ * 
+ * @author Armin Reichert
+ */
+public class GhostStateIndex {
+
+	private static final GhostState[] STATES = GhostState.values();
+
+	private final Ghost[] ghosts;
+	private final int[] ghostIDsByState = new int[STATES.length];
+
+	/**
+	 * Creates the index for the given ghosts. From now on, the ghosts report their state transitions to this index.
+	 * 
+	 * @param ghosts ghosts, indexed by ghost ID
+	 */
+	public GhostStateIndex(Ghost[] ghosts) {
+		this.ghosts = ghosts;
+		for (var ghost : ghosts) {
+			ghost.setStateIndex(this);
+			if (ghost.state() != null) {
+				ghostIDsByState[ghost.state().ordinal()] |= 1 << ghost.id();
+			}
+		}
+	}
+
+	void onStateChange(Ghost ghost, GhostState oldState, GhostState newState) {
+		int bit = 1 << ghost.id();
+		if (oldState != null) {
+			ghostIDsByState[oldState.ordinal()] &= ~bit;
+		}
+		if (newState != null) {
+			ghostIDsByState[newState.ordinal()] |= bit;
+		}
+	}
+
+	/**
+	 * @param id ghost ID
+	 * @return the ghost with this ID
+	 */
+	public Ghost ghost(int id) {
+		return ghosts[id];
+	}
+
+	/**
+	 * @param stateMask state mask
+	 * @return bit set of the IDs of the ghosts in any of the states of the mask
+	 */
+	public int ghostIDs(int stateMask) {
+		int ids = 0;
+		for (int mask = stateMask; mask != 0; mask &= mask - 1) {
+			ids |= ghostIDsByState[Integer.numberOfTrailingZeros(mask)];
+		}
+		return ids;
+	}
+
+	/**
+	 * @param state ghost state
+	 * @return bit set of the IDs of the ghosts in the given state
+	 */
+	public int ghostIDs(GhostState state) {
+		return ghostIDsByState[state.ordinal()];
+	}
+
+	/**
+	 * @param stateMask state mask
+	 * @return number of ghosts in any of the states of the mask
+	 */
+	public int count(int stateMask) {
+		return Integer.bitCount(ghostIDs(stateMask));
+	}
+
+	/**
+	 * @param stateMask state mask
+	 * @return the ghost with the smallest ID in any of the states of the mask or <code>null</code>
+	 */
+	public Ghost first(int stateMask) {
+		int ids = ghostIDs(stateMask);
+		return ids == 0 ? null : ghosts[Integer.numberOfTrailingZeros(ids)];
+	}
+
+	/**
+	 * Executes the action for each ghost in any of the states of the mask, in ghost ID order. The ghosts are selected
+	 * before the first action is executed, so actions may change ghost states.
+	 * 
+	 * @param stateMask state mask
+	 * @param action    action to execute
+	 */
+	public void forEach(int stateMask, Consumer<Ghost> action) {
+		for (int ids = ghostIDs(stateMask); ids != 0; ids &= ids - 1) {
+			action.accept(ghosts[Integer.numberOfTrailingZeros(ids)]);
+		}
+	}
+}
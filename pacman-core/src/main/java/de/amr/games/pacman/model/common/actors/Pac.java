@@ -29,7 +29,9 @@ import de.amr.games.pacman.lib.anim.AnimatedEntity;
 import de.amr.games.pacman.lib.anim.AnimationMap;
 import de.amr.games.pacman.lib.timer.TickTimer;
 import de.amr.games.pacman.model.common.GameLevel;
+import de.amr.games.pacman.model.common.GameLevelSnapshot;
 import de.amr.games.pacman.model.common.GameModel;
+import de.amr.games.pacman.model.common.SpeedTable;
 
 /**
  * Pac-Man / Ms. Pac-Man.
@@ -67,6 +69,24 @@ public class Pac extends Creature implements AnimatedEntity {
 		powerTimer.reset(0);
 	}
 
+	@Override
+	public void saveState(GameLevelSnapshot snapshot) {
+		super.saveState(snapshot);
+		snapshot.putBoolean(dead);
+		snapshot.putLong(restingTicks);
+		snapshot.putLong(starvingTicks);
+		snapshot.putTimer(powerTimer);
+	}
+
+	@Override
+	public void restoreState(GameLevelSnapshot snapshot) {
+		super.restoreState(snapshot);
+		dead = snapshot.getBoolean();
+		restingTicks = snapshot.getLong();
+		starvingTicks = snapshot.getLong();
+		snapshot.getTimer(powerTimer);
+	}
+
 	public void update(GameLevel level) {
 		GameModel.checkLevelNotNull(level);
 		if (dead) {
@@ -81,8 +101,11 @@ public class Pac extends Creature implements AnimatedEntity {
 			return;
 		}
 		if (restingTicks == 0) {
-			var speed = powerTimer.isRunning() ? level.pacSpeedPowered : level.pacSpeed;
-			setRelSpeed(speed);
+			if (powerTimer.isRunning()) {
+				setSpeed(level, SpeedTable.Mode.PAC_FRIGHTENED, level.pacSpeedPowered * GameModel.SPEED_100_PERCENT_PX);
+			} else {
+				setSpeed(level, SpeedTable.Mode.PAC_NORMAL, level.pacSpeed * GameModel.SPEED_100_PERCENT_PX);
+			}
 			tryMoving(level);
 			selectAndRunAnimation(GameModel.AK_PAC_MUNCHING);
 			if (moveResult.moved) {
@@ -115,7 +138,7 @@ public class Pac extends Creature implements AnimatedEntity {
 	@Override
 	public String toString() {
 		return "['%s' position=%s offset=%s tile=%s velocity=%s speed=%.2f moveDir=%s wishDir=%s dead=%s restingTicks=%d starvingTicks=%d]"
-				.formatted(name(), position, offset(), tile(), velocity, velocity.length(), moveDir(), wishDir(), dead,
+				.formatted(name(), position(), offset(), tile(), velocity(), speed(), moveDir(), wishDir(), dead,
 						restingTicks, starvingTicks);
 	}
 
@@ -85,17 +85,17 @@ public class ArcadeGhostHouse implements GhostHouse {
 	@Override
 	public boolean leadOutside(Creature ghost) {
 		var exitPosition = door.entryPosition();
-		if (ghost.position().y() <= exitPosition.y()) {
+		if (ghost.posY() <= exitPosition.y()) {
 			ghost.setPosition(exitPosition);
 			return true;
 		}
-		if (differsAtMost(ghost.velocity().length() / 2, ghost.position().x(), exitPosition.x())) {
+		if (differsAtMost(ghost.speed() / 2, ghost.posX(), exitPosition.x())) {
 			// center reached: start rising
-			ghost.setPosition(exitPosition.x(), ghost.position().y());
+			ghost.setPosition(exitPosition.x(), ghost.posY());
 			ghost.setMoveAndWishDir(UP);
 		} else {
 			// move sidewards until middle axis is reached
-			ghost.setMoveAndWishDir(ghost.position().x() < exitPosition.x() ? RIGHT : LEFT);
+			ghost.setMoveAndWishDir(ghost.posX() < exitPosition.x() ? RIGHT : LEFT);
 		}
 		ghost.move();
 		return false;
@@ -107,13 +107,13 @@ public class ArcadeGhostHouse implements GhostHouse {
 	@Override
 	public boolean leadInside(Creature ghost, Vector2f targetPosition) {
 		var entryPosition = door.entryPosition();
-		if (ghost.position().almostEquals(entryPosition, ghost.velocity().length() / 2, 0)
+		if (differsAtMost(ghost.speed() / 2, ghost.posX(), entryPosition.x()) && ghost.posY() == entryPosition.y()
 				&& ghost.moveDir() != Direction.DOWN) {
 			// just reached door, start sinking
 			ghost.setPosition(entryPosition);
 			ghost.setMoveAndWishDir(Direction.DOWN);
-		} else if (ghost.position().y() >= GROUND_Y) {
-			ghost.setPosition(ghost.position().x(), GROUND_Y);
+		} else if (ghost.posY() >= GROUND_Y) {
+			ghost.setPosition(ghost.posX(), GROUND_Y);
 			if (targetPosition.x() < entryPosition.x()) {
 				ghost.setMoveAndWishDir(LEFT);
 			} else if (targetPosition.x() > entryPosition.x()) {
@@ -121,8 +121,8 @@ public class ArcadeGhostHouse implements GhostHouse {
 			}
 		}
 		ghost.move();
-		boolean reachedTarget = differsAtMost(1, ghost.position().x(), targetPosition.x())
-				&& ghost.position().y() >= targetPosition.y();
+		boolean reachedTarget = differsAtMost(1, ghost.posX(), targetPosition.x())
+				&& ghost.posY() >= targetPosition.y();
 		if (reachedTarget) {
 			ghost.setPosition(targetPosition);
 		}
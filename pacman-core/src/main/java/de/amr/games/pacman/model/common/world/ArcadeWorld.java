@@ -28,8 +28,12 @@ import static de.amr.games.pacman.model.common.world.World.halfTileRightOf;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.WeakHashMap;
 
 import de.amr.games.pacman.lib.anim.AnimationMap;
 import de.amr.games.pacman.lib.math.Vector2f;
@@ -63,14 +67,31 @@ public class ArcadeWorld extends TileMapWorld {
 	};
 	//@formatter:on
 
-	private final ArcadeGhostHouse house;
+	/** All Arcade worlds have the same ghost house. It has no mutable state, so it is shared. */
+	private static final ArcadeGhostHouse HOUSE = new ArcadeGhostHouse();
+
+	/**
+	 * Templates shared by all worlds created from the same map data (by identity) and upward blocked tiles. Only a few
+	 * different maps exist, so each game level just references an already compiled template. Templates do not reference
+	 * the map data, so the entries of a map are dropped once its data is no longer used.
+	 */
+	private static final Map<byte[][], Map<Set<Vector2i>, TileMapTemplate>> TEMPLATES = new WeakHashMap<>();
+
+	private static TileMapTemplate template(byte[][] tileMapData, Collection<Vector2i> upwardBlockedTiles) {
+		Objects.requireNonNull(upwardBlockedTiles);
+		var key = Set.copyOf(upwardBlockedTiles);
+		synchronized (TEMPLATES) {
+			return TEMPLATES.computeIfAbsent(tileMapData, map -> new HashMap<>(2)).computeIfAbsent(key,
+					tiles -> new TileMapTemplate(tileMapData, HOUSE, tiles));
+		}
+	}
+
 	private AnimationMap animationMap;
 	private final Collection<Vector2i> upwardBlockedTiles;
 
 	public ArcadeWorld(byte[][] tileMapData, Collection<Vector2i> upwardBlockedTiles) {
-		super(tileMapData);
-		this.upwardBlockedTiles = Objects.requireNonNull(upwardBlockedTiles);
-		house = new ArcadeGhostHouse();
+		super(template(tileMapData, upwardBlockedTiles));
+		this.upwardBlockedTiles = upwardBlockedTiles;
 	}
 
 	public ArcadeWorld(byte[][] tileMapData) {
@@ -84,6 +105,23 @@ public class ArcadeWorld extends TileMapWorld {
 		return Collections.unmodifiableCollection(upwardBlockedTiles);
 	}
 
+	/**
+	 * @param tile some tile
+	 * @return if chasing ghosts cannot move upwards at this tile
+	 */
+	public boolean isUpwardBlocked(Vector2i tile) {
+		Objects.requireNonNull(tile);
+		return insideBounds(tile) && hasAttribute(index(tile), TileMapTemplate.ATTR_UPWARD_BLOCKED);
+	}
+
+	/**
+	 * @param index valid tile index
+	 * @return if chasing ghosts cannot move upwards at this tile
+	 */
+	public boolean isUpwardBlocked(int index) {
+		return hasAttribute(index, TileMapTemplate.ATTR_UPWARD_BLOCKED);
+	}
+
 	@Override
 	public Vector2f pacInitialPosition() {
 		return PAC_INITIAL_POSITION;
@@ -127,7 +165,7 @@ public class ArcadeWorld extends TileMapWorld {
 	@Override
 	public ArcadeGhostHouse ghostHouse() {
 		// WTF! I learned today, 2022-05-27, that Java allows co-variant return types since JDK 5.0!
-		return house;
+		return HOUSE;
 	}
 
 	@Override
@@ -0,0 +1,247 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+package de.amr.games.pacman.model.common.world;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.IntPredicate;
+
+import de.amr.games.pacman.lib.steering.Direction;
+
+/**
+ * Shortest path distances between all pairs of accessible tiles of a world.
+ * <p>
+ * Accessible tiles are all tiles that are neither walls nor part of the ghost house door. The distances are computed
+ * by a breadth-first search from each accessible tile and stored in a single <code>short[]</code> array. The two ends
+ * of a portal count as neighbors. For each tile, the tiles reachable from it are also stored in order of increasing
+ * distance (the order in which the search visited them).
+ * 
+ * @author Armin Reichert
+ */
+public class DistanceTable {
+
+	/** Distance value for unreachable or inaccessible tiles. */
+	public static final int UNREACHABLE = -1;
+
+	private static final Direction[] DIRECTION_PRIORITY = { Direction.UP, Direction.LEFT, Direction.DOWN,
+			Direction.RIGHT };
+
+	/** Optionals returned by {@link #nextStep(int, int)}, indexed by direction ordinal. */
+	@SuppressWarnings("unchecked")
+	private static final Optional<Direction>[] OPTIONAL_DIRECTIONS = (Optional<Direction>[]) new Optional<?>[4];
+
+	static {
+		for (var dir : Direction.values()) {
+			OPTIONAL_DIRECTIONS[dir.ordinal()] = Optional.of(dir);
+		}
+	}
+
+	private final int[][] neighbors;
+	private final int[] compactIndex;
+	private final int numAccessible;
+	private final int[] tileAtCompactIndex;
+	private final short[] distances;
+	private final short[] tilesByDistance; // compact indices, BFS order per source
+	private final short[] numReachable;
+
+	/**
+	 * Computes the distance table for the given world. The table keeps no reference to the world, so it can be shared by
+	 * all worlds with the same structure.
+	 * 
+	 * @param world a world
+	 */
+	public DistanceTable(World world) {
+		this(world.numCols(), neighborTable(world), world.portals(), index -> world.isWall(index) || world.isDoor(index));
+	}
+
+	/**
+	 * Computes the distance table from compiled map data.
+	 * 
+	 * @param numCols      number of columns of the map
+	 * @param neighbors    neighbor table indexed by direction ordinal and tile index, is not modified
+	 * @param portals      the portals of the map
+	 * @param inaccessible tells if the tile with the given index is a wall or part of the door
+	 */
+	DistanceTable(int numCols, int[][] neighbors, List<Portal> portals, IntPredicate inaccessible) {
+		int numTiles = neighbors[0].length;
+		this.neighbors = new int[4][];
+		for (var dir : Direction.values()) {
+			this.neighbors[dir.ordinal()] = neighbors[dir.ordinal()].clone();
+		}
+		for (var portal : portals) {
+			if (portal instanceof HorizontalPortal hp) {
+				int left = hp.leftTunnelEnd().y() * numCols + hp.leftTunnelEnd().x();
+				int right = hp.rightTunnelEnd().y() * numCols + hp.rightTunnelEnd().x();
+				this.neighbors[Direction.LEFT.ordinal()][left] = right;
+				this.neighbors[Direction.RIGHT.ordinal()][right] = left;
+			}
+		}
+		compactIndex = new int[numTiles];
+		int n = 0;
+		for (int index = 0; index < numTiles; ++index) {
+			compactIndex[index] = inaccessible.test(index) ? UNREACHABLE : n++;
+		}
+		numAccessible = n;
+		tileAtCompactIndex = new int[numAccessible];
+		for (int index = 0; index < numTiles; ++index) {
+			if (compactIndex[index] != UNREACHABLE) {
+				tileAtCompactIndex[compactIndex[index]] = index;
+			}
+		}
+		distances = new short[numAccessible * numAccessible];
+		tilesByDistance = new short[numAccessible * numAccessible];
+		numReachable = new short[numAccessible];
+		computeDistances();
+	}
+
+	private static int[][] neighborTable(World world) {
+		int numTiles = world.numCols() * world.numRows();
+		var table = new int[4][numTiles];
+		for (var dir : Direction.values()) {
+			for (int index = 0; index < numTiles; ++index) {
+				table[dir.ordinal()][index] = world.neighborIndex(index, dir);
+			}
+		}
+		return table;
+	}
+
+	private void computeDistances() {
+		// adjacency lists over compact indices, at most 4 neighbors plus portal partner
+		var tileIndex = tileAtCompactIndex;
+		var adjacency = new int[numAccessible * 5];
+		var degree = new int[numAccessible];
+		for (int c = 0; c < numAccessible; ++c) {
+			for (var dir : Direction.values()) {
+				int neighbor = neighbor(tileIndex[c], dir);
+				if (neighbor != World.NO_TILE && compactIndex[neighbor] != UNREACHABLE) {
+					adjacency[5 * c + degree[c]++] = compactIndex[neighbor];
+				}
+			}
+		}
+		Arrays.fill(distances, (short) UNREACHABLE);
+		var queue = new int[numAccessible];
+		for (int source = 0; source < numAccessible; ++source) {
+			int offset = source * numAccessible;
+			int head = 0;
+			int tail = 0;
+			distances[offset + source] = 0;
+			queue[tail++] = source;
+			while (head < tail) {
+				int current = queue[head++];
+				short nextDistance = (short) (distances[offset + current] + 1);
+				for (int i = 0; i < degree[current]; ++i) {
+					int neighbor = adjacency[5 * current + i];
+					if (distances[offset + neighbor] == UNREACHABLE) {
+						distances[offset + neighbor] = nextDistance;
+						queue[tail++] = neighbor;
+					}
+				}
+			}
+			for (int i = 0; i < tail; ++i) {
+				tilesByDistance[offset + i] = (short) queue[i];
+			}
+			numReachable[source] = (short) tail;
+		}
+	}
+
+	/**
+	 * @param index valid tile index
+	 * @param dir   a direction
+	 * @return index of the neighbor tile in the given direction where the ends of a portal are neighbors, or
+	 *         {@link World#NO_TILE}
+	 */
+	public int neighbor(int index, Direction dir) {
+		return neighbors[dir.ordinal()][index];
+	}
+
+	/**
+	 * @param index valid tile index
+	 * @return if the tile is accessible, that is neither a wall nor part of the door
+	 */
+	public boolean isAccessible(int index) {
+		return compactIndex[index] != UNREACHABLE;
+	}
+
+	/**
+	 * @return number of accessible tiles
+	 */
+	public int numAccessibleTiles() {
+		return numAccessible;
+	}
+
+	/**
+	 * @param from index of start tile
+	 * @param to   index of target tile
+	 * @return length of a shortest path between the tiles or {@link #UNREACHABLE}
+	 */
+	public int distance(int from, int to) {
+		int source = compactIndex[from];
+		int target = compactIndex[to];
+		if (source == UNREACHABLE || target == UNREACHABLE) {
+			return UNREACHABLE;
+		}
+		return distances[source * numAccessible + target];
+	}
+
+	/**
+	 * @param from index of start tile
+	 * @return number of tiles reachable from the start tile including the start tile itself, 0 if the start tile is not
+	 *         accessible
+	 */
+	public int numReachable(int from) {
+		int source = compactIndex[from];
+		return source == UNREACHABLE ? 0 : numReachable[source];
+	}
+
+	/**
+	 * @param from index of an accessible start tile
+	 * @param rank rank in the order of increasing distance from the start tile, must be less than
+	 *             {@link #numReachable(int)}. Rank 0 is the start tile itself.
+	 * @return index of the reachable tile with the given rank
+	 */
+	public int tileByDistance(int from, int rank) {
+		return tileAtCompactIndex[tilesByDistance[compactIndex[from] * numAccessible + rank]];
+	}
+
+	/**
+	 * @param from index of start tile
+	 * @param to   index of target tile
+	 * @return direction of the first step on a shortest path between the tiles, empty if the tiles are equal or the
+	 *         target is unreachable. The returned optionals are shared constants, no object is created.
+	 */
+	public Optional<Direction> nextStep(int from, int to) {
+		int distance = distance(from, to);
+		if (distance <= 0) {
+			return Optional.empty();
+		}
+		for (var dir : DIRECTION_PRIORITY) {
+			int neighbor = neighbor(from, dir);
+			if (neighbor != World.NO_TILE && distance(neighbor, to) == distance - 1) {
+				return OPTIONAL_DIRECTIONS[dir.ordinal()];
+			}
+		}
+		return Optional.empty();
+	}
+}
@@ -40,10 +40,12 @@ public class Door {
 
 	private Vector2i leftUpperTile;
 	private int sizeInTiles;
+	private Vector2f entryPosition;
 
 	public Door(Vector2i leftUpperTile, int sizeInTiles) {
 		this.leftUpperTile = leftUpperTile;
 		this.sizeInTiles = sizeInTiles;
+		entryPosition = new Vector2f(leftUpperTile.x() * TS + HTS, (leftUpperTile.y() - 1) * TS);
 	}
 
 	public Vector2i leftUpperTile() {
@@ -68,9 +70,7 @@ public class Door {
 	}
 
 	public Vector2f entryPosition() {
-		var x = leftUpperTile.x() * TS + HTS;
-		var y = (leftUpperTile.y() - 1) * TS;
-		return new Vector2f(x, y);
+		return entryPosition;
 	}
 
 	public Vector2i entryTile() {
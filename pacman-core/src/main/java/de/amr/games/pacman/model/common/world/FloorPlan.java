@@ -25,11 +25,19 @@ package de.amr.games.pacman.model.common.world;
 
 import java.io.PrintWriter;
 import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
 
 import de.amr.games.pacman.lib.math.Vector2i;
 
 /**
  * Provides information about rooms, walls, doors etc.
+ * <p>
+ * A floor plan only depends on the walls of the world and the resolution. It is computed from a primitive wall mask
+ * of the world and keeps no reference to the world, so it can be shared, see {@link FloorPlanCache}.
  * 
  * @author Armin Reichert
  */
@@ -52,21 +60,77 @@ public class FloorPlan {
 		};
 	}
 
-	private byte[][] info;
-	private final World world;
+	private final byte[][] info;
 	private final int resolution;
+	private List<WallSegment> wallSegments;
 
 	public FloorPlan(World world, int resolution) {
-		this.world = world;
+		this(wallMask(world), world.numCols(), world.numRows(), resolution);
+	}
+
+	/**
+	 * @param walls      wall mask of the world, see {@link #wallMask(World)}
+	 * @param numCols    number of tile columns
+	 * @param numRows    number of tile rows
+	 * @param resolution number of blocks per tile in each direction
+	 */
+	FloorPlan(BitSet walls, int numCols, int numRows, int resolution) {
+		if (resolution < 1) {
+			throw new IllegalArgumentException("Illegal floor plan resolution: " + resolution);
+		}
 		this.resolution = resolution;
-		int numBlocksX = resolution * world.numCols();
-		int numBlocksY = resolution * world.numRows();
+		int numBlocksX = resolution * numCols;
+		int numBlocksY = resolution * numRows;
 		info = new byte[numBlocksY][numBlocksX];
-		scanForWalls(numBlocksX, numBlocksY);
-		clearPlacesSurroundedByWalls(numBlocksX, numBlocksY);
+		var paddedWalls = padWallMask(walls, numCols, numRows);
+		scanForWalls(paddedWalls, numCols, numRows);
+		clearPlacesSurroundedByWalls(paddedWalls, numCols, numRows);
 		separateWallsAndCorners(numBlocksX, numBlocksY);
 	}
 
+	/**
+	 * Creates a floor plan from stored data.
+	 * 
+	 * @param info       block data, not copied
+	 * @param resolution number of blocks per tile in each direction
+	 */
+	FloorPlan(byte[][] info, int resolution) {
+		this.info = info;
+		this.resolution = resolution;
+	}
+
+	/**
+	 * @param world a world
+	 * @return set of the indices of all wall tiles
+	 */
+	static BitSet wallMask(World world) {
+		int numTiles = world.numCols() * world.numRows();
+		var walls = new BitSet(numTiles);
+		for (int index = 0; index < numTiles; ++index) {
+			if (world.isWall(index)) {
+				walls.set(index);
+			}
+		}
+		return walls;
+	}
+
+	/**
+	 * Tiles outside of the world are no walls, so the wall mask gets a border of one non-wall tile on each side. This
+	 * way, all neighbor tiles can be looked up without bounds checks.
+	 */
+	private static boolean[] padWallMask(BitSet walls, int numCols, int numRows) {
+		int stride = numCols + 2;
+		var padded = new boolean[stride * (numRows + 2)];
+		for (int index = walls.nextSetBit(0); index != -1; index = walls.nextSetBit(index + 1)) {
+			padded[(index / numCols + 1) * stride + index % numCols + 1] = true;
+		}
+		return padded;
+	}
+
+	byte[][] info() {
+		return info;
+	}
+
 	public byte get(int x, int y) {
 		return info[y][x];
 	}
@@ -83,6 +147,89 @@ public class FloorPlan {
 		return resolution;
 	}
 
+	/**
+	 * The wall blocks (corners, horizontal and vertical walls) merged into a small number of rectangles. Each wall block
+	 * is covered by exactly one segment. Renderers can create one shape per segment instead of one per block.
+	 * <p>
+	 * First, all horizontal runs of at least two blocks are taken, runs at the same position in consecutive rows are
+	 * merged into a single rectangle. The remaining blocks form vertical runs, again merged across consecutive columns.
+	 * 
+	 * @return unmodifiable list of the wall segments, computed on first access
+	 */
+	public synchronized List<WallSegment> wallSegments() {
+		if (wallSegments == null) {
+			wallSegments = Collections.unmodifiableList(computeWallSegments());
+		}
+		return wallSegments;
+	}
+
+	private boolean isWallBlock(int x, int y) {
+		byte b = info[y][x];
+		return b == CORNER || b == HWALL || b == VWALL;
+	}
+
+	private List<WallSegment> computeWallSegments() {
+		int numBlocksX = sizeX();
+		int numBlocksY = sizeY();
+		var segments = new ArrayList<WallSegment>();
+		var covered = new BitSet(numBlocksX * numBlocksY);
+		// rectangle = { start, first line, length, number of lines }
+		var open = new ArrayList<int[]>();
+		for (int y = 0; y < numBlocksY; ++y) {
+			var continued = new ArrayList<int[]>();
+			int x = 0;
+			while (x < numBlocksX) {
+				if (!isWallBlock(x, y)) {
+					++x;
+					continue;
+				}
+				int startX = x;
+				while (x < numBlocksX && isWallBlock(x, y)) {
+					++x;
+				}
+				if (x - startX > 1) {
+					covered.set(y * numBlocksX + startX, y * numBlocksX + x);
+					continued.add(extendOrCreate(open, startX, y, x - startX));
+				}
+			}
+			open.forEach(r -> segments.add(new WallSegment(r[0], r[1], r[2], r[3])));
+			open = continued;
+		}
+		open.forEach(r -> segments.add(new WallSegment(r[0], r[1], r[2], r[3])));
+		open.clear();
+		for (int x = 0; x < numBlocksX; ++x) {
+			var continued = new ArrayList<int[]>();
+			int y = 0;
+			while (y < numBlocksY) {
+				if (!isWallBlock(x, y) || covered.get(y * numBlocksX + x)) {
+					++y;
+					continue;
+				}
+				int startY = y;
+				while (y < numBlocksY && isWallBlock(x, y) && !covered.get(y * numBlocksX + x)) {
+					++y;
+				}
+				continued.add(extendOrCreate(open, startY, x, y - startY));
+			}
+			open.forEach(r -> segments.add(new WallSegment(r[1], r[0], r[3], r[2])));
+			open = continued;
+		}
+		open.forEach(r -> segments.add(new WallSegment(r[1], r[0], r[3], r[2])));
+		return segments;
+	}
+
+	private static int[] extendOrCreate(List<int[]> open, int start, int line, int length) {
+		for (int i = 0; i < open.size(); ++i) {
+			int[] r = open.get(i);
+			if (r[0] == start && r[2] == length && r[1] + r[3] == line) {
+				++r[3];
+				open.remove(i);
+				return r;
+			}
+		}
+		return new int[] { start, line, length, 1 };
+	}
+
 	public Vector2i tile(int x, int y) {
 		return new Vector2i(x / resolution, y / resolution);
 	}
@@ -97,26 +244,6 @@ public class FloorPlan {
 		}
 	}
 
-	private Vector2i northOf(int tileX, int tileY, int i) {
-		int dy = i / resolution == 0 ? -1 : 0;
-		return new Vector2i(tileX, tileY + dy);
-	}
-
-	private Vector2i southOf(int tileX, int tileY, int i) {
-		int dy = i / resolution == resolution - 1 ? 1 : 0;
-		return new Vector2i(tileX, tileY + dy);
-	}
-
-	private Vector2i westOf(int tileX, int tileY, int i) {
-		int dx = i % resolution == 0 ? -1 : 0;
-		return new Vector2i(tileX + dx, tileY);
-	}
-
-	private Vector2i eastOf(int tileX, int tileY, int i) {
-		int dx = i % resolution == resolution - 1 ? 1 : 0;
-		return new Vector2i(tileX + dx, tileY);
-	}
-
 	private void separateWallsAndCorners(int numBlocksX, int numBlocksY) {
 		separateHorizontalWallsAndCorners(numBlocksX, numBlocksY);
 		separateVerticalWallsAndCorners(numBlocksX, numBlocksY);
@@ -174,35 +301,51 @@ public class FloorPlan {
 		}
 	}
 
-	private void scanForWalls(int numBlocksX, int numBlocksY) {
-		for (int y = 0; y < numBlocksY; ++y) {
-			for (int x = 0; x < numBlocksX; ++x) {
-				Vector2i tile = new Vector2i(x / resolution, y / resolution);
-				info[y][x] = world.isWall(tile) ? CORNER : EMPTY;
+	private void scanForWalls(boolean[] walls, int numCols, int numRows) {
+		int stride = numCols + 2;
+		for (int tileY = 0; tileY < numRows; ++tileY) {
+			byte[] firstRow = info[tileY * resolution];
+			for (int tileX = 0; tileX < numCols; ++tileX) {
+				if (walls[(tileY + 1) * stride + tileX + 1]) {
+					Arrays.fill(firstRow, tileX * resolution, (tileX + 1) * resolution, CORNER);
+				}
+			}
+			for (int i = 1; i < resolution; ++i) {
+				System.arraycopy(firstRow, 0, info[tileY * resolution + i], 0, firstRow.length);
 			}
 		}
 	}
 
-	private void clearPlacesSurroundedByWalls(int numBlocksX, int numBlocksY) {
-		for (int y = 0; y < numBlocksY; ++y) {
-			int tileY = y / resolution;
-			for (int x = 0; x < numBlocksX; ++x) {
-				int tileX = x / resolution;
-				int i = (y % resolution) * resolution + (x % resolution);
-				Vector2i n = northOf(tileX, tileY, i);
-				Vector2i e = eastOf(tileX, tileY, i);
-				Vector2i s = southOf(tileX, tileY, i);
-				Vector2i w = westOf(tileX, tileY, i);
-				if (world.isWall(n) && world.isWall(e) && world.isWall(s) && world.isWall(w)) {
-					Vector2i se = southOf(e.x(), e.y(), i);
-					Vector2i sw = southOf(w.x(), w.y(), i);
-					Vector2i ne = northOf(e.x(), e.y(), i);
-					Vector2i nw = northOf(w.x(), w.y(), i);
-					if (world.isWall(se) && !world.isWall(nw) || !world.isWall(se) && world.isWall(nw)
-							|| world.isWall(sw) && !world.isWall(ne) || !world.isWall(sw) && world.isWall(ne)) {
-						// keep corner of wall region
-					} else {
-						info[y][x] = EMPTY;
+	/**
+	 * A block at the border of its tile has the adjacent tile as neighbor in that direction, an inner block has its own
+	 * tile. A block whose neighbors are all walls is cleared unless it is a corner of a wall region. Blocks of non-wall
+	 * tiles are empty already and are skipped.
+	 */
+	private void clearPlacesSurroundedByWalls(boolean[] walls, int numCols, int numRows) {
+		int stride = numCols + 2;
+		for (int tileY = 0; tileY < numRows; ++tileY) {
+			for (int tileX = 0; tileX < numCols; ++tileX) {
+				int tile = (tileY + 1) * stride + tileX + 1;
+				if (!walls[tile]) {
+					continue;
+				}
+				for (int i = 0; i < resolution; ++i) {
+					byte[] row = info[tileY * resolution + i];
+					int dyNorth = i == 0 ? -stride : 0;
+					int dySouth = i == resolution - 1 ? stride : 0;
+					for (int j = 0; j < resolution; ++j) {
+						int dxWest = j == 0 ? -1 : 0;
+						int dxEast = j == resolution - 1 ? 1 : 0;
+						if (walls[tile + dyNorth] && walls[tile + dxEast] && walls[tile + dySouth] && walls[tile + dxWest]) {
+							boolean se = walls[tile + dySouth + dxEast];
+							boolean sw = walls[tile + dySouth + dxWest];
+							boolean ne = walls[tile + dyNorth + dxEast];
+							boolean nw = walls[tile + dyNorth + dxWest];
+							// keep corners of wall regions
+							if (se == nw && sw == ne) {
+								row[tileX * resolution + j] = EMPTY;
+							}
+						}
 					}
 				}
 			}
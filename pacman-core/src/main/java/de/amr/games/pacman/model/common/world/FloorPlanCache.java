@@ -0,0 +1,256 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+package de.amr.games.pacman.model.common.world;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Cache of floor plans. A floor plan only depends on the walls of a world and the resolution, so the cache key is a
+ * hash of the wall mask content, not the world object. All levels using the same map get the same floor plan.
+ * <p>
+ * The cache can be saved to and loaded from a small binary file, so that the floor plans need not be computed again at
+ * the next start. Binary format (big-endian): magic number "PMFP" (4 bytes), format version (1 byte), number of
+ * entries (4 bytes), then for each entry: number of columns, rows and resolution (2 bytes each), number of
+ * wall mask words (4 bytes) and the words (8 bytes each), followed by the floor plan blocks in row-major order as
+ * variable-length integers (7 bits per byte, low bits first) with value <code>(run length &lt;&lt; 3) | block</code>.
+ * 
+ * @author Armin Reichert
+ */
+public class FloorPlanCache {
+
+	private static final int MAGIC = 0x504D4650; // "PMFP"
+	private static final int VERSION = 1;
+
+	private record Key(long contentHash, int resolution) {
+	}
+
+	private record Entry(int numCols, int numRows, BitSet walls, FloorPlan floorPlan) {
+
+		boolean matches(int numCols, int numRows, BitSet walls) {
+			return this.numCols == numCols && this.numRows == numRows && this.walls.equals(walls);
+		}
+	}
+
+	/**
+	 * @param walls   wall mask
+	 * @param numCols number of tile columns
+	 * @param numRows number of tile rows
+	 * @return 64-bit FNV-1a hash of the map size and the wall mask
+	 */
+	static long contentHash(BitSet walls, int numCols, int numRows) {
+		long hash = 0xcbf29ce484222325L;
+		hash = (hash ^ numCols) * 0x100000001b3L;
+		hash = (hash ^ numRows) * 0x100000001b3L;
+		for (long word : walls.toLongArray()) {
+			hash = (hash ^ word) * 0x100000001b3L;
+		}
+		return hash;
+	}
+
+	private final Map<Key, Entry> entries = new HashMap<>();
+
+	/**
+	 * @param world      a world
+	 * @param resolution number of blocks per tile in each direction
+	 * @return the cached floor plan for the walls of the given world, created if not yet in the cache
+	 */
+	public synchronized FloorPlan floorPlan(World world, int resolution) {
+		var walls = FloorPlan.wallMask(world);
+		int numCols = world.numCols();
+		int numRows = world.numRows();
+		var key = new Key(contentHash(walls, numCols, numRows), resolution);
+		var entry = entries.get(key);
+		if (entry != null && entry.matches(numCols, numRows, walls)) {
+			return entry.floorPlan();
+		}
+		var floorPlan = new FloorPlan(walls, numCols, numRows, resolution);
+		// on a hash collision, the first entry is kept
+		if (entry == null) {
+			entries.put(key, new Entry(numCols, numRows, walls, floorPlan));
+		}
+		return floorPlan;
+	}
+
+	/**
+	 * @return number of cached floor plans
+	 */
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	public synchronized void clear() {
+		entries.clear();
+	}
+
+	/**
+	 * Writes the cached floor plans in binary format.
+	 * 
+	 * @param out output stream, not closed by this method
+	 * @throws IOException if writing fails
+	 */
+	public synchronized void write(OutputStream out) throws IOException {
+		var data = new DataOutputStream(out);
+		data.writeInt(MAGIC);
+		data.writeByte(VERSION);
+		data.writeInt(entries.size());
+		for (var entry : entries.values()) {
+			var floorPlan = entry.floorPlan();
+			data.writeShort(entry.numCols());
+			data.writeShort(entry.numRows());
+			data.writeShort(floorPlan.getResolution());
+			var words = entry.walls().toLongArray();
+			data.writeInt(words.length);
+			for (long word : words) {
+				data.writeLong(word);
+			}
+			writeBlocks(data, floorPlan.info());
+		}
+		data.flush();
+	}
+
+	private static void writeBlocks(DataOutputStream data, byte[][] info) throws IOException {
+		byte block = info[0][0];
+		long runLength = 0;
+		for (byte[] row : info) {
+			for (byte b : row) {
+				if (b != block) {
+					writeRun(data, runLength, block);
+					block = b;
+					runLength = 0;
+				}
+				++runLength;
+			}
+		}
+		writeRun(data, runLength, block);
+	}
+
+	private static void writeRun(DataOutputStream data, long runLength, byte block) throws IOException {
+		long value = (runLength << 3) | block;
+		while ((value & ~0x7FL) != 0) {
+			data.writeByte((int) (value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		data.writeByte((int) value);
+	}
+
+	/**
+	 * Reads cached floor plans in binary format.
+	 * 
+	 * @param in input stream, not closed by this method
+	 * @return cache containing the floor plans read
+	 * @throws IOException if reading fails or the data is no valid floor plan cache
+	 */
+	public static FloorPlanCache read(InputStream in) throws IOException {
+		var data = new DataInputStream(in);
+		if (data.readInt() != MAGIC) {
+			throw new IOException("Data is no floor plan cache");
+		}
+		int version = data.readUnsignedByte();
+		if (version != VERSION) {
+			throw new IOException("Unsupported floor plan cache format version: " + version);
+		}
+		int numEntries = data.readInt();
+		if (numEntries < 0) {
+			throw new IOException("Illegal number of entries: " + numEntries);
+		}
+		var cache = new FloorPlanCache();
+		for (int i = 0; i < numEntries; ++i) {
+			int numCols = data.readUnsignedShort();
+			int numRows = data.readUnsignedShort();
+			int resolution = data.readUnsignedShort();
+			if (numCols == 0 || numRows == 0 || resolution == 0) {
+				throw new IOException("Illegal floor plan size: %d cols, %d rows, resolution %d".formatted(numCols, numRows,
+						resolution));
+			}
+			int numWords = data.readInt();
+			if (numWords < 0 || numWords > (numCols * numRows + 63) / 64) {
+				throw new IOException("Illegal wall mask size: " + numWords);
+			}
+			var words = new long[numWords];
+			for (int w = 0; w < numWords; ++w) {
+				words[w] = data.readLong();
+			}
+			var walls = BitSet.valueOf(words);
+			var info = readBlocks(data, resolution * numCols, resolution * numRows);
+			var key = new Key(contentHash(walls, numCols, numRows), resolution);
+			cache.entries.put(key, new Entry(numCols, numRows, walls, new FloorPlan(info, resolution)));
+		}
+		return cache;
+	}
+
+	private static byte[][] readBlocks(DataInputStream data, int numBlocksX, int numBlocksY) throws IOException {
+		var info = new byte[numBlocksY][numBlocksX];
+		long numBlocks = (long) numBlocksX * numBlocksY;
+		long pos = 0;
+		while (pos < numBlocks) {
+			long value = 0;
+			int shift = 0;
+			int b;
+			do {
+				if (shift > 42) {
+					throw new IOException("Illegal run encoding");
+				}
+				b = data.readUnsignedByte();
+				value |= (long) (b & 0x7F) << shift;
+				shift += 7;
+			} while ((b & 0x80) != 0);
+			long runLength = value >>> 3;
+			byte block = (byte) (value & 7);
+			if (runLength <= 0 || pos + runLength > numBlocks) {
+				throw new IOException("Illegal run length: " + runLength);
+			}
+			if (block > FloorPlan.DOOR) {
+				throw new IOException("Illegal floor plan block: " + block);
+			}
+			for (long end = pos + runLength; pos < end; ++pos) {
+				info[(int) (pos / numBlocksX)][(int) (pos % numBlocksX)] = block;
+			}
+		}
+		return info;
+	}
+
+	public void save(File file) throws IOException {
+		try (var out = new BufferedOutputStream(new FileOutputStream(file))) {
+			write(out);
+		}
+	}
+
+	public static FloorPlanCache load(File file) throws IOException {
+		try (var in = new BufferedInputStream(new FileInputStream(file))) {
+			return read(in);
+		}
+	}
+}
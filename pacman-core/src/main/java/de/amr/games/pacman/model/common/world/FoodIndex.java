@@ -0,0 +1,165 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+package de.amr.games.pacman.model.common.world;
+
+import java.util.Arrays;
+
+/**
+ * Index of the remaining food of a world. Answers "k nearest food tiles by maze distance" queries without scanning
+ * the whole tile map.
+ * <p>
+ * The food tiles are kept in a compact list with constant-time removal which is updated when food is removed from the
+ * world. As long as much food remains, a query walks the reachable tiles in order of increasing distance (see
+ * {@link DistanceTable#tileByDistance(int, int)}) and stops after k food tiles have been found, which takes only a few
+ * steps because the food is dense. When only little food remains, the remaining food tiles are checked directly.
+ * 
+ * @author Armin Reichert
+ */
+public class FoodIndex {
+
+	/** Up to this number of remaining food tiles, queries check the food list instead of walking the maze. */
+	private static final int SPARSE_LIMIT = 32;
+
+	private final DistanceTable distances;
+	private final boolean[] energizer;
+	private final int[] food;
+	private final int[] slot; // position of tile in food list or -1
+	private int size;
+	private int[] candidateDistances = new int[4];
+
+	/**
+	 * @param world     a world
+	 * @param distances the distance table of this world
+	 */
+	public FoodIndex(World world, DistanceTable distances) {
+		this.distances = distances;
+		int numTiles = world.numCols() * world.numRows();
+		energizer = new boolean[numTiles];
+		food = new int[numTiles];
+		slot = new int[numTiles];
+		for (int index = 0; index < numTiles; ++index) {
+			energizer[index] = world.isEnergizerTile(index);
+		}
+		rebuild(world);
+	}
+
+	void onFoodRemoved(int index) {
+		int pos = slot[index];
+		if (pos != -1) {
+			int last = food[--size];
+			food[pos] = last;
+			slot[last] = pos;
+			slot[index] = -1;
+		}
+	}
+
+	void rebuild(World world) {
+		Arrays.fill(slot, -1);
+		size = 0;
+		for (int index = 0; index < slot.length; ++index) {
+			if (world.containsFood(index)) {
+				slot[index] = size;
+				food[size++] = index;
+			}
+		}
+	}
+
+	/**
+	 * @return number of remaining food tiles
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @param index valid tile index
+	 * @return if the tile contains food
+	 */
+	public boolean containsFood(int index) {
+		return slot[index] != -1;
+	}
+
+	/**
+	 * Finds the food tiles nearest to the given tile by maze distance.
+	 * 
+	 * @param from            index of the start tile
+	 * @param k               maximum number of food tiles to find, not negative
+	 * @param skipEnergizers  if energizer tiles are ignored
+	 * @param result          receives the indices of the found food tiles in order of increasing distance, must have
+	 *                        at least length k
+	 * @return number of found food tiles, 0 if the start tile is not accessible or no food is reachable
+	 */
+	public int findNearest(int from, int k, boolean skipEnergizers, int[] result) {
+		if (k < 0) {
+			throw new IllegalArgumentException("Number of food tiles must not be negative: %d".formatted(k));
+		}
+		if (k == 0) {
+			return 0;
+		}
+		if (k > result.length) {
+			throw new IllegalArgumentException("Result array is too small for %d tiles".formatted(k));
+		}
+		return size <= SPARSE_LIMIT ? findNearestSparse(from, k, skipEnergizers, result)
+				: findNearestDense(from, k, skipEnergizers, result);
+	}
+
+	private int findNearestDense(int from, int k, boolean skipEnergizers, int[] result) {
+		int count = 0;
+		int numReachable = distances.numReachable(from);
+		for (int rank = 0; rank < numReachable && count < k; ++rank) {
+			int tile = distances.tileByDistance(from, rank);
+			if (slot[tile] != -1 && !(skipEnergizers && energizer[tile])) {
+				result[count++] = tile;
+			}
+		}
+		return count;
+	}
+
+	private int findNearestSparse(int from, int k, boolean skipEnergizers, int[] result) {
+		if (candidateDistances.length < k) {
+			candidateDistances = new int[k];
+		}
+		int count = 0;
+		for (int i = 0; i < size; ++i) {
+			int tile = food[i];
+			if (skipEnergizers && energizer[tile]) {
+				continue;
+			}
+			int distance = distances.distance(from, tile);
+			if (distance == DistanceTable.UNREACHABLE || count == k && distance >= candidateDistances[k - 1]) {
+				continue;
+			}
+			// insertion into the sorted candidate list
+			int pos = count < k ? count++ : k - 1;
+			while (pos > 0 && candidateDistances[pos - 1] > distance) {
+				candidateDistances[pos] = candidateDistances[pos - 1];
+				result[pos] = result[pos - 1];
+				--pos;
+			}
+			candidateDistances[pos] = distance;
+			result[pos] = tile;
+		}
+		return count;
+	}
+}
@@ -23,8 +23,12 @@ SOFTWARE.
  */
 package de.amr.games.pacman.model.common.world;
 
+import static de.amr.games.pacman.lib.Diagnostics.TRACE;
 import static de.amr.games.pacman.model.common.world.World.TS;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
 import de.amr.games.pacman.lib.math.Vector2i;
 import de.amr.games.pacman.model.common.actors.Creature;
 
@@ -38,19 +42,27 @@ import de.amr.games.pacman.model.common.actors.Creature;
  */
 public record HorizontalPortal(Vector2i leftTunnelEnd, Vector2i rightTunnelEnd) implements Portal {
 
+	/** The logger writing the move results, see {@link Creature#moveResult}. */
+	private static final Logger LOG = LogManager.getFormatterLogger(Creature.class);
+
 	private static final int DEPTH = 2;
 
 	@Override
 	public void teleport(Creature guy) {
-		var oldPos = guy.position();
-		if (guy.tile().y() == leftTunnelEnd.y() && guy.position().x() < (leftTunnelEnd.x() - DEPTH) * TS) {
+		if (guy.tile().y() == leftTunnelEnd.y() && guy.posX() < (leftTunnelEnd.x() - DEPTH) * TS) {
+			var oldPos = guy.position();
 			guy.placeAtTile(rightTunnelEnd);
 			guy.moveResult.teleported = true;
-			guy.moveResult.addMessage("%s: Teleported from %s to %s".formatted(guy.name(), oldPos, guy.position()));
+			if (TRACE && LOG.isTraceEnabled()) {
+				guy.moveResult.addMessage("%s: Teleported from %s to %s".formatted(guy.name(), oldPos, guy.position()));
+			}
 		} else if (guy.tile().equals(rightTunnelEnd.plus(DEPTH, 0))) {
+			var oldPos = guy.position();
 			guy.placeAtTile(leftTunnelEnd.minus(DEPTH, 0), 0, 0);
 			guy.moveResult.teleported = true;
-			guy.moveResult.addMessage("%s: Teleported from %s to %s".formatted(guy.name(), oldPos, guy.position()));
+			if (TRACE && LOG.isTraceEnabled()) {
+				guy.moveResult.addMessage("%s: Teleported from %s to %s".formatted(guy.name(), oldPos, guy.position()));
+			}
 		}
 	}
 
@@ -0,0 +1,282 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+package de.amr.games.pacman.model.common.world;
+
+import java.util.Arrays;
+
+import de.amr.games.pacman.lib.steering.Direction;
+
+/**
+ * Compressed navigation graph of a world.
+ * <p>
+ * The nodes are the intersections, portal ends and dead ends reachable from Pac-Man's start tile, the edges are the
+ * corridors between them. Each edge knows its length (number of steps), the number of food pellets on its inner tiles
+ * and if it leads through a tunnel. The food counts are updated when food is removed from the world.
+ * <p>
+ * Nodes and edges are identified by their index, all data is stored in primitive arrays.
+ * 
+ * @author Armin Reichert
+ */
+public class NavigationGraph {
+
+	private final int[] nodeTile;
+	private final int[] nodeAtTile;
+	private final int[] firstEdge; // edges of node n: firstEdge[n] until firstEdge[n+1] (exclusive)
+	private final int[] edgeTarget;
+	private final byte[] edgeDir;
+	private final int[] edgeLength;
+	private final boolean[] edgeTunnel;
+	private final int[] edgeCorridor;
+	private final int[] corridorAtTile;
+	private final int[] corridorFood;
+
+	/**
+	 * @param world     a world
+	 * @param distances the distance table of this world
+	 */
+	public NavigationGraph(World world, DistanceTable distances) {
+		int numTiles = world.numCols() * world.numRows();
+		var startTile = World.tileAt(world.pacInitialPosition());
+		int start = world.index(startTile);
+
+		nodeAtTile = new int[numTiles];
+		Arrays.fill(nodeAtTile, -1);
+		var nodes = new int[numTiles];
+		int numNodes = 0;
+		for (int index = 0; index < numTiles; ++index) {
+			if (distances.distance(start, index) != DistanceTable.UNREACHABLE && isNode(world, distances, index)) {
+				nodeAtTile[index] = numNodes;
+				nodes[numNodes++] = index;
+			}
+		}
+		nodeTile = Arrays.copyOf(nodes, numNodes);
+
+		corridorAtTile = new int[numTiles];
+		Arrays.fill(corridorAtTile, -1);
+		firstEdge = new int[numNodes + 1];
+		var targets = new int[4 * numNodes];
+		var dirs = new byte[4 * numNodes];
+		var lengths = new int[4 * numNodes];
+		var tunnels = new boolean[4 * numNodes];
+		var corridors = new int[4 * numNodes];
+		var food = new int[4 * numNodes];
+		int numEdges = 0;
+		int numCorridors = 0;
+		for (int node = 0; node < numNodes; ++node) {
+			firstEdge[node] = numEdges;
+			for (var dir : Direction.values()) {
+				int prev = nodeTile[node];
+				int current = distances.neighbor(prev, dir);
+				if (current == World.NO_TILE || !distances.isAccessible(current)) {
+					continue;
+				}
+				boolean tunnel = world.isTunnel(current) && world.isTunnel(prev);
+				int length = 1;
+				int corridor = corridorAtTile[current];
+				boolean newCorridor = corridor == -1 && nodeAtTile[current] == -1;
+				if (newCorridor) {
+					corridor = numCorridors++;
+				}
+				while (nodeAtTile[current] == -1 && length <= numTiles) {
+					tunnel |= world.isTunnel(current);
+					if (newCorridor) {
+						corridorAtTile[current] = corridor;
+						if (world.containsFood(current)) {
+							++food[corridor];
+						}
+					}
+					int next = nextCorridorTile(distances, current, prev);
+					prev = current;
+					current = next;
+					++length;
+				}
+				if (nodeAtTile[current] == -1) {
+					continue; // corridor without end node
+				}
+				targets[numEdges] = nodeAtTile[current];
+				dirs[numEdges] = (byte) dir.ordinal();
+				lengths[numEdges] = length;
+				tunnels[numEdges] = tunnel;
+				corridors[numEdges] = corridor;
+				++numEdges;
+			}
+		}
+		firstEdge[numNodes] = numEdges;
+		edgeTarget = Arrays.copyOf(targets, numEdges);
+		edgeDir = Arrays.copyOf(dirs, numEdges);
+		edgeLength = Arrays.copyOf(lengths, numEdges);
+		edgeTunnel = Arrays.copyOf(tunnels, numEdges);
+		edgeCorridor = Arrays.copyOf(corridors, numEdges);
+		corridorFood = Arrays.copyOf(food, numCorridors);
+	}
+
+	private static boolean isNode(World world, DistanceTable distances, int index) {
+		if (!distances.isAccessible(index)) {
+			return false;
+		}
+		return world.isIntersection(index) || world.isPortalEnd(index) || accessibleNeighbors(distances, index) != 2;
+	}
+
+	private static int accessibleNeighbors(DistanceTable distances, int index) {
+		int count = 0;
+		for (var dir : Direction.values()) {
+			int neighbor = distances.neighbor(index, dir);
+			if (neighbor != World.NO_TILE && distances.isAccessible(neighbor)) {
+				++count;
+			}
+		}
+		return count;
+	}
+
+	private static int nextCorridorTile(DistanceTable distances, int current, int prev) {
+		for (var dir : Direction.values()) {
+			int neighbor = distances.neighbor(current, dir);
+			if (neighbor != World.NO_TILE && neighbor != prev && distances.isAccessible(neighbor)) {
+				return neighbor;
+			}
+		}
+		return prev;
+	}
+
+	/**
+	 * Updates the food count of the corridor containing the given tile.
+	 * 
+	 * @param index index of tile where food has been removed
+	 */
+	void onFoodRemoved(int index) {
+		int corridor = corridorAtTile[index];
+		if (corridor != -1) {
+			--corridorFood[corridor];
+		}
+	}
+
+	/**
+	 * Recomputes the food counts of all corridors.
+	 * 
+	 * @param world the world of this graph
+	 */
+	void recountFood(World world) {
+		Arrays.fill(corridorFood, 0);
+		for (int index = 0; index < corridorAtTile.length; ++index) {
+			if (corridorAtTile[index] != -1 && world.containsFood(index)) {
+				++corridorFood[corridorAtTile[index]];
+			}
+		}
+	}
+
+	/**
+	 * @return number of nodes
+	 */
+	public int numNodes() {
+		return nodeTile.length;
+	}
+
+	/**
+	 * @return number of (directed) edges
+	 */
+	public int numEdges() {
+		return edgeTarget.length;
+	}
+
+	/**
+	 * @param node node index
+	 * @return index of the tile of this node
+	 */
+	public int nodeTile(int node) {
+		return nodeTile[node];
+	}
+
+	/**
+	 * @param tileIndex valid tile index
+	 * @return index of the node at this tile or -1 if the tile is not a node
+	 */
+	public int nodeAt(int tileIndex) {
+		return nodeAtTile[tileIndex];
+	}
+
+	/**
+	 * @param node node index
+	 * @return index of the first outgoing edge of this node
+	 */
+	public int firstEdge(int node) {
+		return firstEdge[node];
+	}
+
+	/**
+	 * @param node node index
+	 * @return index after the last outgoing edge of this node
+	 */
+	public int endEdge(int node) {
+		return firstEdge[node + 1];
+	}
+
+	/**
+	 * @param edge edge index
+	 * @return target node of this edge
+	 */
+	public int edgeTarget(int edge) {
+		return edgeTarget[edge];
+	}
+
+	/**
+	 * @param edge edge index
+	 * @return direction in which the edge leaves its source node
+	 */
+	public Direction edgeDir(int edge) {
+		return Direction.byOrdinal(edgeDir[edge]);
+	}
+
+	/**
+	 * @param edge edge index
+	 * @return number of steps from source to target node
+	 */
+	public int edgeLength(int edge) {
+		return edgeLength[edge];
+	}
+
+	/**
+	 * @param edge edge index
+	 * @return if this edge leads through a tunnel
+	 */
+	public boolean isTunnel(int edge) {
+		return edgeTunnel[edge];
+	}
+
+	/**
+	 * @param edge edge index
+	 * @return number of food pellets on the tiles between source and target node
+	 */
+	public int foodCount(int edge) {
+		int corridor = edgeCorridor[edge];
+		return corridor == -1 ? 0 : corridorFood[corridor];
+	}
+
+	/**
+	 * @param tileIndex valid tile index
+	 * @return if the tile is an inner tile of a corridor
+	 */
+	public boolean isCorridorTile(int tileIndex) {
+		return corridorAtTile[tileIndex] != -1;
+	}
+}
@@ -0,0 +1,93 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+package de.amr.games.pacman.model.common.world;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Journal of the tiles of a world whose appearance has changed, e.g. because food was eaten. Renderers that keep the
+ * maze in an off-screen image can use it to repaint only the changed tiles:
+ * 
+ * <pre>
+ * long version = journal.version();
+ * ...
+ * if (!journal.changesSince(version, this::repaintTile)) {
+ * 	repaintAll();
+ * }
+ * version = journal.version();
+ * </pre>
+ * <p>
+ * Changes that only the UI knows about, like the blinking of the energizers, can be recorded with
+ * {@link #record(int)} too. The journal is a ring buffer of fixed capacity, recording does not allocate.
+ * 
+ * @author Armin Reichert
+ */
+public class TileChangeJournal {
+
+	/** Number of changes kept. Larger than the number of pellets in an Arcade maze. */
+	public static final int CAPACITY = 512;
+
+	private final int[] changedTiles = new int[CAPACITY];
+	private long version;
+
+	/**
+	 * Records a change of the given tile.
+	 * 
+	 * @param index valid tile index
+	 */
+	public void record(int index) {
+		changedTiles[(int) (version % CAPACITY)] = index;
+		++version;
+	}
+
+	/**
+	 * @return the number of changes recorded so far, used as version of the world appearance
+	 */
+	public long version() {
+		return version;
+	}
+
+	/**
+	 * Passes the index of each tile changed after the given version to the consumer, oldest change first. A tile
+	 * changed several times is passed several times.
+	 * 
+	 * @param sinceVersion version previously obtained by {@link #version()}
+	 * @param consumer     consumer of tile indices
+	 * @return <code>false</code> if the journal does not reach back to the given version anymore and nothing was
+	 *         passed to the consumer. The caller then has to consider all tiles as changed.
+	 */
+	public boolean changesSince(long sinceVersion, IntConsumer consumer) {
+		if (sinceVersion < 0 || sinceVersion > version) {
+			throw new IllegalArgumentException("Illegal journal version: %d, current version: %d".formatted(sinceVersion,
+					version));
+		}
+		if (version - sinceVersion > CAPACITY) {
+			return false;
+		}
+		for (long v = sinceVersion; v < version; ++v) {
+			consumer.accept(changedTiles[(int) (v % CAPACITY)]);
+		}
+		return true;
+	}
+}
@@ -0,0 +1,266 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+package de.amr.games.pacman.model.common.world;
+
+import static de.amr.games.pacman.lib.math.Vector2i.v2i;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import de.amr.games.pacman.lib.math.Vector2i;
+import de.amr.games.pacman.lib.steering.Direction;
+
+/**
+ * Immutable data compiled from a tile map: tile attributes, neighbor table, portals, energizer tiles, food count and
+ * path distances.
+ * <p>
+ * Compiling a map takes much longer than creating a world from it, so all worlds created from the same map share a
+ * single template. The worlds themselves only keep the (small) mutable food state, see {@link TileMapWorld}.
+ * 
+ * @author Armin Reichert
+ */
+public final class TileMapTemplate {
+
+	//@formatter:off
+	static final byte TILE_SPACE           = 0;
+	static final byte TILE_WALL            = 1;
+	static final byte TILE_TUNNEL          = 2;
+	static final byte TILE_PELLET          = 3;
+	static final byte TILE_ENERGIZER       = 4;
+
+	static final byte ATTR_WALL           = 1;
+	static final byte ATTR_TUNNEL         = 1 << 1;
+	static final byte ATTR_DOOR           = 1 << 2;
+	static final byte ATTR_PORTAL         = 1 << 3;
+	static final byte ATTR_INTERSECTION   = 1 << 4;
+	static final byte ATTR_FOOD           = 1 << 5;
+	static final byte ATTR_ENERGIZER      = 1 << 6;
+	static final byte ATTR_UPWARD_BLOCKED = (byte) (1 << 7);
+	//@formatter:on
+
+	private final int numRows;
+	private final int numCols;
+	private final byte[] attributes;
+	private final int[][] neighbors;
+	private final List<Portal> portals;
+	private final List<Vector2i> energizerTiles;
+	private final int totalFoodCount;
+	private final BitSet foodTiles;
+	private final DistanceTable distanceTable;
+
+	/**
+	 * Compiles the given map. The template keeps no reference to the map data.
+	 * 
+	 * @param tileMap            tile map data
+	 * @param house              the ghost house of the worlds created from this template
+	 * @param upwardBlockedTiles tiles where chasing ghosts cannot move upwards
+	 */
+	public TileMapTemplate(byte[][] tileMap, GhostHouse house, Collection<Vector2i> upwardBlockedTiles) {
+		validateTileMapData(tileMap);
+		numRows = tileMap.length;
+		numCols = tileMap[0].length;
+		attributes = compileAttributes(tileMap);
+		neighbors = compileNeighbors();
+		portals = Collections.unmodifiableList(findPortals(tileMap));
+		for (var portal : portals) {
+			if (portal instanceof HorizontalPortal hp) {
+				attributes[index(hp.leftTunnelEnd())] |= ATTR_PORTAL;
+				attributes[index(hp.rightTunnelEnd())] |= ATTR_PORTAL;
+			}
+		}
+		house.door().tiles().forEach(tile -> attributes[index(tile)] |= ATTR_DOOR);
+		for (int row = 0; row < numRows; ++row) {
+			for (int col = 0; col < numCols; ++col) {
+				if (isIntersection(tileMap, col, row, house)) {
+					attributes[index(col, row)] |= ATTR_INTERSECTION;
+				}
+			}
+		}
+		upwardBlockedTiles.forEach(tile -> attributes[index(tile)] |= ATTR_UPWARD_BLOCKED);
+		var energizers = new ArrayList<Vector2i>();
+		foodTiles = new BitSet(attributes.length);
+		for (int index = 0; index < attributes.length; ++index) {
+			if ((attributes[index] & ATTR_FOOD) != 0) {
+				foodTiles.set(index);
+			}
+			if ((attributes[index] & ATTR_ENERGIZER) != 0) {
+				energizers.add(v2i(index % numCols, index / numCols));
+			}
+		}
+		energizerTiles = List.copyOf(energizers);
+		totalFoodCount = foodTiles.cardinality();
+		distanceTable = new DistanceTable(numCols, neighbors, portals,
+				index -> (attributes[index] & (ATTR_WALL | ATTR_DOOR)) != 0);
+	}
+
+	private static void validateTileMapData(byte[][] data) {
+		if (data == null) {
+			throw new IllegalArgumentException("Map data missing");
+		}
+		if (data.length == 0) {
+			throw new IllegalArgumentException("Map data empty");
+		}
+		var firstRow = data[0];
+		if (firstRow.length == 0) {
+			throw new IllegalArgumentException("Map data empty");
+		}
+		for (int i = 0; i < data.length; ++i) {
+			if (data[i].length != firstRow.length) {
+				throw new IllegalArgumentException("Map has differently sized rows");
+			}
+		}
+		for (int i = 0; i < data.length; ++i) {
+			for (int j = 0; j < firstRow.length; ++j) {
+				byte content = data[i][j];
+				if (content < TILE_SPACE || content > TILE_ENERGIZER) {
+					throw new IllegalArgumentException(
+							"Map has invalid content '%s' at row %d column %d".formatted(content, i, j));
+				}
+			}
+		}
+	}
+
+	private byte[] compileAttributes(byte[][] tileMap) {
+		var table = new byte[numRows * numCols];
+		for (int row = 0; row < numRows; ++row) {
+			for (int col = 0; col < numCols; ++col) {
+				table[index(col, row)] = (byte) switch (tileMap[row][col]) {
+				case TILE_WALL -> ATTR_WALL;
+				case TILE_TUNNEL -> ATTR_TUNNEL;
+				case TILE_PELLET -> ATTR_FOOD;
+				case TILE_ENERGIZER -> ATTR_FOOD | ATTR_ENERGIZER;
+				default -> 0;
+				};
+			}
+		}
+		return table;
+	}
+
+	private int[][] compileNeighbors() {
+		var table = new int[4][numRows * numCols];
+		for (var dir : Direction.values()) {
+			for (int row = 0; row < numRows; ++row) {
+				for (int col = 0; col < numCols; ++col) {
+					int neighborRow = row + dir.vector().y();
+					int neighborCol = col + dir.vector().x();
+					table[dir.ordinal()][index(col, row)] = insideBounds(neighborRow, neighborCol)
+							? index(neighborCol, neighborRow)
+							: World.NO_TILE;
+				}
+			}
+		}
+		return table;
+	}
+
+	private ArrayList<Portal> findPortals(byte[][] tileMap) {
+		var portalList = new ArrayList<Portal>();
+		for (int row = 0; row < numRows; ++row) {
+			if (tileMap[row][0] == TILE_TUNNEL && tileMap[row][numCols - 1] == TILE_TUNNEL) {
+				portalList.add(new HorizontalPortal(v2i(0, row), v2i(numCols - 1, row)));
+			}
+		}
+		portalList.trimToSize();
+		return portalList;
+	}
+
+	/** Same rule as {@link World#isIntersection(Vector2i)}, evaluated on the map data. */
+	private boolean isIntersection(byte[][] tileMap, int col, int row, GhostHouse house) {
+		if (col <= 0 || col >= numCols - 1) {
+			return false; // exclude portal entries and tiles outside of the map
+		}
+		var tile = v2i(col, row);
+		if (house.contains(tile)) {
+			return false;
+		}
+		int numWallNeighbors = 0;
+		int numDoorNeighbors = 0;
+		for (var dir : Direction.values()) {
+			var neighbor = tile.plus(dir.vector());
+			if (insideBounds(neighbor.y(), neighbor.x()) && tileMap[neighbor.y()][neighbor.x()] == TILE_WALL) {
+				++numWallNeighbors;
+			}
+			if (house.door().contains(neighbor)) {
+				++numDoorNeighbors;
+			}
+		}
+		return numWallNeighbors + numDoorNeighbors < 2;
+	}
+
+	private int index(Vector2i tile) {
+		return index(tile.x(), tile.y());
+	}
+
+	private int index(int col, int row) {
+		return row * numCols + col;
+	}
+
+	boolean insideBounds(int row, int col) {
+		return 0 <= row && row < numRows && 0 <= col && col < numCols;
+	}
+
+	/**
+	 * @return the distance table shared by the worlds created from this template
+	 */
+	DistanceTable distanceTable() {
+		return distanceTable;
+	}
+
+	// The arrays are handed out to the worlds for fast access and must not be modified
+
+	byte[] attributes() {
+		return attributes;
+	}
+
+	int[][] neighbors() {
+		return neighbors;
+	}
+
+	/** Indices of the tiles containing food initially. */
+	BitSet foodTiles() {
+		return foodTiles;
+	}
+
+	public int numRows() {
+		return numRows;
+	}
+
+	public int numCols() {
+		return numCols;
+	}
+
+	public List<Portal> portals() {
+		return portals;
+	}
+
+	public List<Vector2i> energizerTiles() {
+		return energizerTiles;
+	}
+
+	public int totalFoodCount() {
+		return totalFoodCount;
+	}
+}
@@ -21,197 +21,355 @@ LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
 OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
 SOFTWARE.
 */
-
 package de.amr.games.pacman.model.common.world;
 
-import static de.amr.games.pacman.lib.math.Vector2i.v2i;
+import static de.amr.games.pacman.model.common.world.TileMapTemplate.ATTR_DOOR;
+import static de.amr.games.pacman.model.common.world.TileMapTemplate.ATTR_ENERGIZER;
+import static de.amr.games.pacman.model.common.world.TileMapTemplate.ATTR_FOOD;
+import static de.amr.games.pacman.model.common.world.TileMapTemplate.ATTR_INTERSECTION;
+import static de.amr.games.pacman.model.common.world.TileMapTemplate.ATTR_PORTAL;
+import static de.amr.games.pacman.model.common.world.TileMapTemplate.ATTR_TUNNEL;
+import static de.amr.games.pacman.model.common.world.TileMapTemplate.ATTR_WALL;
 
-import java.util.ArrayList;
 import java.util.BitSet;
-import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import de.amr.games.pacman.lib.math.Vector2i;
+import de.amr.games.pacman.lib.steering.Direction;
+import de.amr.games.pacman.model.common.GameLevelSnapshot;
 
 /**
+ * World defined by a tile map.
+ * <p>
+ * The properties of each tile are compiled once per map into a shared, immutable {@link TileMapTemplate}, so that the
+ * per-tick world queries only need a single array access. The world itself only stores which food is left and, once
+ * requested by a renderer, a journal of changed tiles. The set of tiles containing food is the template's set of food
+ * tiles until food is eaten for the first time (copy-on-write). Food is enumerated from this set, so only the food
+ * tiles are visited.
+ * 
  * @author Armin Reichert
  */
 public abstract class TileMapWorld implements World {
 
-	//@formatter:off
-	private static final byte TILE_SPACE           = 0;
-	private static final byte TILE_WALL            = 1;
-	private static final byte TILE_TUNNEL          = 2;
-	private static final byte TILE_PELLET          = 3;
-	private static final byte TILE_ENERGIZER       = 4;
-	//@formatter:on
-
-	private final byte[][] tileMap;
-	protected List<Portal> portals;
-	protected List<Vector2i> energizerTiles;
-	protected int totalFoodCount;
-	protected int uneatenFoodCount;
-	private final BitSet eatenSet;
-
-	protected TileMapWorld(byte[][] tileMap) {
-		this.tileMap = validateTileMapData(tileMap);
-		energizerTiles = tiles().filter(this::isEnergizerTile).toList();
-		totalFoodCount = (int) tiles().filter(this::isFoodTile).count();
-		uneatenFoodCount = totalFoodCount;
-		portals = findPortals();
-		eatenSet = new BitSet(numRows() * numCols());
-	}
-
-	private byte[][] validateTileMapData(byte[][] data) {
-		if (data == null) {
-			throw new IllegalArgumentException("Map data missing");
-		}
-		if (data.length == 0) {
-			throw new IllegalArgumentException("Map data empty");
-		}
-		var firstRow = data[0];
-		if (firstRow.length == 0) {
-			throw new IllegalArgumentException("Map data empty");
-		}
-		for (int i = 0; i < data.length; ++i) {
-			if (data[i].length != firstRow.length) {
-				throw new IllegalArgumentException("Map has differently sized rows");
-			}
-		}
-		for (int i = 0; i < data.length; ++i) {
-			for (int j = 0; j < firstRow.length; ++j) {
-				byte content = data[i][j];
-				if (content < TILE_SPACE || content > TILE_ENERGIZER) {
-					throw new IllegalArgumentException(
-							"Map has invalid content '%s' at row %d column %d".formatted(content, i, j));
-				}
-			}
+	private final TileMapTemplate template;
+	private final byte[] attributes;
+	private final int[][] neighbors;
+	private final DistanceTable distanceTable;
+	private TileChangeJournal changeJournal;
+	private int uneatenFoodCount;
+	private BitSet uneatenSet;
+	private NavigationGraph navigationGraph;
+	private FoodIndex foodIndex;
+
+	protected TileMapWorld(TileMapTemplate template) {
+		this.template = Objects.requireNonNull(template);
+		attributes = template.attributes();
+		neighbors = template.neighbors();
+		distanceTable = template.distanceTable();
+		uneatenFoodCount = template.totalFoodCount();
+		uneatenSet = template.foodTiles();
+	}
+
+	/**
+	 * @return the shared, immutable data of this world
+	 */
+	public TileMapTemplate template() {
+		return template;
+	}
+
+	protected boolean hasAttribute(int index, byte attr) {
+		return (attributes[index] & attr) != 0;
+	}
+
+	private boolean hasAttribute(Vector2i tile, byte attr) {
+		return insideBounds(tile) && (attributes[index(tile)] & attr) != 0;
+	}
+
+	private BitSet writableUneatenSet() {
+		if (uneatenSet == template.foodTiles()) {
+			uneatenSet = (BitSet) uneatenSet.clone();
 		}
-		return data;
+		return uneatenSet;
 	}
 
-	protected ArrayList<Portal> findPortals() {
-		var portalList = new ArrayList<Portal>();
-		for (int row = 0; row < numRows(); ++row) {
-			if (content(row, 0) == TILE_TUNNEL && content(row, numCols() - 1) == TILE_TUNNEL) {
-				portalList.add(new HorizontalPortal(v2i(0, row), v2i(numCols() - 1, row)));
-			}
+	/**
+	 * The journal is created on first access, worlds that are never rendered do not record changes.
+	 */
+	@Override
+	public TileChangeJournal changeJournal() {
+		if (changeJournal == null) {
+			changeJournal = new TileChangeJournal();
 		}
-		portalList.trimToSize();
-		return portalList;
+		return changeJournal;
 	}
 
 	/**
-	 * @param tile some tile (may be outside world bound)
-	 * @return the content at the given tile or empty space if outside world
+	 * @return table of shortest path distances, shared by all worlds with the same template
 	 */
-	protected byte content(Vector2i tile) {
-		return content(tile.y(), tile.x(), TILE_SPACE);
+	public DistanceTable distanceTable() {
+		return distanceTable;
 	}
 
-	protected byte content(int row, int col) {
-		if (!insideBounds(row, col)) {
-			throwOutOfBoundsError(row, col);
+	/**
+	 * The navigation graph is created on first access and keeps track of the food removed later.
+	 */
+	@Override
+	public NavigationGraph navigationGraph() {
+		if (navigationGraph == null) {
+			navigationGraph = new NavigationGraph(this, distanceTable);
 		}
-		return tileMap[row][col];
+		return navigationGraph;
 	}
 
-	protected byte content(int row, int col, byte defaultContent) {
-		if (!insideBounds(row, col)) {
-			return defaultContent;
+	@Override
+	public FoodIndex foodIndex() {
+		if (foodIndex == null) {
+			foodIndex = new FoodIndex(this, distanceTable);
 		}
-		return tileMap[row][col];
+		return foodIndex;
 	}
 
-	protected boolean insideBounds(int row, int col) {
-		return 0 <= row && row < numRows() && 0 <= col && col < numCols();
+	@Override
+	public int pathDistance(int from, int to) {
+		return distanceTable.distance(from, to);
 	}
 
-	protected void throwOutOfBoundsError(int row, int col) {
-		throw new IndexOutOfBoundsException(
-				"Coordinate (%d, %d) is outside of map bounds (%d rows, %d cols)".formatted(row, col, numRows(), numCols()));
+	@Override
+	public Optional<Direction> nextStepTowards(int from, int to) {
+		return distanceTable.nextStep(from, to);
+	}
+
+	protected boolean insideBounds(int row, int col) {
+		return template.insideBounds(row, col);
 	}
 
 	@Override
 	public int numCols() {
-		return tileMap[0].length;
+		return template.numCols();
 	}
 
 	@Override
 	public int numRows() {
-		return tileMap.length;
+		return template.numRows();
+	}
+
+	@Override
+	public int neighborIndex(int index, Direction dir) {
+		return neighbors[dir.ordinal()][index];
 	}
 
 	@Override
 	public List<Portal> portals() {
-		return Collections.unmodifiableList(portals);
+		return template.portals();
 	}
 
 	@Override
 	public boolean belongsToPortal(Vector2i tile) {
 		Objects.requireNonNull(tile);
-		return portals.stream().anyMatch(portal -> portal.contains(tile));
+		if (insideBounds(tile)) {
+			return false; // portal tiles are located outside of the map
+		}
+		var portals = template.portals();
+		for (int i = 0; i < portals.size(); ++i) {
+			if (portals.get(i).contains(tile)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public boolean isPortalEnd(int index) {
+		return hasAttribute(index, ATTR_PORTAL);
+	}
+
+	@Override
+	public boolean isIntersection(Vector2i tile) {
+		Objects.requireNonNull(tile);
+		return hasAttribute(tile, ATTR_INTERSECTION);
+	}
+
+	@Override
+	public boolean isIntersection(int index) {
+		return hasAttribute(index, ATTR_INTERSECTION);
 	}
 
 	@Override
 	public boolean isWall(Vector2i tile) {
 		Objects.requireNonNull(tile);
-		return content(tile) == TILE_WALL;
+		return hasAttribute(tile, ATTR_WALL);
+	}
+
+	@Override
+	public boolean isWall(int index) {
+		return hasAttribute(index, ATTR_WALL);
 	}
 
 	@Override
 	public boolean isTunnel(Vector2i tile) {
 		Objects.requireNonNull(tile);
-		return content(tile) == TILE_TUNNEL;
+		return hasAttribute(tile, ATTR_TUNNEL);
+	}
+
+	@Override
+	public boolean isTunnel(int index) {
+		return hasAttribute(index, ATTR_TUNNEL);
+	}
+
+	@Override
+	public boolean isDoor(Vector2i tile) {
+		Objects.requireNonNull(tile);
+		return hasAttribute(tile, ATTR_DOOR);
+	}
+
+	@Override
+	public boolean isDoor(int index) {
+		return hasAttribute(index, ATTR_DOOR);
 	}
 
 	@Override
 	public boolean isFoodTile(Vector2i tile) {
 		Objects.requireNonNull(tile);
-		byte data = content(tile);
-		return data == TILE_PELLET || data == TILE_ENERGIZER;
+		return hasAttribute(tile, ATTR_FOOD);
+	}
+
+	@Override
+	public boolean isFoodTile(int index) {
+		return hasAttribute(index, ATTR_FOOD);
 	}
 
 	@Override
 	public boolean isEnergizerTile(Vector2i tile) {
 		Objects.requireNonNull(tile);
-		byte data = content(tile);
-		return data == TILE_ENERGIZER;
+		return hasAttribute(tile, ATTR_ENERGIZER);
+	}
+
+	@Override
+	public boolean isEnergizerTile(int index) {
+		return hasAttribute(index, ATTR_ENERGIZER);
 	}
 
 	@Override
 	public Stream<Vector2i> energizerTiles() {
-		return energizerTiles.stream();
+		return template.energizerTiles().stream();
 	}
 
 	@Override
 	public void removeFood(Vector2i tile) {
 		Objects.requireNonNull(tile);
-		if (insideBounds(tile) && containsFood(tile)) {
-			eatenSet.set(index(tile));
+		if (insideBounds(tile)) {
+			removeFood(index(tile));
+		}
+	}
+
+	@Override
+	public void removeFood(int index) {
+		if (containsFood(index)) {
+			writableUneatenSet().clear(index);
 			--uneatenFoodCount;
+			if (changeJournal != null) {
+				changeJournal.record(index);
+			}
+			if (navigationGraph != null) {
+				navigationGraph.onFoodRemoved(index);
+			}
+			if (foodIndex != null) {
+				foodIndex.onFoodRemoved(index);
+			}
 		}
 	}
 
 	@Override
 	public boolean containsFood(Vector2i tile) {
 		Objects.requireNonNull(tile);
-		if (insideBounds(tile)) {
-			byte data = content(tile);
-			return (data == TILE_PELLET || data == TILE_ENERGIZER) && !eatenSet.get(index(tile));
-		}
-		return false;
+		return insideBounds(tile) && containsFood(index(tile));
+	}
+
+	@Override
+	public boolean containsFood(int index) {
+		return uneatenSet.get(index);
 	}
 
 	@Override
 	public boolean containsEatenFood(Vector2i tile) {
 		Objects.requireNonNull(tile);
-		if (insideBounds(tile)) {
-			return eatenSet.get(index(tile));
+		return insideBounds(tile) && containsEatenFood(index(tile));
+	}
+
+	@Override
+	public boolean containsEatenFood(int index) {
+		return hasAttribute(index, ATTR_FOOD) && !uneatenSet.get(index);
+	}
+
+	@Override
+	public int nextFoodIndex(int fromIndex) {
+		return uneatenSet.nextSetBit(fromIndex);
+	}
+
+	@Override
+	public int nextEatenFoodIndex(int fromIndex) {
+		var foodTiles = template.foodTiles();
+		for (int index = foodTiles.nextSetBit(fromIndex); index != -1; index = foodTiles.nextSetBit(index + 1)) {
+			if (!uneatenSet.get(index)) {
+				return index;
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public Stream<Vector2i> tilesContainingFood() {
+		return uneatenSet.stream().mapToObj(this::tile);
+	}
+
+	@Override
+	public Stream<Vector2i> tilesContainingEatenFood() {
+		return IntStream.iterate(nextEatenFoodIndex(0), index -> index != -1, index -> nextEatenFoodIndex(index + 1))
+				.mapToObj(this::tile);
+	}
+
+	@Override
+	public void saveState(GameLevelSnapshot snapshot) {
+		snapshot.putInt(uneatenFoodCount);
+		// one word per 64 tiles, bit set = eaten food. Bit sets drop trailing zero words, so they are padded here.
+		long[] foodWords = template.foodTiles().toLongArray();
+		long[] uneatenWords = uneatenSet.toLongArray();
+		int numWords = (attributes.length + 63) / 64;
+		for (int i = 0; i < numWords; ++i) {
+			long food = i < foodWords.length ? foodWords[i] : 0;
+			long uneaten = i < uneatenWords.length ? uneatenWords[i] : 0;
+			snapshot.putLong(food & ~uneaten);
+		}
+	}
+
+	@Override
+	public void restoreState(GameLevelSnapshot snapshot) {
+		uneatenFoodCount = snapshot.getInt();
+		for (int start = 0; start < attributes.length; start += 64) {
+			long word = snapshot.getLong();
+			for (int index = start; index < Math.min(start + 64, attributes.length); ++index) {
+				if (!isFoodTile(index)) {
+					continue;
+				}
+				boolean eaten = (word & (1L << (index - start))) != 0;
+				if (eaten == uneatenSet.get(index)) {
+					writableUneatenSet().set(index, !eaten);
+					if (changeJournal != null) {
+						changeJournal.record(index);
+					}
+				}
+			}
+		}
+		if (navigationGraph != null) {
+			navigationGraph.recountFood(this);
+		}
+		if (foodIndex != null) {
+			foodIndex.rebuild(this);
 		}
-		return false;
 	}
 
 	@Override
@@ -221,6 +379,6 @@ public abstract class TileMapWorld implements World {
 
 	@Override
 	public int eatenFoodCount() {
-		return totalFoodCount - uneatenFoodCount;
+		return template.totalFoodCount() - uneatenFoodCount;
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,55 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+package de.amr.games.pacman.model.common.world;
+
+/**
+ * Axis-parallel rectangle of wall blocks of a {@link FloorPlan}, in block coordinates.
+ * 
+ * @author Armin Reichert
+ */
+public record WallSegment(int x, int y, int sizeX, int sizeY) {
+
+	/**
+	 * @return if the segment is at least as wide as high
+	 */
+	public boolean isHorizontal() {
+		return sizeX >= sizeY;
+	}
+
+	/**
+	 * @return number of blocks covered by this segment
+	 */
+	public int numBlocks() {
+		return sizeX * sizeY;
+	}
+
+	/**
+	 * @param x block x coordinate
+	 * @param y block y coordinate
+	 * @return if the block is covered by this segment
+	 */
+	public boolean contains(int x, int y) {
+		return this.x <= x && x < this.x + sizeX && this.y <= y && y < this.y + sizeY;
+	}
+}
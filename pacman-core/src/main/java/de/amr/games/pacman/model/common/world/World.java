@@ -24,6 +24,7 @@ SOFTWARE.
 package de.amr.games.pacman.model.common.world;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
@@ -32,6 +33,7 @@ import de.amr.games.pacman.lib.anim.AnimationMap;
 import de.amr.games.pacman.lib.math.Vector2f;
 import de.amr.games.pacman.lib.math.Vector2i;
 import de.amr.games.pacman.lib.steering.Direction;
+import de.amr.games.pacman.model.common.GameLevelSnapshot;
 
 /**
  * Tiled world.
@@ -46,6 +48,9 @@ public interface World extends AnimatedEntity {
 	/** Half tile size in pixels (4). */
 	public static final int HTS = 4;
 
+	/** Index value denoting a tile outside of the world. */
+	public static final int NO_TILE = -1;
+
 	/**
 	 * @param numTiles number of tiles
 	 * @return pixels corresponding to the given number of tiles
@@ -68,7 +73,7 @@ public interface World extends AnimatedEntity {
 	 * @return tile containing given position
 	 */
 	public static Vector2i tileAt(float x, float y) {
-		return new Vector2i((int) (x / TS), (int) (y / TS));
+		return Vector2i.v2i((int) (x / TS), (int) (y / TS));
 	}
 
 	/**
@@ -121,12 +126,29 @@ public interface World extends AnimatedEntity {
 		return numCols() * tile.y() + tile.x();
 	}
 
+	/**
+	 * @param col column
+	 * @param row row
+	 * @return tile index in order top-to-bottom, left-to-right
+	 */
+	default int index(int col, int row) {
+		return numCols() * row + col;
+	}
+
+	/**
+	 * @param index valid tile index
+	 * @param dir   a direction
+	 * @return index of the neighbor tile in the given direction or {@link #NO_TILE} if the neighbor is outside of the
+	 *         world
+	 */
+	int neighborIndex(int index, Direction dir);
+
 	/**
 	 * @param index tile index in order top-to-bottom, left-to-right
 	 * @return tile with given index
 	 */
 	default Vector2i tile(int index) {
-		return new Vector2i(index % numCols(), index / numCols());
+		return Vector2i.v2i(index % numCols(), index / numCols());
 	}
 
 	/**
@@ -155,6 +177,12 @@ public interface World extends AnimatedEntity {
 	 */
 	boolean belongsToPortal(Vector2i tile);
 
+	/**
+	 * @param index valid tile index
+	 * @return if the tile is the end of a tunnel that is connected to a portal
+	 */
+	boolean isPortalEnd(int index);
+
 	/**
 	 * @param tile a tile
 	 * @return if the tile is an intersection (waypoint)
@@ -171,18 +199,100 @@ public interface World extends AnimatedEntity {
 		return numWallNeighbors + numDoorNeighbors < 2;
 	}
 
+	/**
+	 * @param index valid tile index
+	 * @return if the tile is an intersection (waypoint)
+	 */
+	boolean isIntersection(int index);
+
 	/**
 	 * @param tile a tile
 	 * @return if the tile is a wall
 	 */
 	boolean isWall(Vector2i tile);
 
+	/**
+	 * @param index valid tile index
+	 * @return if the tile is a wall
+	 */
+	boolean isWall(int index);
+
 	/**
 	 * @param tile a tile
 	 * @return if the tile is part of a tunnel
 	 */
 	boolean isTunnel(Vector2i tile);
 
+	/**
+	 * @param index valid tile index
+	 * @return if the tile is part of a tunnel
+	 */
+	boolean isTunnel(int index);
+
+	/**
+	 * @param tile a tile
+	 * @return if the tile is part of the ghost house door
+	 */
+	default boolean isDoor(Vector2i tile) {
+		return ghostHouse().door().contains(tile);
+	}
+
+	/**
+	 * @param index valid tile index
+	 * @return if the tile is part of the ghost house door
+	 */
+	boolean isDoor(int index);
+
+	/**
+	 * @param from some tile
+	 * @param to   some tile
+	 * @return length of a shortest path between the tiles (portals included) or {@link DistanceTable#UNREACHABLE}
+	 */
+	default int pathDistance(Vector2i from, Vector2i to) {
+		if (!insideBounds(from) || !insideBounds(to)) {
+			return DistanceTable.UNREACHABLE;
+		}
+		return pathDistance(index(from), index(to));
+	}
+
+	/**
+	 * @param from valid index of start tile
+	 * @param to   valid index of target tile
+	 * @return length of a shortest path between the tiles (portals included) or {@link DistanceTable#UNREACHABLE}
+	 */
+	int pathDistance(int from, int to);
+
+	/**
+	 * @param from some tile
+	 * @param to   some tile
+	 * @return direction of the first step on a shortest path between the tiles, empty if the tiles are equal or the
+	 *         target is unreachable
+	 */
+	default Optional<Direction> nextStepTowards(Vector2i from, Vector2i to) {
+		if (!insideBounds(from) || !insideBounds(to)) {
+			return Optional.empty();
+		}
+		return nextStepTowards(index(from), index(to));
+	}
+
+	/**
+	 * @param from valid index of start tile
+	 * @param to   valid index of target tile
+	 * @return direction of the first step on a shortest path between the tiles, empty if the tiles are equal or the
+	 *         target is unreachable
+	 */
+	Optional<Direction> nextStepTowards(int from, int to);
+
+	/**
+	 * @return navigation graph of intersections and corridors
+	 */
+	NavigationGraph navigationGraph();
+
+	/**
+	 * @return index of the remaining food
+	 */
+	FoodIndex foodIndex();
+
 	/**
 	 * @return start position of Pac-Man in this world
 	 */
@@ -228,12 +338,24 @@ public interface World extends AnimatedEntity {
 	 */
 	boolean isFoodTile(Vector2i tile);
 
+	/**
+	 * @param index valid tile index
+	 * @return tells if the tile contains food initially
+	 */
+	boolean isFoodTile(int index);
+
 	/**
 	 * @param tile a tile
 	 * @return if the tile contains an energizer initially
 	 */
 	boolean isEnergizerTile(Vector2i tile);
 
+	/**
+	 * @param index valid tile index
+	 * @return if the tile contains an energizer initially
+	 */
+	boolean isEnergizerTile(int index);
+
 	/**
 	 * @return all tiles containing an energizer initially
 	 */
@@ -246,18 +368,71 @@ public interface World extends AnimatedEntity {
 	 */
 	void removeFood(Vector2i tile);
 
+	/**
+	 * Removes food at given tile.
+	 * 
+	 * @param index valid tile index
+	 */
+	void removeFood(int index);
+
 	/**
 	 * @param tile some tile
 	 * @return if there is food at the given tile
 	 */
 	boolean containsFood(Vector2i tile);
 
+	/**
+	 * @param index valid tile index
+	 * @return if there is food at the given tile
+	 */
+	boolean containsFood(int index);
+
 	/**
 	 * @param tile some tile
 	 * @return if there is eaten food at the given tile
 	 */
 	boolean containsEatenFood(Vector2i tile);
 
+	/**
+	 * @param index valid tile index
+	 * @return if there is eaten food at the given tile
+	 */
+	boolean containsEatenFood(int index);
+
+	/**
+	 * @param fromIndex tile index to start the search from (inclusive)
+	 * @return index of the first tile at or after the given index containing food or <code>-1</code> if there is none.
+	 *         Allows enumerating the food without allocating: <code>for (int i = world.nextFoodIndex(0); i != -1;
+	 *         i = world.nextFoodIndex(i + 1))</code>
+	 */
+	default int nextFoodIndex(int fromIndex) {
+		for (int index = fromIndex; index < numCols() * numRows(); ++index) {
+			if (containsFood(index)) {
+				return index;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * @param fromIndex tile index to start the search from (inclusive)
+	 * @return index of the first tile at or after the given index containing eaten food or <code>-1</code> if there is
+	 *         none
+	 */
+	default int nextEatenFoodIndex(int fromIndex) {
+		for (int index = fromIndex; index < numCols() * numRows(); ++index) {
+			if (containsEatenFood(index)) {
+				return index;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * @return journal of the tiles changed since the journal was first requested, e.g. by eating food
+	 */
+	TileChangeJournal changeJournal();
+
 	/**
 	 * @return number of uneaten pellets
 	 */
@@ -268,6 +443,20 @@ public interface World extends AnimatedEntity {
 	 */
 	int eatenFoodCount();
 
+	/**
+	 * Saves the food state of this world into the given snapshot.
+	 * 
+	 * @param snapshot level snapshot
+	 */
+	void saveState(GameLevelSnapshot snapshot);
+
+	/**
+	 * Restores the food state of this world from the given snapshot.
+	 * 
+	 * @param snapshot level snapshot
+	 */
+	void restoreState(GameLevelSnapshot snapshot);
+
 	default Stream<Vector2i> tilesContainingFood() {
 		return tiles().filter(this::containsFood);
 	}
@@ -23,9 +23,6 @@ SOFTWARE.
  */
 package de.amr.games.pacman.model.mspacman;
 
-import static de.amr.games.pacman.event.GameEvents.publishGameEvent;
-import static de.amr.games.pacman.event.GameEvents.publishSoundEvent;
-
 import java.util.List;
 
 import org.apache.logging.log4j.LogManager;
@@ -36,6 +33,7 @@ import de.amr.games.pacman.lib.anim.SimpleAnimation;
 import de.amr.games.pacman.lib.steering.NavigationPoint;
 import de.amr.games.pacman.lib.steering.RouteBasedSteering;
 import de.amr.games.pacman.model.common.GameLevel;
+import de.amr.games.pacman.model.common.GameLevelSnapshot;
 import de.amr.games.pacman.model.common.GameModel;
 import de.amr.games.pacman.model.common.actors.Bonus;
 import de.amr.games.pacman.model.common.actors.Creature;
@@ -132,13 +130,29 @@ public class MovingBonus implements Bonus {
 	}
 
 	@Override
-	public void eat() {
+	public void eat(GameLevel level) {
 		state = Bonus.STATE_EATEN;
 		timer = GameModel.TICKS_BONUS_POINTS_SHOWN;
 		LOG.info("Bonus eaten: %s", this);
 		jumpAnimation.stop();
-		publishGameEvent(GameEventType.BONUS_GETS_EATEN, bonusCreature.tile());
-		publishSoundEvent(GameModel.SE_BONUS_EATEN);
+		level.game().publishGameEvent(GameEventType.BONUS_GETS_EATEN, bonusCreature.tile());
+		level.game().publishSoundEvent(GameModel.SE_BONUS_EATEN);
+	}
+
+	@Override
+	public void saveState(GameLevelSnapshot snapshot) {
+		bonusCreature.saveState(snapshot);
+		snapshot.putLong(timer);
+		snapshot.putInt(state);
+		steering.saveState(snapshot);
+	}
+
+	@Override
+	public void restoreState(GameLevelSnapshot snapshot) {
+		bonusCreature.restoreState(snapshot);
+		timer = snapshot.getLong();
+		state = (byte) snapshot.getInt();
+		steering.restoreState(snapshot);
 	}
 
 	public float dy() {
@@ -153,13 +167,13 @@ public class MovingBonus implements Bonus {
 		case STATE_EDIBLE -> {
 			if (bonusCreature.sameTile(level.pac())) {
 				level.game().scorePoints(points);
-				eat();
+				eat(level);
 				return;
 			}
 			steering.steer(level, bonusCreature);
 			if (steering.isComplete()) {
 				LOG.info("Bonus reached target: %s", this);
-				publishGameEvent(GameEventType.BONUS_EXPIRES, bonusCreature.tile());
+				level.game().publishGameEvent(GameEventType.BONUS_EXPIRES, bonusCreature.tile());
 				setInactive();
 				return;
 			}
@@ -171,7 +185,7 @@ public class MovingBonus implements Bonus {
 			if (--timer == 0) {
 				setInactive();
 				LOG.info("Bonus expired: %s", this);
-				publishGameEvent(GameEventType.BONUS_EXPIRES, bonusCreature.tile());
+				level.game().publishGameEvent(GameEventType.BONUS_EXPIRES, bonusCreature.tile());
 			}
 		}
 		default -> throw new IllegalStateException();
@@ -32,7 +32,6 @@ import static de.amr.games.pacman.model.common.actors.Ghost.ID_RED_GHOST;
 import java.util.ArrayList;
 
 import de.amr.games.pacman.event.GameEventType;
-import de.amr.games.pacman.event.GameEvents;
 import de.amr.games.pacman.lib.steering.Direction;
 import de.amr.games.pacman.lib.steering.NavigationPoint;
 import de.amr.games.pacman.lib.timer.TickTimer;
@@ -264,7 +263,7 @@ public class MsPacManGame extends GameModel {
 	@Override
 	public Bonus createBonus(int levelNumber) {
 		checkLevelNumber(levelNumber);
-		int n = (levelNumber > 7) ? 1 + RND.nextInt(7) : levelNumber;
+		int n = (levelNumber > 7) ? 1 + rnd.nextInt(7) : levelNumber;
 		return switch (n) {
 		//@formatter:off
 		case 1 -> new MovingBonus(0,  100); // Cherries
@@ -326,9 +325,9 @@ public class MsPacManGame extends GameModel {
 	@Override
 	public void onBonusReached() {
 		int numPortals = level.world().portals().size();
-		var leftToRight = RND.nextBoolean();
-		var entryPortal = (HorizontalPortal) level.world().portals().get(RND.nextInt(numPortals));
-		var exitPortal = (HorizontalPortal) level.world().portals().get(RND.nextInt(numPortals));
+		var leftToRight = rnd.nextBoolean();
+		var entryPortal = (HorizontalPortal) level.world().portals().get(rnd.nextInt(numPortals));
+		var exitPortal = (HorizontalPortal) level.world().portals().get(rnd.nextInt(numPortals));
 		var startPoint = leftToRight ? np(entryPortal.leftTunnelEnd()) : np(entryPortal.rightTunnelEnd());
 		var exitPoint = leftToRight ? np(exitPortal.rightTunnelEnd().plus(1, 0))
 				: np(exitPortal.leftTunnelEnd().minus(1, 0));
@@ -345,7 +344,7 @@ public class MsPacManGame extends GameModel {
 		movingBonus.entity().placeAtTile(startPoint.tile(), 0, 0);
 		movingBonus.entity().setMoveAndWishDir(leftToRight ? Direction.RIGHT : Direction.LEFT);
 		movingBonus.setEdible(TickTimer.INDEFINITE);
-		GameEvents.publishGameEvent(GameEventType.BONUS_GETS_ACTIVE, movingBonus.entity().tile());
+		publishGameEvent(GameEventType.BONUS_GETS_ACTIVE, movingBonus.entity().tile());
 	}
 
 	/**
@@ -369,7 +368,7 @@ public class MsPacManGame extends GameModel {
 		level = new MsPacManGameDemoLevel(this);
 		level.letsGetReadyToRumbleAndShowGuys(true);
 		scoringEnabled = false;
-		GameEvents.setSoundEventsEnabled(false);
+		events.setSoundEventsEnabled(false);
 		LOG.info("Ms. Pac-Man demo level entered");
 	}
 }
\ No newline at end of file
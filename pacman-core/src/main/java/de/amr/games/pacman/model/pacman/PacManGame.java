@@ -33,7 +33,6 @@ import static de.amr.games.pacman.model.common.world.World.halfTileRightOf;
 import java.util.List;
 
 import de.amr.games.pacman.event.GameEventType;
-import de.amr.games.pacman.event.GameEvents;
 import de.amr.games.pacman.lib.math.Vector2i;
 import de.amr.games.pacman.model.common.GameModel;
 import de.amr.games.pacman.model.common.GameVariant;
@@ -167,10 +166,10 @@ public class PacManGame extends GameModel {
 	@Override
 	public void onBonusReached() {
 		var bonus = level.bonus();
-		int ticks = 10 * FPS - RND.nextInt(FPS); // between 9 and 10 seconds
+		int ticks = 10 * FPS - rnd.nextInt(FPS); // between 9 and 10 seconds
 		bonus.setEdible(ticks);
 		LOG.info("Bonus activated for %d ticks (%.2f seconds): %s", ticks, (float) ticks / FPS, bonus);
-		GameEvents.publishGameEvent(GameEventType.BONUS_GETS_ACTIVE, bonus.entity().tile());
+		publishGameEvent(GameEventType.BONUS_GETS_ACTIVE, bonus.entity().tile());
 	}
 
 	@Override
@@ -178,7 +177,7 @@ public class PacManGame extends GameModel {
 		level = new PacManGameDemoLevel(this);
 		level.letsGetReadyToRumbleAndShowGuys(true);
 		scoringEnabled = false;
-		GameEvents.setSoundEventsEnabled(false);
+		events.setSoundEventsEnabled(false);
 		LOG.info("Pac-Man demo level entered");
 	}
 }
\ No newline at end of file
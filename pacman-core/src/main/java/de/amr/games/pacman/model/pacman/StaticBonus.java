@@ -23,14 +23,12 @@ SOFTWARE.
  */
 package de.amr.games.pacman.model.pacman;
 
-import static de.amr.games.pacman.event.GameEvents.publishGameEvent;
-import static de.amr.games.pacman.event.GameEvents.publishSoundEvent;
-
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import de.amr.games.pacman.event.GameEventType;
 import de.amr.games.pacman.model.common.GameLevel;
+import de.amr.games.pacman.model.common.GameLevelSnapshot;
 import de.amr.games.pacman.model.common.GameModel;
 import de.amr.games.pacman.model.common.actors.Bonus;
 import de.amr.games.pacman.model.common.actors.Entity;
@@ -102,18 +100,32 @@ public class StaticBonus implements Bonus {
 	}
 
 	@Override
-	public void eat() {
+	public void eat(GameLevel level) {
 		timer = GameModel.TICKS_BONUS_POINTS_SHOWN;
 		state = Bonus.STATE_EATEN;
 		LOG.info("Bonus eaten: %s", this);
-		publishGameEvent(GameEventType.BONUS_GETS_EATEN, entity.tile());
-		publishSoundEvent(GameModel.SE_BONUS_EATEN);
+		level.game().publishGameEvent(GameEventType.BONUS_GETS_EATEN, entity.tile());
+		level.game().publishSoundEvent(GameModel.SE_BONUS_EATEN);
+	}
+
+	@Override
+	public void saveState(GameLevelSnapshot snapshot) {
+		entity.saveState(snapshot);
+		snapshot.putLong(timer);
+		snapshot.putInt(state);
+	}
+
+	@Override
+	public void restoreState(GameLevelSnapshot snapshot) {
+		entity.restoreState(snapshot);
+		timer = snapshot.getLong();
+		state = (byte) snapshot.getInt();
 	}
 
-	private void expire() {
+	private void expire(GameLevel level) {
 		setInactive();
 		LOG.info("Bonus expired: %s", this);
-		publishGameEvent(GameEventType.BONUS_EXPIRES, entity.tile());
+		level.game().publishGameEvent(GameEventType.BONUS_EXPIRES, entity.tile());
 	}
 
 	@Override
@@ -125,16 +137,16 @@ public class StaticBonus implements Bonus {
 		case Bonus.STATE_EDIBLE -> {
 			if (entity.sameTile(level.pac())) {
 				level.game().scorePoints(points);
-				eat();
+				eat(level);
 			} else if (timer == 0) {
-				expire();
+				expire(level);
 			} else {
 				--timer;
 			}
 		}
 		case Bonus.STATE_EATEN -> {
 			if (timer == 0) {
-				expire();
+				expire(level);
 			} else {
 				--timer;
 			}
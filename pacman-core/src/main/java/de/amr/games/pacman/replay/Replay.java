@@ -0,0 +1,232 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+package de.amr.games.pacman.replay;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Objects;
+
+import de.amr.games.pacman.lib.steering.Direction;
+import de.amr.games.pacman.model.common.GameVariant;
+
+/**
+ * A recorded game: the game variant, the random seed, the movement mode and the Pac-Man wish direction of each
+ * steered tick. Together with the deterministic game rules this is all it takes to reproduce a game exactly.
+ * <p>
+ * The directions are stored run-length encoded. Pac-Man changes his wish direction only every few tiles, so a
+ * complete game of several ten thousand ticks needs just a few kilobytes.
+ * <p>
+ * Binary format (big-endian): magic number "PMRP" (4 bytes), format version (1 byte), game variant ordinal (1 byte),
+ * flags (1 byte, bit 0 = step movement), seed (8 bytes), number of runs (4 bytes) followed by one variable-length
+ * integer (7 bits per byte, low bits first) per run with value <code>(length &lt;&lt; 2) | direction ordinal</code>.
+ * Version 1 of the format has no flags byte.
+ * 
+ * @author Armin Reichert
+ */
+public final class Replay {
+
+	private static final int MAGIC = 0x504D5250; // "PMRP"
+	private static final int VERSION = 2;
+	private static final int FLAG_STEP_MOVEMENT = 1;
+
+	private final GameVariant variant;
+	private final long seed;
+	private final boolean stepMovement;
+	private final byte[] runDirs;
+	private final int[] runLengths;
+	private final long numTicks;
+
+	Replay(GameVariant variant, long seed, boolean stepMovement, byte[] runDirs, int[] runLengths) {
+		if (runDirs.length != runLengths.length) {
+			throw new IllegalArgumentException("Number of run directions and run lengths differ");
+		}
+		this.variant = Objects.requireNonNull(variant);
+		this.seed = seed;
+		this.stepMovement = stepMovement;
+		this.runDirs = runDirs;
+		this.runLengths = runLengths;
+		long sum = 0;
+		for (int length : runLengths) {
+			if (length <= 0) {
+				throw new IllegalArgumentException("Run length must be positive but is: " + length);
+			}
+			sum += length;
+		}
+		this.numTicks = sum;
+	}
+
+	public GameVariant variant() {
+		return variant;
+	}
+
+	public long seed() {
+		return seed;
+	}
+
+	/**
+	 * @return if the game was played with step movement, see {@link de.amr.games.pacman.model.common.GameModel#isStepMovement()}
+	 */
+	public boolean stepMovement() {
+		return stepMovement;
+	}
+
+	/**
+	 * @return number of recorded (steered) ticks
+	 */
+	public long numTicks() {
+		return numTicks;
+	}
+
+	/**
+	 * @return number of runs of equal directions
+	 */
+	public int numRuns() {
+		return runDirs.length;
+	}
+
+	Direction runDir(int run) {
+		return Direction.byOrdinal(runDirs[run]);
+	}
+
+	int runLength(int run) {
+		return runLengths[run];
+	}
+
+	/**
+	 * Writes this replay in binary format.
+	 * 
+	 * @param out output stream, not closed by this method
+	 * @throws IOException if writing fails
+	 */
+	public void write(OutputStream out) throws IOException {
+		var data = new DataOutputStream(out);
+		data.writeInt(MAGIC);
+		data.writeByte(VERSION);
+		data.writeByte(variant.ordinal());
+		data.writeByte(stepMovement ? FLAG_STEP_MOVEMENT : 0);
+		data.writeLong(seed);
+		data.writeInt(runDirs.length);
+		for (int run = 0; run < runDirs.length; ++run) {
+			long value = ((long) runLengths[run] << 2) | runDirs[run];
+			while ((value & ~0x7FL) != 0) {
+				data.writeByte((int) (value & 0x7F) | 0x80);
+				value >>>= 7;
+			}
+			data.writeByte((int) value);
+		}
+		data.flush();
+	}
+
+	/**
+	 * Reads a replay in binary format.
+	 * 
+	 * @param in input stream, not closed by this method
+	 * @return the replay
+	 * @throws IOException if reading fails or the data is no valid replay
+	 */
+	public static Replay read(InputStream in) throws IOException {
+		var data = new DataInputStream(in);
+		if (data.readInt() != MAGIC) {
+			throw new IOException("Data is no Pac-Man replay");
+		}
+		int version = data.readUnsignedByte();
+		if (version < 1 || version > VERSION) {
+			throw new IOException("Unsupported replay format version: " + version);
+		}
+		int variantOrdinal = data.readUnsignedByte();
+		if (variantOrdinal >= GameVariant.values().length) {
+			throw new IOException("Illegal game variant ordinal: " + variantOrdinal);
+		}
+		int flags = version >= 2 ? data.readUnsignedByte() : 0;
+		long seed = data.readLong();
+		int numRuns = data.readInt();
+		if (numRuns < 0) {
+			throw new IOException("Illegal number of runs: " + numRuns);
+		}
+		var runDirs = new byte[numRuns];
+		var runLengths = new int[numRuns];
+		for (int run = 0; run < numRuns; ++run) {
+			long value = 0;
+			int shift = 0;
+			int b;
+			do {
+				if (shift > 35) {
+					throw new IOException("Illegal run encoding");
+				}
+				b = data.readUnsignedByte();
+				value |= (long) (b & 0x7F) << shift;
+				shift += 7;
+			} while ((b & 0x80) != 0);
+			long length = value >>> 2;
+			if (length <= 0 || length > Integer.MAX_VALUE) {
+				throw new IOException("Illegal run length: " + length);
+			}
+			runDirs[run] = (byte) (value & 3);
+			runLengths[run] = (int) length;
+		}
+		return new Replay(GameVariant.values()[variantOrdinal], seed, (flags & FLAG_STEP_MOVEMENT) != 0, runDirs,
+				runLengths);
+	}
+
+	/**
+	 * @return this replay in binary format
+	 */
+	public byte[] toByteArray() {
+		var bytes = new ByteArrayOutputStream(64 + 2 * runDirs.length);
+		try {
+			write(bytes);
+		} catch (IOException x) {
+			throw new UncheckedIOException(x);
+		}
+		return bytes.toByteArray();
+	}
+
+	public void save(File file) throws IOException {
+		try (var out = new BufferedOutputStream(new FileOutputStream(file))) {
+			write(out);
+		}
+	}
+
+	public static Replay load(File file) throws IOException {
+		try (var in = new BufferedInputStream(new FileInputStream(file))) {
+			return read(in);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "Replay [variant=%s, seed=%d, stepMovement=%s, ticks=%d, runs=%d]".formatted(variant, seed, stepMovement,
+				numTicks, runDirs.length);
+	}
+}
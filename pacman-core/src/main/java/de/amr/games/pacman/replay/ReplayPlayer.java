@@ -0,0 +1,112 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+package de.amr.games.pacman.replay;
+
+import java.util.Objects;
+
+import de.amr.games.pacman.controller.common.Steering;
+import de.amr.games.pacman.model.common.GameLevel;
+import de.amr.games.pacman.model.common.actors.Creature;
+
+/**
+ * Plays a recorded game by steering Pac-Man exactly as recorded. The game is re-seeded with the recording seed when
+ * the first tick is steered. When the recording is exhausted, Pac-Man keeps his last wish direction.
+ * <p>
+ * Usage: <code>gameController.setManualPacSteering(new ReplayPlayer(replay))</code>, then start the game like the
+ * recorded one.
+ * 
+ * @author Armin Reichert
+ */
+public class ReplayPlayer implements Steering {
+
+	private final Replay replay;
+	private boolean enabled;
+	private long tick;
+	private int run;
+	private int tickInRun;
+
+	public ReplayPlayer(Replay replay) {
+		this.replay = Objects.requireNonNull(replay);
+	}
+
+	public Replay replay() {
+		return replay;
+	}
+
+	/**
+	 * @return number of ticks played so far
+	 */
+	public long tick() {
+		return tick;
+	}
+
+	/**
+	 * @return if all recorded ticks have been played
+	 */
+	public boolean isComplete() {
+		return tick == replay.numTicks();
+	}
+
+	@Override
+	public void steer(GameLevel level, Creature guy) {
+		if (tick == 0) {
+			var game = level.game();
+			if (game.variant() != replay.variant()) {
+				throw new IllegalStateException(
+						"Replay of variant %s cannot be played in game variant %s".formatted(replay.variant(), game.variant()));
+			}
+			game.setSeed(replay.seed());
+			game.setStepMovement(replay.stepMovement());
+		}
+		if (isComplete()) {
+			return;
+		}
+		guy.setWishDir(replay.runDir(run));
+		if (++tickInRun == replay.runLength(run)) {
+			++run;
+			tickInRun = 0;
+		}
+		++tick;
+	}
+
+	@Override
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	@Override
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	/**
+	 * Rewinds to the start of the recording.
+	 */
+	@Override
+	public void init() {
+		tick = 0;
+		run = 0;
+		tickInRun = 0;
+	}
+}
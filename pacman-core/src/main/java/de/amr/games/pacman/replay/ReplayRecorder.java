@@ -0,0 +1,125 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+package de.amr.games.pacman.replay;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import de.amr.games.pacman.controller.common.Steering;
+import de.amr.games.pacman.model.common.GameLevel;
+import de.amr.games.pacman.model.common.GameVariant;
+import de.amr.games.pacman.model.common.actors.Creature;
+
+/**
+ * Records a game by wrapping the Pac-Man steering. The game is re-seeded with the recording seed when the first tick
+ * is steered, after each tick the resulting wish direction is appended to the recording.
+ * <p>
+ * Usage: <code>gameController.setManualPacSteering(new ReplayRecorder(steering, seed))</code>, play the game, then
+ * call {@link #replay()}.
+ * 
+ * @author Armin Reichert
+ */
+public class ReplayRecorder implements Steering {
+
+	private final Steering delegate;
+	private final long seed;
+	private GameVariant variant;
+	private boolean stepMovement;
+	private byte[] runDirs = new byte[256];
+	private int[] runLengths = new int[256];
+	private int numRuns;
+
+	/**
+	 * @param delegate the steering that actually controls Pac-Man
+	 * @param seed     random seed of the recorded game
+	 */
+	public ReplayRecorder(Steering delegate, long seed) {
+		this.delegate = Objects.requireNonNull(delegate);
+		this.seed = seed;
+	}
+
+	@Override
+	public void steer(GameLevel level, Creature guy) {
+		if (variant == null) {
+			variant = level.game().variant();
+			stepMovement = level.game().isStepMovement();
+			level.game().setSeed(seed);
+		}
+		delegate.steer(level, guy);
+		record((byte) guy.wishDir().ordinal());
+	}
+
+	private void record(byte dir) {
+		if (numRuns > 0 && runDirs[numRuns - 1] == dir && runLengths[numRuns - 1] < Integer.MAX_VALUE) {
+			++runLengths[numRuns - 1];
+			return;
+		}
+		if (numRuns == runDirs.length) {
+			runDirs = Arrays.copyOf(runDirs, 2 * numRuns);
+			runLengths = Arrays.copyOf(runLengths, 2 * numRuns);
+		}
+		runDirs[numRuns] = dir;
+		runLengths[numRuns] = 1;
+		++numRuns;
+	}
+
+	/**
+	 * @return the recording so far
+	 * @throws IllegalStateException if nothing has been recorded yet
+	 */
+	public Replay replay() {
+		if (variant == null) {
+			throw new IllegalStateException("Nothing has been recorded yet");
+		}
+		return new Replay(variant, seed, stepMovement, Arrays.copyOf(runDirs, numRuns),
+				Arrays.copyOf(runLengths, numRuns));
+	}
+
+	/**
+	 * @return if at least one tick has been recorded
+	 */
+	public boolean isRecording() {
+		return variant != null;
+	}
+
+	@Override
+	public boolean isEnabled() {
+		return delegate.isEnabled();
+	}
+
+	@Override
+	public void setEnabled(boolean enabled) {
+		delegate.setEnabled(enabled);
+	}
+
+	/**
+	 * Discards the recording and initializes the wrapped steering.
+	 */
+	@Override
+	public void init() {
+		variant = null;
+		numRuns = 0;
+		delegate.init();
+	}
+}
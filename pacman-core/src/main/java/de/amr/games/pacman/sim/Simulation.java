@@ -0,0 +1,227 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+package de.amr.games.pacman.sim;
+
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import de.amr.games.pacman.controller.common.GameController;
+import de.amr.games.pacman.controller.common.Steering;
+import de.amr.games.pacman.model.common.GameLevel;
+import de.amr.games.pacman.model.common.GameModel;
+import de.amr.games.pacman.model.common.GameVariant;
+import de.amr.games.pacman.model.common.Score;
+import de.amr.games.pacman.model.common.actors.Creature;
+import de.amr.games.pacman.model.common.actors.GhostState;
+
+/**
+ * Headless simulation of a complete game.
+ * <p>
+ * Instead of driving the game through the {@link GameController} state machine, the simulation steps
+ * {@link GameLevel#update()} in a tight loop. States that only exist for presentation (ready, level complete, Pac-Man
+ * dying, game over, intermissions) are skipped completely, so a game runs as fast as the CPU allows. The only
+ * non-hunting phase that is simulated is the "ghost dying" phase because the eaten ghosts keep moving during that time.
+ * <p>
+ * A complete game is played by {@link #run()}. Benchmarks and tests that need control over each tick call
+ * {@link #start()} once and then {@link #step()} per tick.
+ * 
+ * @author Armin Reichert
+ */
+public class Simulation {
+
+	private static final Logger LOG = LogManager.getFormatterLogger();
+
+	/** Number of ticks the game is frozen after a ghost has been killed (1 second). */
+	private static final int GHOST_DYING_TICKS = GameModel.FPS;
+
+	/** Only the ghosts in these states move while a killed ghost is displayed. */
+	private static final int GHOSTS_MOVING_WHILE_GHOST_DYING = GhostState.mask(GhostState.EATEN,
+			GhostState.RETURNING_TO_HOUSE, GhostState.ENTERING_HOUSE);
+
+	private final GameController gameController;
+	private final GameModel game;
+	private final Steering pacSteering;
+	private int maxLevel = Integer.MAX_VALUE;
+	private long maxTicks = Long.MAX_VALUE;
+	private long seed = ThreadLocalRandom.current().nextLong();
+
+	private long ticks;
+	private int deaths;
+	private int ghostDyingTicksLeft;
+
+	/**
+	 * @param variant     game variant to simulate
+	 * @param pacSteering steering of Pac-Man
+	 */
+	public Simulation(GameVariant variant, Steering pacSteering) {
+		Objects.requireNonNull(variant);
+		this.pacSteering = Objects.requireNonNull(pacSteering);
+		gameController = new GameController(variant);
+		game = gameController.game();
+	}
+
+	/**
+	 * @return the simulated game model
+	 */
+	public GameModel game() {
+		return game;
+	}
+
+	/**
+	 * @param maxLevel the simulation ends after this level has been completed
+	 */
+	public void setMaxLevel(int maxLevel) {
+		GameModel.checkLevelNumber(maxLevel);
+		this.maxLevel = maxLevel;
+	}
+
+	/**
+	 * @param maxTicks the simulation is aborted after this number of ticks
+	 */
+	public void setMaxTicks(long maxTicks) {
+		if (maxTicks <= 0) {
+			throw new IllegalArgumentException("Tick limit must be positive but is: " + maxTicks);
+		}
+		this.maxTicks = maxTicks;
+	}
+
+	/**
+	 * @param seed the random seed of the simulated game. Simulations with the same seed, settings and deterministic
+	 *             steering produce the same result.
+	 */
+	public void setSeed(long seed) {
+		this.seed = seed;
+	}
+
+	/**
+	 * @param immune if Pac-Man cannot get killed by ghosts
+	 */
+	public void setImmune(boolean immune) {
+		game.setImmune(immune);
+	}
+
+	/**
+	 * Plays a complete game until all lives are lost, the maximum level has been completed or the tick limit is
+	 * reached.
+	 * 
+	 * @return the simulation result
+	 */
+	public SimulationResult run() {
+		long startTime = System.nanoTime();
+		start();
+		boolean running = true;
+		while (running && ticks < maxTicks) {
+			running = step();
+		}
+		game.setPlaying(false);
+		var result = new SimulationResult(game.variant(), seed, game.score().map(Score::points).orElse(0),
+				game.level().map(GameLevel::number).orElse(0), deaths, ticks, System.nanoTime() - startTime, running);
+		LOG.trace("Simulation finished: %s", result);
+		return result;
+	}
+
+	/**
+	 * Starts a new game: the first level is entered and the hunting begins.
+	 */
+	public void start() {
+		ticks = 0;
+		deaths = 0;
+		ghostDyingTicksLeft = 0;
+		game.setSeed(seed);
+		game.init();
+		game.newScore();
+		game.clearLevelCounter();
+		game.setPlaying(true);
+		pacSteering.init();
+		game.enterLevel(1);
+		startLevel(game.level().orElseThrow());
+	}
+
+	/**
+	 * @return number of ticks simulated since the game was started
+	 */
+	public long ticks() {
+		return ticks;
+	}
+
+	private void startLevel(GameLevel level) {
+		level.guys().forEach(Creature::show);
+		level.startHunting(0);
+	}
+
+	/**
+	 * Executes one tick of the game started by {@link #start()}. The tick limit is not checked.
+	 * 
+	 * @return if the game continues
+	 */
+	public boolean step() {
+		var level = game.level().orElseThrow();
+		if (ghostDyingTicksLeft > 0) {
+			stepGhostDying(level);
+			return true;
+		}
+		level.steerPac(pacSteering);
+		level.update();
+		gameController.events().dispatchQueuedEvents();
+		++ticks;
+		if (level.completed()) {
+			level.exit();
+			if (level.number() == maxLevel) {
+				return false;
+			}
+			game.nextLevel();
+			startLevel(game.level().orElseThrow());
+		} else if (level.pacKilled()) {
+			level.onPacKilled();
+			level.bonus().setInactive();
+			++deaths;
+			game.setLives(game.lives() - 1);
+			if (game.lives() == 0) {
+				return false;
+			}
+			level.letsGetReadyToRumbleAndShowGuys(true);
+			level.startHunting(0);
+		} else if (level.memo().edibleGhostsExist()) {
+			level.killEdibleGhosts();
+			ghostDyingTicksLeft = GHOST_DYING_TICKS;
+		}
+		return true;
+	}
+
+	/**
+	 * Corresponds to the GHOST_DYING state of the game controller: only the eaten ghosts move.
+	 */
+	private void stepGhostDying(GameLevel level) {
+		level.steerPac(pacSteering);
+		level.forEachGhost(GHOSTS_MOVING_WHILE_GHOST_DYING, ghost -> ghost.update(level));
+		gameController.events().dispatchQueuedEvents();
+		++ticks;
+		if (--ghostDyingTicksLeft == 0) {
+			level.forEachGhost(GhostState.EATEN.bit(), ghost -> ghost.enterStateReturningToHouse(level));
+		}
+	}
+}
@@ -0,0 +1,149 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+package de.amr.games.pacman.sim;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import de.amr.games.pacman.controller.common.Steering;
+import de.amr.games.pacman.model.common.GameModel;
+import de.amr.games.pacman.model.common.GameVariant;
+
+/**
+ * Runs many independent game simulations concurrently, one per seed.
+ * <p>
+ * Each simulation gets its own game controller, game model and Pac-Man steering (created by the steering factory), so
+ * the games do not share any mutable state and the work scales with the number of available cores.
+ * 
+ * @author Armin Reichert
+ */
+public class SimulationFarm {
+
+	private static final Logger LOG = LogManager.getFormatterLogger();
+
+	private final GameVariant variant;
+	private final Supplier<? extends Steering> steeringFactory;
+	private int parallelism = Runtime.getRuntime().availableProcessors();
+	private int maxLevel = Integer.MAX_VALUE;
+	private long maxTicks = Long.MAX_VALUE;
+	private boolean immune;
+
+	/**
+	 * @param variant         game variant to simulate
+	 * @param steeringFactory creates the Pac-Man steering for each simulated game
+	 */
+	public SimulationFarm(GameVariant variant, Supplier<? extends Steering> steeringFactory) {
+		this.variant = Objects.requireNonNull(variant);
+		this.steeringFactory = Objects.requireNonNull(steeringFactory);
+	}
+
+	/**
+	 * @param parallelism maximum number of games simulated at the same time
+	 */
+	public void setParallelism(int parallelism) {
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("Parallelism must be at least 1 but is: " + parallelism);
+		}
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * @param maxLevel each simulation ends after this level has been completed
+	 */
+	public void setMaxLevel(int maxLevel) {
+		GameModel.checkLevelNumber(maxLevel);
+		this.maxLevel = maxLevel;
+	}
+
+	/**
+	 * @param maxTicks each simulation is aborted after this number of ticks
+	 */
+	public void setMaxTicks(long maxTicks) {
+		if (maxTicks <= 0) {
+			throw new IllegalArgumentException("Tick limit must be positive but is: " + maxTicks);
+		}
+		this.maxTicks = maxTicks;
+	}
+
+	/**
+	 * @param immune if Pac-Man cannot get killed by ghosts
+	 */
+	public void setImmune(boolean immune) {
+		this.immune = immune;
+	}
+
+	/**
+	 * Simulates one game per seed.
+	 * 
+	 * @param seeds random seeds of the games
+	 * @return the aggregated results, in the order of the given seeds
+	 */
+	public SimulationFarmResult run(long... seeds) {
+		Objects.requireNonNull(seeds);
+		long startTime = System.nanoTime();
+		var tasks = new ArrayList<Callable<SimulationResult>>(seeds.length);
+		for (long seed : seeds) {
+			tasks.add(() -> simulate(seed));
+		}
+		var pool = new ForkJoinPool(parallelism);
+		try {
+			var results = new ArrayList<SimulationResult>(seeds.length);
+			for (Future<SimulationResult> future : pool.invokeAll(tasks)) {
+				results.add(future.get());
+			}
+			var farmResult = new SimulationFarmResult(List.copyOf(results), System.nanoTime() - startTime);
+			LOG.info("Simulation farm finished: %s", farmResult);
+			return farmResult;
+		} catch (InterruptedException x) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Simulation farm has been interrupted", x);
+		} catch (ExecutionException x) {
+			throw new IllegalStateException("Simulation failed", x.getCause());
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	private SimulationResult simulate(long seed) {
+		var sim = new Simulation(variant, steeringFactory.get());
+		sim.setSeed(seed);
+		sim.setImmune(immune);
+		if (maxLevel != Integer.MAX_VALUE) {
+			sim.setMaxLevel(maxLevel);
+		}
+		if (maxTicks != Long.MAX_VALUE) {
+			sim.setMaxTicks(maxTicks);
+		}
+		return sim.run();
+	}
+}
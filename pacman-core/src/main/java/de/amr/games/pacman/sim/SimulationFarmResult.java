@@ -0,0 +1,78 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+package de.amr.games.pacman.sim;
+
+import java.util.IntSummaryStatistics;
+import java.util.List;
+import java.util.LongSummaryStatistics;
+
+/**
+ * Aggregated outcome of a simulation farm run.
+ * 
+ * @param results results of the single simulations, in the order of their seeds
+ * @param nanos   wall-clock time the whole run took (nanoseconds)
+ * 
+ * @author Armin Reichert
+ */
+public record SimulationFarmResult(List<SimulationResult> results, long nanos) {
+
+	/**
+	 * @return number of simulated games
+	 */
+	public int games() {
+		return results.size();
+	}
+
+	public IntSummaryStatistics scoreStatistics() {
+		return results.stream().mapToInt(SimulationResult::score).summaryStatistics();
+	}
+
+	public IntSummaryStatistics levelStatistics() {
+		return results.stream().mapToInt(SimulationResult::levelReached).summaryStatistics();
+	}
+
+	public IntSummaryStatistics deathStatistics() {
+		return results.stream().mapToInt(SimulationResult::deaths).summaryStatistics();
+	}
+
+	public LongSummaryStatistics tickStatistics() {
+		return results.stream().mapToLong(SimulationResult::ticks).summaryStatistics();
+	}
+
+	/**
+	 * @return number of simulated ticks (over all games) per second of wall-clock time
+	 */
+	public double ticksPerSecond() {
+		return nanos == 0 ? 0 : tickStatistics().getSum() * 1e9 / nanos;
+	}
+
+	@Override
+	public String toString() {
+		var scores = scoreStatistics();
+		var levels = levelStatistics();
+		return "[games=%d score(avg=%.1f max=%d) level(avg=%.2f max=%d) deaths(avg=%.2f) ticks=%d time=%.2f millis ticks/sec=%.0f]"
+				.formatted(games(), scores.getAverage(), scores.getMax(), levels.getAverage(), levels.getMax(),
+						deathStatistics().getAverage(), tickStatistics().getSum(), nanos / 1e6, ticksPerSecond());
+	}
+}
@@ -0,0 +1,57 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+package de.amr.games.pacman.sim;
+
+import de.amr.games.pacman.model.common.GameVariant;
+
+/**
+ * Outcome of a headless game simulation.
+ * 
+ * @param variant      the simulated game variant
+ * @param seed         the random seed of the simulated game
+ * @param score        points scored
+ * @param levelReached number of the last level entered
+ * @param deaths       number of lives lost
+ * @param ticks        number of simulated ticks
+ * @param nanos        wall-clock time the simulation took (nanoseconds)
+ * @param aborted      if the simulation was aborted because the tick limit was reached
+ * 
+ * @author Armin Reichert
+ */
+public record SimulationResult(GameVariant variant, long seed, int score, int levelReached, int deaths, long ticks, long nanos,
+		boolean aborted) {
+
+	/**
+	 * @return number of simulated ticks per second of wall-clock time
+	 */
+	public double ticksPerSecond() {
+		return nanos == 0 ? 0 : ticks * 1e9 / nanos;
+	}
+
+	@Override
+	public String toString() {
+		return "[%s seed=%d score=%d level=%d deaths=%d ticks=%d time=%.2f millis ticks/sec=%.0f%s]".formatted(variant,
+				seed, score, levelReached, deaths, ticks, nanos / 1e6, ticksPerSecond(), aborted ? " ABORTED" : "");
+	}
+}
@@ -19,6 +19,8 @@
 module de.amr.games.pacman {
 
 	requires transitive org.apache.logging.log4j;
+	requires transitive java.management;
+	requires jdk.management;
 
 	exports de.amr.games.pacman.controller.common;
 	exports de.amr.games.pacman.controller.mspacman;
@@ -28,6 +30,7 @@ module de.amr.games.pacman {
 	exports de.amr.games.pacman.lib.anim;
 	exports de.amr.games.pacman.lib.fsm;
 	exports de.amr.games.pacman.lib.math;
+	exports de.amr.games.pacman.lib.metrics;
 	exports de.amr.games.pacman.lib.option;
 	exports de.amr.games.pacman.lib.steering;
 	exports de.amr.games.pacman.lib.timer;
@@ -36,4 +39,6 @@ module de.amr.games.pacman {
 	exports de.amr.games.pacman.model.common.world;
 	exports de.amr.games.pacman.model.mspacman;
 	exports de.amr.games.pacman.model.pacman;
+	exports de.amr.games.pacman.replay;
+	exports de.amr.games.pacman.sim;
 }
\ No newline at end of file
@@ -0,0 +1,106 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+package de.amr.games.pacman.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Optional;
+
+import org.junit.Test;
+
+import de.amr.games.pacman.lib.math.Vector2i;
+import de.amr.games.pacman.lib.steering.Direction;
+import de.amr.games.pacman.model.common.world.ArcadeWorld;
+import de.amr.games.pacman.model.common.world.DistanceTable;
+import de.amr.games.pacman.model.mspacman.MsPacManGame;
+import de.amr.games.pacman.model.pacman.PacManGame;
+
+/**
+ * @author Armin Reichert
+ */
+public class DistanceTableTest {
+
+	@Test
+	public void testTableIsSharedPerMap() {
+		var world1 = new ArcadeWorld(MsPacManGame.MAP1);
+		var world2 = new ArcadeWorld(MsPacManGame.MAP1);
+		var world3 = new ArcadeWorld(MsPacManGame.MAP2);
+		assertSame(world1.distanceTable(), world2.distanceTable());
+		assertNotSame(world1.distanceTable(), world3.distanceTable());
+	}
+
+	@Test
+	public void testDistances() {
+		var world = new ArcadeWorld(PacManGame.MAP);
+		var pacStart = new Vector2i(13, 26);
+		assertEquals(0, world.pathDistance(pacStart, pacStart));
+		assertEquals(1, world.pathDistance(pacStart, new Vector2i(12, 26)));
+		assertEquals(DistanceTable.UNREACHABLE, world.pathDistance(pacStart, new Vector2i(0, 0)));
+		assertEquals(DistanceTable.UNREACHABLE, world.pathDistance(pacStart, new Vector2i(13, 15))); // door
+		assertEquals(DistanceTable.UNREACHABLE, world.pathDistance(pacStart, new Vector2i(-1, 17)));
+		world.tiles().filter(world::isFoodTile).forEach(tile -> {
+			int d = world.pathDistance(pacStart, tile);
+			assertTrue(d >= pacStart.manhattanDistance(tile) || world.isTunnel(tile));
+			assertEquals(d, world.pathDistance(tile, pacStart));
+		});
+	}
+
+	@Test
+	public void testPortal() {
+		var world = new ArcadeWorld(PacManGame.MAP);
+		var left = new Vector2i(0, 17);
+		var right = new Vector2i(27, 17);
+		assertEquals(1, world.pathDistance(left, right));
+		assertEquals(Optional.of(Direction.LEFT), world.nextStepTowards(left, right));
+		assertEquals(Optional.of(Direction.RIGHT), world.nextStepTowards(right, left));
+	}
+
+	@Test
+	public void testNextStepIsShared() {
+		var world = new ArcadeWorld(PacManGame.MAP);
+		var from = new Vector2i(1, 4);
+		var to = new Vector2i(26, 32);
+		assertSame(world.nextStepTowards(from, to), world.nextStepTowards(from, to));
+	}
+
+	@Test
+	public void testNextStep() {
+		var world = new ArcadeWorld(PacManGame.MAP);
+		var from = new Vector2i(1, 4);
+		var to = new Vector2i(26, 32);
+		assertEquals(Optional.empty(), world.nextStepTowards(from, from));
+		int steps = 0;
+		var tile = from;
+		while (!tile.equals(to)) {
+			var dir = world.nextStepTowards(tile, to).orElseThrow();
+			var next = tile.plus(dir.vector());
+			tile = new Vector2i(Math.floorMod(next.x(), world.numCols()), next.y()); // wrap around at portals
+			++steps;
+		}
+		assertEquals(world.pathDistance(from, to), steps);
+	}
+}
@@ -1,7 +1,12 @@
 package de.amr.games.pacman.test;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
@@ -15,6 +20,7 @@ import org.junit.Test;
 
 import de.amr.games.pacman.model.common.world.ArcadeWorld;
 import de.amr.games.pacman.model.common.world.FloorPlan;
+import de.amr.games.pacman.model.common.world.FloorPlanCache;
 import de.amr.games.pacman.model.common.world.World;
 import de.amr.games.pacman.model.mspacman.MsPacManGame;
 import de.amr.games.pacman.model.pacman.PacManGame;
@@ -64,6 +70,67 @@ public class FloorPlanTest {
 		});
 	}
 
+	@Test
+	public void testWallSegmentsCoverWallsExactlyOnce() {
+		for (var map : List.of(PacManGame.MAP, MsPacManGame.MAP1, MsPacManGame.MAP2, MsPacManGame.MAP3, MsPacManGame.MAP4)) {
+			for (int res : List.of(8, 4, 1)) {
+				var floorPlan = new FloorPlan(new ArcadeWorld(map), res);
+				var coverCount = new int[floorPlan.sizeY()][floorPlan.sizeX()];
+				var segments = floorPlan.wallSegments();
+				for (var segment : segments) {
+					for (int y = segment.y(); y < segment.y() + segment.sizeY(); ++y) {
+						for (int x = segment.x(); x < segment.x() + segment.sizeX(); ++x) {
+							++coverCount[y][x];
+						}
+					}
+				}
+				int numWallBlocks = 0;
+				for (int y = 0; y < floorPlan.sizeY(); ++y) {
+					for (int x = 0; x < floorPlan.sizeX(); ++x) {
+						byte b = floorPlan.get(x, y);
+						boolean wall = b == FloorPlan.CORNER || b == FloorPlan.HWALL || b == FloorPlan.VWALL;
+						assertEquals(wall ? 1 : 0, coverCount[y][x]);
+						if (wall) {
+							++numWallBlocks;
+						}
+					}
+				}
+				LOG.info("Resolution %d: %d wall blocks, %d segments", res, numWallBlocks, segments.size());
+				assertTrue(segments.size() * 4 < numWallBlocks);
+			}
+		}
+	}
+
+	@Test
+	public void testFloorPlanCache() throws IOException {
+		var cache = new FloorPlanCache();
+		var floorPlan = cache.floorPlan(new ArcadeWorld(MsPacManGame.MAP1), 8);
+		assertSame(floorPlan, cache.floorPlan(new ArcadeWorld(MsPacManGame.MAP1), 8));
+		assertNotSame(floorPlan, cache.floorPlan(new ArcadeWorld(MsPacManGame.MAP1), 4));
+		assertNotSame(floorPlan, cache.floorPlan(new ArcadeWorld(MsPacManGame.MAP2), 8));
+		assertEquals(3, cache.size());
+
+		var bytes = new ByteArrayOutputStream();
+		cache.write(bytes);
+		assertTrue("Cache size is " + bytes.size(), bytes.size() < 16 * 1024);
+		var loaded = FloorPlanCache.read(new ByteArrayInputStream(bytes.toByteArray()));
+		assertEquals(3, loaded.size());
+		var loadedPlan = loaded.floorPlan(new ArcadeWorld(MsPacManGame.MAP1), 8);
+		assertEquals(3, loaded.size());
+		assertEquals(floorPlan.sizeX(), loadedPlan.sizeX());
+		assertEquals(floorPlan.sizeY(), loadedPlan.sizeY());
+		for (int y = 0; y < floorPlan.sizeY(); ++y) {
+			for (int x = 0; x < floorPlan.sizeX(); ++x) {
+				assertEquals(floorPlan.get(x, y), loadedPlan.get(x, y));
+			}
+		}
+	}
+
+	@Test(expected = IOException.class)
+	public void testReadInvalidCacheData() throws IOException {
+		FloorPlanCache.read(new ByteArrayInputStream(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 }));
+	}
+
 	private static File file(String pattern, int mapNumber, int resolution) {
 		return new File(DIR, String.format(pattern, mapNumber, resolution));
 	}
@@ -0,0 +1,138 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+package de.amr.games.pacman.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+
+import de.amr.games.pacman.model.common.world.ArcadeWorld;
+import de.amr.games.pacman.model.common.world.World;
+import de.amr.games.pacman.model.mspacman.MsPacManGame;
+import de.amr.games.pacman.model.pacman.PacManGame;
+
+/**
+ * @author Armin Reichert
+ */
+public class FoodIndexTest {
+
+	private static int bruteForceMinDistance(World world, int from, boolean skipEnergizers) {
+		int minDist = Integer.MAX_VALUE;
+		for (int index = 0; index < world.numCols() * world.numRows(); ++index) {
+			if (world.containsFood(index) && !(skipEnergizers && world.isEnergizerTile(index))) {
+				int dist = world.pathDistance(from, index);
+				if (dist >= 0) {
+					minDist = Math.min(minDist, dist);
+				}
+			}
+		}
+		return minDist;
+	}
+
+	private static void checkQueries(World world, int from, boolean skipEnergizers) {
+		var result = new int[3];
+		int count = world.foodIndex().findNearest(from, 3, skipEnergizers, result);
+		if (count == 0) {
+			assertEquals(Integer.MAX_VALUE, bruteForceMinDistance(world, from, skipEnergizers));
+			return;
+		}
+		assertEquals(bruteForceMinDistance(world, from, skipEnergizers), world.pathDistance(from, result[0]));
+		for (int i = 0; i < count; ++i) {
+			assertTrue(world.containsFood(result[i]));
+			if (i > 0) {
+				assertTrue(world.pathDistance(from, result[i - 1]) <= world.pathDistance(from, result[i]));
+			}
+		}
+	}
+
+	@Test
+	public void testTilesByDistance() {
+		var world = new ArcadeWorld(PacManGame.MAP);
+		var table = world.distanceTable();
+		int from = world.index(World.tileAt(world.pacInitialPosition()));
+		assertEquals(from, table.tileByDistance(from, 0));
+		for (int rank = 1; rank < table.numReachable(from); ++rank) {
+			assertTrue(table.distance(from, table.tileByDistance(from, rank - 1)) <= table.distance(from,
+					table.tileByDistance(from, rank)));
+		}
+		assertEquals(0, table.numReachable(0)); // wall
+	}
+
+	@Test
+	public void testNearestFoodWhileEating() {
+		var rnd = new SplittableRandom(42);
+		for (var map : new byte[][][] { PacManGame.MAP, MsPacManGame.MAP2 }) {
+			var world = new ArcadeWorld(map);
+			var index = world.foodIndex();
+			var foodTiles = world.tiles().filter(world::containsFood).mapToInt(world::index).toArray();
+			int from = world.index(World.tileAt(world.pacInitialPosition()));
+			for (int i = foodTiles.length - 1; i >= 0; --i) {
+				// random permutation of eating order
+				int j = rnd.nextInt(i + 1);
+				int eaten = foodTiles[j];
+				foodTiles[j] = foodTiles[i];
+				world.removeFood(eaten);
+				assertEquals(world.uneatenFoodCount(), index.size());
+				checkQueries(world, from, false);
+				checkQueries(world, eaten, true);
+			}
+			assertEquals(0, index.findNearest(from, 3, false, new int[3]));
+		}
+	}
+
+	@Test
+	public void testFindZeroTiles() {
+		var world = new ArcadeWorld(PacManGame.MAP);
+		var index = world.foodIndex();
+		int from = world.index(World.tileAt(world.pacInitialPosition()));
+		assertEquals(0, index.findNearest(from, 0, false, new int[0])); // dense
+		world.tiles().filter(world::containsFood).skip(10).toList().forEach(world::removeFood);
+		assertEquals(10, index.size());
+		assertEquals(0, index.findNearest(from, 0, false, new int[0])); // sparse
+		assertEquals(1, index.findNearest(from, 1, false, new int[1]));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testFindNegativeNumberOfTiles() {
+		var world = new ArcadeWorld(PacManGame.MAP);
+		world.foodIndex().findNearest(world.index(13, 26), -1, false, new int[0]);
+	}
+
+	@Test
+	public void testIndexFollowsRestoredFood() {
+		var game = new PacManGame();
+		game.enterLevel(1);
+		var level = game.level().orElseThrow();
+		var world = level.world();
+		var index = world.foodIndex();
+		var snapshot = level.snapshot();
+		world.tiles().filter(world::containsFood).limit(100).toList().forEach(world::removeFood);
+		assertEquals(world.uneatenFoodCount(), index.size());
+		level.restore(snapshot);
+		assertEquals(world.uneatenFoodCount(), index.size());
+	}
+}
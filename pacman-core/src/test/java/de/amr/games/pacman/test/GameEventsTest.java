@@ -0,0 +1,272 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+package de.amr.games.pacman.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import de.amr.games.pacman.controller.common.GameController;
+import de.amr.games.pacman.controller.common.GameState;
+import de.amr.games.pacman.event.DispatchMode;
+import de.amr.games.pacman.event.GameEvent;
+import de.amr.games.pacman.event.GameEventListener;
+import de.amr.games.pacman.event.GameEventType;
+import de.amr.games.pacman.event.SoundEvent;
+import de.amr.games.pacman.lib.math.Vector2i;
+import de.amr.games.pacman.model.common.GameModel;
+import de.amr.games.pacman.model.common.GameVariant;
+
+/**
+ * @author Armin Reichert
+ */
+public class GameEventsTest {
+
+	@Test
+	public void testControllersHaveSeparateEventBuses() {
+		var gc1 = new GameController(GameVariant.PACMAN);
+		var gc2 = new GameController(GameVariant.MS_PACMAN);
+		List<GameEvent> received = new ArrayList<>();
+		gc1.events().addListener(new GameEventListener() {
+			@Override
+			public void onGameEvent(GameEvent event) {
+				received.add(event.copy());
+			}
+		});
+
+		gc2.addCredit();
+		assertTrue(received.isEmpty());
+
+		gc1.addCredit();
+		assertTrue(received.size() > 0);
+		assertTrue(received.stream().allMatch(event -> event.game() == gc1.game()));
+	}
+
+	@Test
+	public void testGameVariantChangeKeepsEventBus() {
+		var gc = new GameController(GameVariant.PACMAN);
+		gc.changeState(GameState.INTRO);
+		gc.selectGameVariant(GameVariant.MS_PACMAN);
+		assertEquals(GameVariant.MS_PACMAN, gc.game().variant());
+		assertSame(gc.events(), gc.game().events());
+	}
+
+	@Test
+	public void testControllersHaveSeparateTimers() {
+		var gc1 = new GameController(GameVariant.PACMAN);
+		var gc2 = new GameController(GameVariant.PACMAN);
+		gc1.changeState(GameState.INTRO);
+		gc2.changeState(GameState.INTRO);
+		for (int i = 0; i < 10; ++i) {
+			gc1.update();
+		}
+		assertEquals(10, gc1.timer().tick());
+		assertEquals(0, gc2.timer().tick());
+	}
+
+	private static List<GameEventType> playAndRecord(DispatchMode mode, List<String> threadNames) {
+		var gc = new GameController(GameVariant.PACMAN);
+		gc.events().setDispatchMode(mode);
+		List<GameEventType> received = Collections.synchronizedList(new ArrayList<>());
+		gc.events().addListener(new GameEventListener() {
+			@Override
+			public void onGameEvent(GameEvent event) {
+				received.add(event.type());
+				threadNames.add(Thread.currentThread().getName());
+			}
+		});
+		gc.game().setImmune(true);
+		gc.game().setSeed(42);
+		gc.setAutoControlled(true);
+		gc.restart(GameState.BOOT);
+		gc.addCredit();
+		gc.startPlaying();
+		for (int i = 0; i < 1000; ++i) {
+			gc.update();
+		}
+		gc.events().awaitDispatch();
+		gc.events().close();
+		return received;
+	}
+
+	@Test
+	public void testSubscriptionByType() {
+		var gc = new GameController(GameVariant.PACMAN);
+		var events = gc.events();
+		assertFalse(events.hasListeners(GameEventType.SOUND_EVENT));
+		List<GameEvent> received = new ArrayList<>();
+		var listener = new GameEventListener() {
+			@Override
+			public void onGameEvent(GameEvent event) {
+				received.add(event);
+			}
+		};
+		events.addListener(listener, GameEventType.SOUND_EVENT);
+		assertTrue(events.hasListeners(GameEventType.SOUND_EVENT));
+		assertFalse(events.hasListeners(GameEventType.GAME_STATE_CHANGED));
+		gc.restart(GameState.BOOT);
+		gc.addCredit();
+		assertFalse(received.isEmpty());
+		assertTrue(received.stream().allMatch(SoundEvent.class::isInstance));
+
+		events.removeListener(listener);
+		assertFalse(events.hasListeners(GameEventType.SOUND_EVENT));
+		received.clear();
+		gc.addCredit();
+		assertTrue(received.isEmpty());
+	}
+
+	@Test
+	public void testImmediateDispatchReusesEvents() {
+		var game = new GameController(GameVariant.PACMAN).game();
+		var events = game.events();
+		List<GameEvent> received = new ArrayList<>();
+		List<GameEvent> copies = new ArrayList<>();
+		events.addListener(new GameEventListener() {
+			@Override
+			public void onGameEvent(GameEvent event) {
+				received.add(event);
+				copies.add(event.copy());
+				if (event.type() == GameEventType.PAC_GETS_POWER) {
+					// published while another event is delivered
+					events.publishGameEvent(game, GameEventType.PAC_FINDS_FOOD, new Vector2i(1, 1));
+				}
+			}
+		});
+		events.publishGameEvent(game, GameEventType.PAC_FINDS_FOOD, new Vector2i(1, 4));
+		events.publishGameEvent(game, GameEventType.PAC_FINDS_FOOD, new Vector2i(2, 4));
+		assertSame(received.get(0), received.get(1));
+		assertEquals(new Vector2i(1, 4), copies.get(0).tile().orElseThrow());
+		assertEquals(new Vector2i(2, 4), copies.get(1).tile().orElseThrow());
+
+		events.publishSoundEvent(game, GameModel.SE_PACMAN_FOUND_FOOD);
+		events.publishSoundEvent(game, GameModel.SE_PACMAN_FOUND_FOOD);
+		assertSame(received.get(2), received.get(3));
+
+		events.publishGameEvent(game, GameEventType.PAC_GETS_POWER, null);
+		assertNotSame(received.get(0), received.get(5));
+		assertEquals(new Vector2i(1, 1), received.get(5).tile().orElseThrow());
+	}
+
+	@Test
+	public void testEndOfTickDispatch() {
+		var gc = new GameController(GameVariant.PACMAN);
+		gc.events().setDispatchMode(DispatchMode.END_OF_TICK);
+		List<GameEvent> received = new ArrayList<>();
+		gc.events().addListener(new GameEventListener() {
+			@Override
+			public void onGameEvent(GameEvent event) {
+				received.add(event);
+			}
+		});
+		gc.restart(GameState.BOOT);
+		gc.addCredit();
+		assertTrue(received.isEmpty());
+		int queued = gc.events().numQueuedEvents();
+		assertTrue(queued > 0);
+		gc.update();
+		assertEquals(0, gc.events().numQueuedEvents());
+		assertTrue(received.size() >= queued);
+	}
+
+	@Test
+	public void testQueuedEventsKeepOrder() {
+		var game = new GameController(GameVariant.PACMAN).game();
+		var events = game.events();
+		events.setDispatchMode(DispatchMode.END_OF_TICK);
+		List<Vector2i> received = new ArrayList<>();
+		events.addListener(new GameEventListener() {
+			@Override
+			public void onGameEvent(GameEvent event) {
+				received.add(event.tile().orElseThrow());
+			}
+		});
+		for (int i = 0; i < 1000; ++i) {
+			events.publishGameEvent(game, GameEventType.PAC_FINDS_FOOD, new Vector2i(i, 0));
+		}
+		assertEquals(1000, events.numQueuedEvents());
+		events.dispatchQueuedEvents();
+		for (int i = 0; i < 1000; ++i) {
+			assertEquals(i, received.get(i).x());
+		}
+	}
+
+	@Test
+	public void testAsyncListenerPublishesOnDispatcherThread() {
+		var game = new GameController(GameVariant.PACMAN).game();
+		var events = game.events();
+		events.setDispatchMode(DispatchMode.ASYNC);
+		List<GameEventType> received = Collections.synchronizedList(new ArrayList<>());
+		List<String> threadNames = Collections.synchronizedList(new ArrayList<>());
+		events.addListener(new GameEventListener() {
+			@Override
+			public void onGameEvent(GameEvent event) {
+				received.add(event.type());
+				threadNames.add(Thread.currentThread().getName());
+				if (event.type() == GameEventType.PAC_GETS_POWER) {
+					events.publishGameEvent(game, GameEventType.PAC_FINDS_FOOD, new Vector2i(1, 1));
+					events.publishSoundEvent(game, GameModel.SE_PACMAN_FOUND_FOOD);
+				}
+			}
+		});
+		for (int i = 0; i < 100; ++i) {
+			events.publishGameEvent(game, GameEventType.PAC_GETS_POWER, null);
+			events.dispatchQueuedEvents();
+		}
+		events.awaitDispatch();
+		assertEquals(0, events.numQueuedEvents());
+		events.close();
+		assertEquals(300, received.size());
+		for (int i = 0; i < 100; ++i) {
+			assertEquals(GameEventType.PAC_GETS_POWER, received.get(3 * i));
+			assertEquals(GameEventType.PAC_FINDS_FOOD, received.get(3 * i + 1));
+			assertEquals(GameEventType.SOUND_EVENT, received.get(3 * i + 2));
+		}
+		var gameThread = Thread.currentThread().getName();
+		assertTrue(threadNames.stream().noneMatch(gameThread::equals));
+	}
+
+	@Test
+	public void testAllModesDeliverSameEvents() {
+		List<String> immediateThreads = Collections.synchronizedList(new ArrayList<>());
+		List<String> asyncThreads = Collections.synchronizedList(new ArrayList<>());
+		var immediate = playAndRecord(DispatchMode.IMMEDIATE, immediateThreads);
+		var endOfTick = playAndRecord(DispatchMode.END_OF_TICK, new ArrayList<>());
+		var async = playAndRecord(DispatchMode.ASYNC, asyncThreads);
+		assertTrue(immediate.contains(GameEventType.PAC_FINDS_FOOD));
+		assertEquals(immediate, endOfTick);
+		assertEquals(immediate, async);
+		var gameThread = Thread.currentThread().getName();
+		assertTrue(immediateThreads.stream().allMatch(gameThread::equals));
+		assertTrue(asyncThreads.stream().noneMatch(gameThread::equals));
+	}
+}
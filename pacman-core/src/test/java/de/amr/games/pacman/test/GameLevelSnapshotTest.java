@@ -0,0 +1,99 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+package de.amr.games.pacman.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import de.amr.games.pacman.model.common.GameLevel;
+import de.amr.games.pacman.model.common.GameModel;
+import de.amr.games.pacman.model.common.actors.Ghost;
+import de.amr.games.pacman.model.mspacman.MsPacManGame;
+import de.amr.games.pacman.model.pacman.PacManGame;
+
+/**
+ * @author Armin Reichert
+ */
+public class GameLevelSnapshotTest {
+
+	private static String fingerprint(GameLevel level) {
+		var sb = new StringBuilder();
+		sb.append(level.pac()).append(level.game().score().orElseThrow().points()).append(level.world().uneatenFoodCount());
+		sb.append(level.huntingTimer()).append(level.huntingPhase()).append(level.cruiseElroyState());
+		for (Ghost ghost : level.ghosts().toList()) {
+			sb.append(ghost).append(ghost.state()).append(ghost.killedIndex());
+		}
+		sb.append(level.bonus());
+		return sb.toString();
+	}
+
+	private static void testRestoreReproducesGame(GameModel game) {
+		var level = TestLevels.startLevel(game);
+		TestLevels.play(level, 600);
+		var snapshot = level.snapshot();
+		assertTrue(snapshot.sizeInBytes() < 1024);
+		var before = fingerprint(level);
+
+		game.setSeed(7);
+		TestLevels.play(level, 900);
+		var after = fingerprint(level);
+		assertNotEquals(before, after);
+
+		level.restore(snapshot);
+		assertEquals(before, fingerprint(level));
+		game.setSeed(7);
+		TestLevels.play(level, 900);
+		assertEquals(after, fingerprint(level));
+	}
+
+	@Test
+	public void testPacManRestore() {
+		testRestoreReproducesGame(new PacManGame());
+	}
+
+	@Test
+	public void testMsPacManRestore() {
+		testRestoreReproducesGame(new MsPacManGame());
+	}
+
+	@Test
+	public void testRestoreIntoEquivalentLevel() {
+		var level = TestLevels.startLevel(new PacManGame());
+		TestLevels.play(level, 600);
+		var copy = TestLevels.startLevel(new PacManGame());
+		copy.restore(level.snapshot());
+		assertEquals(fingerprint(level), fingerprint(copy));
+		TestLevels.play(copy, 300);
+		assertNotEquals(fingerprint(level), fingerprint(copy));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testRestoreIntoOtherLevel() {
+		var snapshot = TestLevels.startLevel(new PacManGame()).snapshot();
+		TestLevels.startLevel(new MsPacManGame()).restore(snapshot);
+	}
+}
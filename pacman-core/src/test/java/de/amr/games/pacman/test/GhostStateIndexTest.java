@@ -0,0 +1,112 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+package de.amr.games.pacman.test;
+
+import static de.amr.games.pacman.model.common.actors.GhostState.EATEN;
+import static de.amr.games.pacman.model.common.actors.GhostState.FRIGHTENED;
+import static de.amr.games.pacman.model.common.actors.GhostState.HUNTING_PAC;
+import static de.amr.games.pacman.model.common.actors.GhostState.LOCKED;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+
+import org.junit.Test;
+
+import de.amr.games.pacman.model.common.GameLevel;
+import de.amr.games.pacman.model.common.actors.Ghost;
+import de.amr.games.pacman.model.common.actors.GhostState;
+import de.amr.games.pacman.model.pacman.PacManGame;
+
+/**
+ * @author Armin Reichert
+ */
+public class GhostStateIndexTest {
+
+	private static void assertIndexConsistent(GameLevel level) {
+		var index = level.ghostStates();
+		for (var state : GhostState.values()) {
+			int expected = 0;
+			for (var ghost : level.ghosts().toList()) {
+				if (ghost.state() == state) {
+					expected |= 1 << ghost.id();
+				}
+			}
+			assertEquals(state.name(), expected, index.ghostIDs(state));
+			assertEquals(state.name(), expected, index.ghostIDs(state.bit()));
+		}
+	}
+
+	@Test
+	public void testStateMasks() {
+		int mask = GhostState.mask(HUNTING_PAC, FRIGHTENED);
+		assertEquals(HUNTING_PAC.bit() | FRIGHTENED.bit(), mask);
+		assertEquals(0, GhostState.mask());
+		var ghost = new Ghost(Ghost.ID_RED_GHOST, "Blinky");
+		assertFalse(ghost.isInAny(mask));
+		ghost.enterStateFrightened();
+		assertTrue(ghost.isInAny(mask));
+		assertTrue(ghost.is(FRIGHTENED));
+		assertTrue(ghost.is(LOCKED, FRIGHTENED));
+		assertFalse(ghost.is(LOCKED, EATEN, HUNTING_PAC));
+		assertFalse(ghost.is());
+	}
+
+	@Test
+	public void testIndexFollowsStateTransitions() {
+		var level = TestLevels.startLevel(new PacManGame());
+		var index = level.ghostStates();
+		assertEquals(4, index.count(LOCKED.bit()));
+		assertEquals(level.ghost(Ghost.ID_RED_GHOST), index.first(LOCKED.bit()));
+		assertNull(index.first(EATEN.bit()));
+		int[] eatenSeen = { 0 };
+		TestLevels.play(level, 3000, lvl -> {
+			assertIndexConsistent(lvl);
+			eatenSeen[0] += lvl.ghostStates().count(EATEN.bit());
+		});
+		assertIndexConsistent(level);
+		assertTrue(eatenSeen[0] > 0);
+	}
+
+	@Test
+	public void testIndexAfterRestore() {
+		var level = TestLevels.startLevel(new PacManGame());
+		var snapshot = level.snapshot();
+		TestLevels.play(level, 600);
+		assertTrue(level.ghostStates().count(LOCKED.bit()) < 4);
+		level.restore(snapshot);
+		assertIndexConsistent(level);
+		assertEquals(4, level.ghostStates().count(LOCKED.bit()));
+	}
+
+	@Test
+	public void testForEachVisitsGhostsInIdOrder() {
+		var level = TestLevels.startLevel(new PacManGame());
+		var visited = new ArrayList<Byte>();
+		level.forEachGhost(GhostState.mask(LOCKED, HUNTING_PAC), ghost -> visited.add(ghost.id()));
+		assertEquals(level.ghosts().map(Ghost::id).toList(), visited);
+	}
+}
@@ -0,0 +1,107 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+package de.amr.games.pacman.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import de.amr.games.pacman.lib.steering.MonteCarloSteering;
+import de.amr.games.pacman.lib.steering.RuleBasedSteering;
+import de.amr.games.pacman.model.common.GameLevel;
+import de.amr.games.pacman.model.common.GameVariant;
+import de.amr.games.pacman.model.common.actors.Creature;
+import de.amr.games.pacman.model.pacman.PacManGame;
+import de.amr.games.pacman.sim.Simulation;
+import de.amr.games.pacman.sim.SimulationResult;
+
+/**
+ * @author Armin Reichert
+ */
+public class MonteCarloSteeringTest {
+
+	private static MonteCarloSteering createSteering(int numThreads) {
+		var steering = new MonteCarloSteering();
+		steering.setNumThreads(numThreads);
+		steering.setRolloutDepth(60);
+		steering.setMaxRollouts(8);
+		return steering;
+	}
+
+	private static SimulationResult simulate(GameVariant variant, MonteCarloSteering steering) {
+		var sim = new Simulation(variant, steering);
+		sim.setSeed(42);
+		sim.setMaxTicks(1000);
+		return sim.run();
+	}
+
+	@Test
+	public void testSameSeedGivesSameResult() {
+		for (var variant : GameVariant.values()) {
+			var steering = createSteering(1);
+			steering.setTimeBudgetMillis(0);
+			var first = simulate(variant, steering);
+			var second = simulate(variant, steering);
+			assertEquals(first.score(), second.score());
+			assertEquals(first.deaths(), second.deaths());
+			assertEquals(first.ticks(), second.ticks());
+			assertTrue(steering.numSearches() > 0);
+			assertEquals(8, steering.lastSearchRollouts());
+		}
+	}
+
+	@Test
+	public void testParallelRollouts() {
+		try (var steering = createSteering(3)) {
+			steering.setMaxRollouts(30);
+			var result = simulate(GameVariant.PACMAN, steering);
+			assertTrue(result.score() > 0);
+			assertTrue(steering.numSearches() > 0);
+			assertTrue(steering.lastSearchRollouts() <= 30);
+		}
+	}
+
+	@Test
+	public void testSearchDoesNotChangeGame() {
+		var game = new PacManGame();
+		game.setSeed(42);
+		game.newScore();
+		game.enterLevel(1);
+		GameLevel level = game.level().orElseThrow();
+		level.guys().forEach(Creature::show);
+		level.startHunting(0);
+		var autopilot = new RuleBasedSteering();
+		for (int i = 0; i < 200; ++i) {
+			autopilot.steer(level, level.pac());
+			level.update();
+		}
+		var before = level.pac().toString() + level.ghosts().toList() + level.world().uneatenFoodCount();
+		var steering = createSteering(2);
+		steering.findBestDirection(level);
+		steering.close();
+		var after = level.pac().toString() + level.ghosts().toList() + level.world().uneatenFoodCount();
+		assertEquals(before, after);
+	}
+}
@@ -0,0 +1,174 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+package de.amr.games.pacman.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import de.amr.games.pacman.lib.steering.Direction;
+import de.amr.games.pacman.model.common.world.ArcadeWorld;
+import de.amr.games.pacman.model.common.world.DistanceTable;
+import de.amr.games.pacman.model.common.world.HorizontalPortal;
+import de.amr.games.pacman.model.common.world.NavigationGraph;
+import de.amr.games.pacman.model.common.world.World;
+import de.amr.games.pacman.model.mspacman.MsPacManGame;
+import de.amr.games.pacman.model.pacman.PacManGame;
+
+/**
+ * @author Armin Reichert
+ */
+public class NavigationGraphTest {
+
+	private static int foodInGraph(World world, NavigationGraph graph) {
+		int food = 0;
+		for (int edge = 0; edge < graph.numEdges(); ++edge) {
+			food += graph.foodCount(edge);
+		}
+		food /= 2; // each corridor is traversed in both directions
+		for (int node = 0; node < graph.numNodes(); ++node) {
+			if (world.containsFood(graph.nodeTile(node))) {
+				++food;
+			}
+		}
+		return food;
+	}
+
+	private static final byte[][][] MAPS = { PacManGame.MAP, MsPacManGame.MAP1, MsPacManGame.MAP2, MsPacManGame.MAP3,
+			MsPacManGame.MAP4 };
+
+	private static int accessibleNeighbors(DistanceTable table, int index) {
+		int count = 0;
+		for (var dir : Direction.values()) {
+			int neighbor = table.neighbor(index, dir);
+			if (neighbor != World.NO_TILE && table.isAccessible(neighbor)) {
+				++count;
+			}
+		}
+		return count;
+	}
+
+	/** Number of steps from the node in the given direction along the corridor until the next node. */
+	private static int corridorLength(DistanceTable table, NavigationGraph graph, int nodeTile, Direction dir) {
+		int prev = nodeTile;
+		int current = table.neighbor(nodeTile, dir);
+		int length = 1;
+		while (graph.nodeAt(current) == -1) {
+			assertEquals(2, accessibleNeighbors(table, current));
+			for (var next : Direction.values()) {
+				int neighbor = table.neighbor(current, next);
+				if (neighbor != World.NO_TILE && neighbor != prev && table.isAccessible(neighbor)) {
+					prev = current;
+					current = neighbor;
+					break;
+				}
+			}
+			++length;
+		}
+		return length;
+	}
+
+	/** Shortest path lengths between all nodes using only the edges of the graph (Floyd-Warshall). */
+	private static int[][] graphDistances(NavigationGraph graph) {
+		int n = graph.numNodes();
+		var dist = new int[n][n];
+		for (int i = 0; i < n; ++i) {
+			Arrays.fill(dist[i], Integer.MAX_VALUE / 2);
+			dist[i][i] = 0;
+			for (int edge = graph.firstEdge(i); edge < graph.endEdge(i); ++edge) {
+				int target = graph.edgeTarget(edge);
+				dist[i][target] = Math.min(dist[i][target], graph.edgeLength(edge));
+			}
+		}
+		for (int k = 0; k < n; ++k) {
+			for (int i = 0; i < n; ++i) {
+				for (int j = 0; j < n; ++j) {
+					dist[i][j] = Math.min(dist[i][j], dist[i][k] + dist[k][j]);
+				}
+			}
+		}
+		return dist;
+	}
+
+	@Test
+	public void testNodes() {
+		for (var map : MAPS) {
+			var world = new ArcadeWorld(map);
+			var table = world.distanceTable();
+			var graph = world.navigationGraph();
+			assertTrue(graph.numNodes() < 100);
+			int start = world.index(World.tileAt(world.pacInitialPosition()));
+			for (int index = 0; index < world.numCols() * world.numRows(); ++index) {
+				boolean reachable = world.pathDistance(start, index) != DistanceTable.UNREACHABLE;
+				boolean expectedNode = reachable && (world.isIntersection(index) || world.isPortalEnd(index)
+						|| accessibleNeighbors(table, index) != 2);
+				assertEquals(world.tile(index).toString(), expectedNode, graph.nodeAt(index) != -1);
+			}
+			for (int node = 0; node < graph.numNodes(); ++node) {
+				assertEquals(node, graph.nodeAt(graph.nodeTile(node)));
+			}
+			for (var portal : world.portals()) {
+				if (portal instanceof HorizontalPortal hp) {
+					assertTrue(graph.nodeAt(world.index(hp.leftTunnelEnd())) != -1);
+					assertTrue(graph.nodeAt(world.index(hp.rightTunnelEnd())) != -1);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testEdgeLengths() {
+		for (var map : MAPS) {
+			var world = new ArcadeWorld(map);
+			var table = world.distanceTable();
+			var graph = world.navigationGraph();
+			for (int node = 0; node < graph.numNodes(); ++node) {
+				int tile = graph.nodeTile(node);
+				for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); ++edge) {
+					assertEquals(corridorLength(table, graph, tile, graph.edgeDir(edge)), graph.edgeLength(edge));
+				}
+			}
+			var dist = graphDistances(graph);
+			for (int from = 0; from < graph.numNodes(); ++from) {
+				for (int to = 0; to < graph.numNodes(); ++to) {
+					assertEquals(world.pathDistance(graph.nodeTile(from), graph.nodeTile(to)), dist[from][to]);
+				}
+			}
+			assertEquals(world.uneatenFoodCount(), foodInGraph(world, graph));
+		}
+	}
+
+	@Test
+	public void testFoodCountUpdate() {
+		var world = new ArcadeWorld(PacManGame.MAP);
+		var graph = world.navigationGraph();
+		for (int i = 0; i < world.numCols() * world.numRows(); i += 3) {
+			world.removeFood(i);
+		}
+		assertEquals(world.uneatenFoodCount(), foodInGraph(world, graph));
+	}
+}
@@ -0,0 +1,116 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+package de.amr.games.pacman.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import org.junit.Test;
+
+import de.amr.games.pacman.controller.common.GameController;
+import de.amr.games.pacman.controller.common.GameState;
+import de.amr.games.pacman.controller.common.Steering;
+import de.amr.games.pacman.lib.steering.RuleBasedSteering;
+import de.amr.games.pacman.model.common.GameLevel;
+import de.amr.games.pacman.model.common.GameVariant;
+import de.amr.games.pacman.model.common.actors.Ghost;
+import de.amr.games.pacman.replay.Replay;
+import de.amr.games.pacman.replay.ReplayPlayer;
+import de.amr.games.pacman.replay.ReplayRecorder;
+
+/**
+ * @author Armin Reichert
+ */
+public class ReplayTest {
+
+	private static final int TICKS = 10_000; // second level, before first intermission
+
+	private static GameController startGame(GameVariant variant, Steering pacSteering, boolean stepMovement) {
+		var gc = new GameController(variant);
+		gc.game().setImmune(true);
+		gc.game().setStepMovement(stepMovement);
+		gc.setManualPacSteering(pacSteering);
+		gc.restart(GameState.BOOT);
+		gc.addCredit();
+		gc.startPlaying();
+		for (int i = 0; i < TICKS; ++i) {
+			gc.update();
+		}
+		return gc;
+	}
+
+	private static String fingerprint(GameController gc) {
+		var game = gc.game();
+		var level = game.level().orElseThrow();
+		var sb = new StringBuilder();
+		sb.append(gc.state()).append(level.number()).append(game.score().orElseThrow().points());
+		sb.append(level.world().uneatenFoodCount()).append(level.pac());
+		for (Ghost ghost : level.ghosts().toList()) {
+			sb.append(ghost).append(ghost.state());
+		}
+		return sb.toString();
+	}
+
+	private static void testReplayReproducesGame(GameVariant variant, boolean stepMovement) throws IOException {
+		var recorder = new ReplayRecorder(new RuleBasedSteering(), 4711);
+		var recorded = startGame(variant, recorder, stepMovement);
+		var replay = recorder.replay();
+		assertTrue(replay.numTicks() > TICKS / 2);
+
+		var bytes = replay.toByteArray();
+		assertTrue("Replay size is " + bytes.length, bytes.length < 4 * 1024);
+		var loaded = Replay.read(new ByteArrayInputStream(bytes));
+		assertEquals(replay.toString(), loaded.toString());
+		assertEquals(stepMovement, loaded.stepMovement());
+
+		var player = new ReplayPlayer(loaded);
+		var replayed = startGame(variant, player, false);
+		assertTrue(player.isComplete());
+		assertEquals(fingerprint(recorded), fingerprint(replayed));
+		assertTrue(recorded.game().level().map(GameLevel::number).orElse(0) > 1);
+	}
+
+	@Test
+	public void testPacManReplay() throws IOException {
+		testReplayReproducesGame(GameVariant.PACMAN, false);
+	}
+
+	@Test
+	public void testPacManReplayWithStepMovement() throws IOException {
+		testReplayReproducesGame(GameVariant.PACMAN, true);
+	}
+
+	@Test
+	public void testMsPacManReplay() throws IOException {
+		testReplayReproducesGame(GameVariant.MS_PACMAN, false);
+	}
+
+	@Test(expected = IOException.class)
+	public void testReadInvalidData() throws IOException {
+		Replay.read(new ByteArrayInputStream(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 }));
+	}
+}
@@ -0,0 +1,116 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+package de.amr.games.pacman.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import de.amr.games.pacman.lib.steering.RuleBasedSteering;
+import de.amr.games.pacman.model.common.GameModel;
+import de.amr.games.pacman.model.common.GameVariant;
+import de.amr.games.pacman.sim.Simulation;
+import de.amr.games.pacman.sim.SimulationFarm;
+import de.amr.games.pacman.sim.SimulationResult;
+
+/**
+ * @author Armin Reichert
+ */
+public class SimulationTest {
+
+	@Test
+	public void testPacManGameRunsAllLevels() {
+		var sim = new Simulation(GameVariant.PACMAN, new RuleBasedSteering());
+		sim.setImmune(true);
+		sim.setMaxLevel(21);
+		var result = sim.run();
+		assertFalse(result.aborted());
+		assertEquals(21, result.levelReached());
+		assertEquals(0, result.deaths());
+		assertTrue(result.score() > 0);
+		assertTrue(result.ticks() > 0);
+	}
+
+	@Test
+	public void testGameEndsWhenAllLivesLost() {
+		var sim = new Simulation(GameVariant.MS_PACMAN, new RuleBasedSteering());
+		var result = sim.run();
+		assertEquals(GameModel.INITIAL_LIVES, result.deaths() - extraLives(result.score()));
+		assertEquals(0, sim.game().lives());
+	}
+
+	@Test
+	public void testTickLimit() {
+		var sim = new Simulation(GameVariant.PACMAN, new RuleBasedSteering());
+		sim.setImmune(true);
+		sim.setMaxTicks(1000);
+		var result = sim.run();
+		assertTrue(result.aborted());
+		assertEquals(1000, result.ticks());
+	}
+
+	@Test
+	public void testSameSeedGivesSameResult() {
+		for (var variant : GameVariant.values()) {
+			var first = simulateWithSeed(variant, 42);
+			var second = simulateWithSeed(variant, 42);
+			assertEquals(first.score(), second.score());
+			assertEquals(first.levelReached(), second.levelReached());
+			assertEquals(first.deaths(), second.deaths());
+			assertEquals(first.ticks(), second.ticks());
+		}
+	}
+
+	private static SimulationResult simulateWithSeed(GameVariant variant, long seed) {
+		var sim = new Simulation(variant, new RuleBasedSteering());
+		sim.setSeed(seed);
+		sim.setMaxLevel(10);
+		return sim.run();
+	}
+
+	@Test
+	public void testSimulationFarm() {
+		var farm = new SimulationFarm(GameVariant.PACMAN, RuleBasedSteering::new);
+		farm.setImmune(true);
+		farm.setMaxLevel(2);
+		farm.setParallelism(4);
+		long[] seeds = { 1, 2, 3, 4, 5, 6, 7, 8 };
+		var result = farm.run(seeds);
+		assertEquals(seeds.length, result.games());
+		for (int i = 0; i < seeds.length; ++i) {
+			var sim = result.results().get(i);
+			assertEquals(seeds[i], sim.seed());
+			assertFalse(sim.aborted());
+			assertEquals(2, sim.levelReached());
+		}
+		assertEquals(2, result.levelStatistics().getMin());
+		assertTrue(result.scoreStatistics().getMin() > 0);
+	}
+
+	private static int extraLives(int score) {
+		return score >= GameModel.SCORE_EXTRA_LIFE ? 1 : 0;
+	}
+}
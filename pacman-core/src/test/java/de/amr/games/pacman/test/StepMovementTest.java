@@ -0,0 +1,106 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+package de.amr.games.pacman.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import de.amr.games.pacman.controller.common.GameController;
+import de.amr.games.pacman.controller.common.Steering;
+import de.amr.games.pacman.lib.steering.RuleBasedSteering;
+import de.amr.games.pacman.model.common.GameLevel;
+import de.amr.games.pacman.model.common.GameModel;
+import de.amr.games.pacman.model.common.GameVariant;
+import de.amr.games.pacman.model.common.SpeedTable;
+import de.amr.games.pacman.model.common.SpeedTable.Mode;
+import de.amr.games.pacman.model.common.actors.Creature;
+import de.amr.games.pacman.model.common.actors.Ghost;
+import de.amr.games.pacman.sim.Simulation;
+
+/**
+ * @author Armin Reichert
+ */
+public class StepMovementTest {
+
+	private static final int TICKS = 10_000;
+
+	@Test
+	public void testPatternAveragesMatchLevelSpeeds() {
+		var game = new GameController(GameVariant.PACMAN).game();
+		for (int levelNumber = 1; levelNumber <= 21; ++levelNumber) {
+			var level = new GameLevel(game, levelNumber);
+			assertSpeed(level.pacSpeed, level.speedSteps(Mode.PAC_NORMAL));
+			assertSpeed(level.ghostSpeed, level.speedSteps(Mode.GHOST_NORMAL));
+			assertSpeed(level.ghostSpeedTunnel, level.speedSteps(Mode.GHOST_TUNNEL));
+			assertSpeed(level.elroy1Speed, level.speedSteps(Mode.ELROY1));
+			assertSpeed(level.elroy2Speed, level.speedSteps(Mode.ELROY2));
+		}
+	}
+
+	private static void assertSpeed(float relativeSpeed, byte[] steps) {
+		assertEquals(SpeedTable.NUM_FRAMES, steps.length);
+		assertEquals(relativeSpeed * GameModel.SPEED_100_PERCENT_PX, SpeedTable.average(steps), 0.07);
+	}
+
+	@Test
+	public void testPositionsStayIntegral() {
+		for (var variant : GameVariant.values()) {
+			var checking = new IntegralPositionCheck(new RuleBasedSteering());
+			var simulation = new Simulation(variant, checking);
+			simulation.setImmune(true);
+			simulation.setMaxTicks(TICKS);
+			simulation.game().setStepMovement(true);
+			var result = simulation.run();
+			assertEquals(TICKS, result.ticks());
+			assertTrue(checking.checkedTicks > TICKS / 2);
+		}
+	}
+
+	private static class IntegralPositionCheck implements Steering {
+
+		private final Steering delegate;
+		private int checkedTicks;
+
+		IntegralPositionCheck(Steering delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public void steer(GameLevel level, Creature guy) {
+			assertIntegral(level.pac());
+			for (byte id = Ghost.ID_RED_GHOST; id <= Ghost.ID_ORANGE_GHOST; ++id) {
+				assertIntegral(level.ghost(id));
+			}
+			++checkedTicks;
+			delegate.steer(level, guy);
+		}
+
+		private static void assertIntegral(Creature guy) {
+			assertTrue(guy.name() + " at " + guy.position(), guy.posX() == (int) guy.posX());
+			assertTrue(guy.name() + " at " + guy.position(), guy.posY() == (int) guy.posY());
+		}
+	}
+}
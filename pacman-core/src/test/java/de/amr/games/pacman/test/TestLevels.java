@@ -0,0 +1,86 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+package de.amr.games.pacman.test;
+
+import java.util.function.Consumer;
+
+import de.amr.games.pacman.lib.steering.RuleBasedSteering;
+import de.amr.games.pacman.model.common.GameLevel;
+import de.amr.games.pacman.model.common.GameModel;
+import de.amr.games.pacman.model.common.actors.Creature;
+import de.amr.games.pacman.model.common.actors.GhostState;
+
+/**
+ * Game levels for tests that work directly on a level, outside of the game controller.
+ * 
+ * @author Armin Reichert
+ */
+final class TestLevels {
+
+	private TestLevels() {
+	}
+
+	/**
+	 * @param game a new game
+	 * @return the first level of the game with seed 42 and an immune Pac-Man, in hunting state
+	 */
+	static GameLevel startLevel(GameModel game) {
+		game.setSeed(42);
+		game.setImmune(true);
+		game.newScore();
+		game.setPlaying(true);
+		game.enterLevel(1);
+		var level = game.level().orElseThrow();
+		level.guys().forEach(Creature::show);
+		level.startHunting(0);
+		return level;
+	}
+
+	/**
+	 * Plays the level with a rule-based Pac-Man until the given number of ticks has passed or the level is completed.
+	 * Edible ghosts met by Pac-Man are killed and sent home immediately.
+	 * 
+	 * @param level       level in hunting state
+	 * @param ticks       maximum number of ticks
+	 * @param afterUpdate called after each level update, ghosts killed in this tick are still in state
+	 *                    {@link GhostState#EATEN}
+	 */
+	static void play(GameLevel level, int ticks, Consumer<GameLevel> afterUpdate) {
+		var steering = new RuleBasedSteering();
+		for (int i = 0; i < ticks && !level.completed(); ++i) {
+			steering.steer(level, level.pac());
+			level.update();
+			if (level.memo().edibleGhostsExist()) {
+				level.killEdibleGhosts();
+			}
+			afterUpdate.accept(level);
+			level.forEachGhost(GhostState.EATEN.bit(), ghost -> ghost.enterStateReturningToHouse(level));
+		}
+	}
+
+	static void play(GameLevel level, int ticks) {
+		play(level, ticks, lvl -> {
+		});
+	}
+}
@@ -0,0 +1,144 @@
+/*
+MIT License
+
+Copyright (c) 2021-2023 Armin Reichert
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+package de.amr.games.pacman.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+
+import org.junit.Test;
+
+import de.amr.games.pacman.lib.metrics.LatencyHistogram;
+import de.amr.games.pacman.lib.metrics.TickPhase;
+import de.amr.games.pacman.lib.metrics.TickProfiler;
+import de.amr.games.pacman.lib.steering.RuleBasedSteering;
+import de.amr.games.pacman.model.common.GameVariant;
+import de.amr.games.pacman.sim.Simulation;
+
+/**
+ * @author Armin Reichert
+ */
+public class TickProfilerTest {
+
+	private static Simulation createSimulation(TickProfiler profiler) {
+		var sim = new Simulation(GameVariant.PACMAN, new RuleBasedSteering());
+		sim.setSeed(42);
+		sim.setImmune(true);
+		sim.setMaxTicks(2000);
+		sim.game().setTickProfiler(profiler);
+		return sim;
+	}
+
+	@Test
+	public void testHistogramPercentiles() {
+		var histogram = new LatencyHistogram();
+		for (int value = 1; value <= 10_000; ++value) {
+			histogram.record(value);
+		}
+		assertEquals(10_000, histogram.count());
+		assertEquals(1, histogram.min());
+		assertEquals(10_000, histogram.max());
+		assertEquals(5000.5, histogram.mean(), 1e-9);
+		for (double p : new double[] { 10, 50, 90, 99, 99.9 }) {
+			long exact = (long) (p * 100);
+			long value = histogram.percentile(p);
+			assertTrue(value >= exact && value <= exact * 33 / 32);
+		}
+		assertEquals(10_000, histogram.percentile(100));
+		histogram.reset();
+		assertEquals(0, histogram.count());
+		assertEquals(0, histogram.percentile(99));
+	}
+
+	@Test
+	public void testSmallValuesAreExact() {
+		var histogram = new LatencyHistogram();
+		histogram.record(0);
+		histogram.record(63);
+		histogram.record(-5);
+		assertEquals(0, histogram.percentile(50));
+		assertEquals(63, histogram.percentile(100));
+	}
+
+	@Test
+	public void testAllPhasesAreMeasured() {
+		var profiler = new TickProfiler("test");
+		profiler.setAllocationTracking(true);
+		var result = createSimulation(profiler).run();
+		assertTrue(profiler.getTicks() > 0);
+		for (var phase : TickPhase.values()) {
+			assertTrue(phase.name(), profiler.histogram(phase).count() > 0);
+		}
+		assertEquals(profiler.getTicks(), profiler.histogram(TickPhase.LEVEL_UPDATE).count());
+		assertTrue(profiler.histogram(TickPhase.STEERING).count() >= profiler.getTicks());
+		assertTrue(result.ticks() >= profiler.getTicks());
+		assertTrue(profiler.report().contains(TickPhase.GHOST_UPDATES.name()));
+		profiler.reset();
+		profiler.beginTick();
+		assertEquals(0, profiler.getTicks());
+		assertEquals(0, profiler.histogram(TickPhase.PAC_UPDATE).count());
+	}
+
+	@Test
+	public void testDisabledProfilerMeasuresNothing() {
+		var profiler = new TickProfiler("disabled");
+		profiler.setEnabled(false);
+		createSimulation(profiler).run();
+		assertEquals(0, profiler.getTicks());
+		for (var phase : TickPhase.values()) {
+			assertEquals(0, profiler.histogram(phase).count());
+		}
+	}
+
+	@Test
+	public void testSharedProfilerHasEmptyHistograms() {
+		for (var phase : TickPhase.values()) {
+			assertEquals(0, TickProfiler.OFF.histogram(phase).count());
+		}
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testSharedProfilerCannotBeEnabled() {
+		TickProfiler.OFF.setEnabled(true);
+	}
+
+	@Test
+	public void testMBean() throws Exception {
+		var profiler = new TickProfiler("mbean-test");
+		var name = profiler.registerMBean();
+		try {
+			var server = ManagementFactory.getPlatformMBeanServer();
+			assertTrue(server.isRegistered(name));
+			assertEquals(Boolean.TRUE, server.getAttribute(name, "Enabled"));
+			createSimulation(profiler).run();
+			assertEquals(profiler.getTicks(), server.getAttribute(name, "Ticks"));
+			assertTrue(server.getAttribute(name, "P99Nanos") != null);
+		} finally {
+			profiler.unregisterMBean();
+		}
+		assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+	}
+}
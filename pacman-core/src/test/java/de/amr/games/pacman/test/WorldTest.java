@@ -2,15 +2,24 @@ package de.amr.games.pacman.test;
 
 import static java.util.function.Predicate.not;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.Test;
 
 import de.amr.games.pacman.lib.U;
 import de.amr.games.pacman.lib.math.Vector2f;
 import de.amr.games.pacman.lib.math.Vector2i;
+import de.amr.games.pacman.lib.steering.Direction;
 import de.amr.games.pacman.model.common.actors.Ghost;
 import de.amr.games.pacman.model.common.world.ArcadeWorld;
+import de.amr.games.pacman.model.common.world.TileChangeJournal;
 import de.amr.games.pacman.model.common.world.World;
 import de.amr.games.pacman.model.mspacman.MsPacManGame;
 import de.amr.games.pacman.model.pacman.PacManGame;
@@ -112,6 +121,125 @@ public class WorldTest {
 		assertEquals(2, world.portals().size());
 	}
 
+	@Test
+	public void testTileAttributes() {
+		var world = new ArcadeWorld(PacManGame.MAP);
+		world.tiles().forEach(tile -> {
+			int index = world.index(tile);
+			assertEquals(world.isWall(tile), world.isWall(index));
+			assertEquals(world.isTunnel(tile), world.isTunnel(index));
+			assertEquals(world.isDoor(tile), world.isDoor(index));
+			assertEquals(world.isFoodTile(tile), world.isFoodTile(index));
+			assertEquals(world.isEnergizerTile(tile), world.isEnergizerTile(index));
+			assertEquals(world.isIntersection(tile), world.isIntersection(index));
+		});
+		assertTrue(world.isDoor(new Vector2i(13, 15)));
+		assertTrue(world.isDoor(new Vector2i(14, 15)));
+		assertTrue(world.isPortalEnd(world.index(new Vector2i(0, 17))));
+		assertTrue(world.isPortalEnd(world.index(new Vector2i(27, 17))));
+		assertTrue(world.belongsToPortal(new Vector2i(-1, 17)));
+		assertFalse(world.belongsToPortal(new Vector2i(0, 17)));
+		assertFalse(world.isWall(new Vector2i(-1, 17)));
+	}
+
+	@Test
+	public void testNeighborIndex() {
+		var world = new ArcadeWorld(PacManGame.MAP);
+		int index = world.index(new Vector2i(5, 7));
+		assertEquals(world.index(new Vector2i(4, 7)), world.neighborIndex(index, Direction.LEFT));
+		assertEquals(world.index(new Vector2i(6, 7)), world.neighborIndex(index, Direction.RIGHT));
+		assertEquals(world.index(new Vector2i(5, 6)), world.neighborIndex(index, Direction.UP));
+		assertEquals(world.index(new Vector2i(5, 8)), world.neighborIndex(index, Direction.DOWN));
+		assertEquals(World.NO_TILE, world.neighborIndex(world.index(0, 17), Direction.LEFT));
+		assertEquals(World.NO_TILE, world.neighborIndex(world.index(27, 17), Direction.RIGHT));
+		assertEquals(World.NO_TILE, world.neighborIndex(world.index(3, 0), Direction.UP));
+	}
+
+	@Test
+	public void testCreatureTileIndex() {
+		var world = new ArcadeWorld(PacManGame.MAP);
+		var guy = new Ghost(Ghost.ID_RED_GHOST, "Guy");
+		guy.placeAtTile(new Vector2i(13, 26));
+		assertEquals(world.index(13, 26), guy.tileIndex(world));
+		guy.placeAtTile(new Vector2i(-2, 17));
+		assertEquals(World.NO_TILE, guy.tileIndex(world));
+	}
+
+	@Test
+	public void testRemoveFood() {
+		var world = new ArcadeWorld(PacManGame.MAP);
+		var tile = world.tiles().filter(world::containsFood).findFirst().get();
+		int index = world.index(tile);
+		world.removeFood(tile);
+		assertFalse(world.containsFood(index));
+		assertTrue(world.containsEatenFood(index));
+		assertTrue(world.isFoodTile(index));
+		assertEquals(1, world.eatenFoodCount());
+		world.removeFood(index);
+		assertEquals(1, world.eatenFoodCount());
+	}
+
+	@Test
+	public void testWorldsShareTemplate() {
+		var game = new PacManGame();
+		var world1 = game.createWorld(1);
+		var world2 = game.createWorld(2);
+		assertSame(world1.template(), world2.template());
+		assertSame(world1.distanceTable(), world2.distanceTable());
+		assertNotSame(world1.template(), new ArcadeWorld(PacManGame.MAP).template());
+		assertNotSame(world1.template(), new ArcadeWorld(MsPacManGame.MAP1).template());
+		var redZoneTile = world1.upwardBlockedTiles().iterator().next();
+		assertTrue(world1.isUpwardBlocked(redZoneTile));
+		assertFalse(new ArcadeWorld(PacManGame.MAP).isUpwardBlocked(redZoneTile));
+
+		var tile = world1.tiles().filter(world1::containsFood).findFirst().get();
+		world1.removeFood(tile);
+		assertFalse(world1.containsFood(tile));
+		assertTrue(world2.containsFood(tile));
+		assertEquals(1, world1.eatenFoodCount());
+		assertEquals(0, world2.eatenFoodCount());
+	}
+
+	@Test
+	public void testFoodEnumeration() {
+		var world = new ArcadeWorld(MsPacManGame.MAP2);
+		world.tiles().filter(world::containsFood).limit(10).forEach(world::removeFood);
+		assertEquals(world.tiles().filter(world::containsFood).toList(), world.tilesContainingFood().toList());
+		assertEquals(world.tiles().filter(world::containsEatenFood).toList(), world.tilesContainingEatenFood().toList());
+		int count = 0;
+		for (int i = world.nextFoodIndex(0); i != -1; i = world.nextFoodIndex(i + 1)) {
+			assertTrue(world.containsFood(i));
+			++count;
+		}
+		assertEquals(world.uneatenFoodCount(), count);
+		count = 0;
+		for (int i = world.nextEatenFoodIndex(0); i != -1; i = world.nextEatenFoodIndex(i + 1)) {
+			assertTrue(world.containsEatenFood(i));
+			++count;
+		}
+		assertEquals(10, count);
+	}
+
+	@Test
+	public void testChangeJournal() {
+		var world = new ArcadeWorld(PacManGame.MAP);
+		var journal = world.changeJournal();
+		long version = journal.version();
+		var foodTiles = world.tiles().filter(world::containsFood).limit(3).toList();
+		foodTiles.forEach(world::removeFood);
+		world.removeFood(foodTiles.get(0)); // no change
+		List<Vector2i> changed = new ArrayList<>();
+		assertTrue(journal.changesSince(version, index -> changed.add(world.tile(index))));
+		assertEquals(foodTiles, changed);
+
+		version = journal.version();
+		for (int i = 0; i <= TileChangeJournal.CAPACITY; ++i) {
+			journal.record(0);
+		}
+		assertFalse(journal.changesSince(version, index -> changed.add(world.tile(index))));
+		assertEquals(3, changed.size());
+	}
+
 	@Test
 	public void testCopyMapData() {
 		byte[][] map = { { 0, 1, 2 }, { 3, 4, 5 }, { 6, 7, 8 } };